@@ -26,6 +26,7 @@ import Controller.GameController;
  *    - Evita problemas de concurrencia en la interfaz
  * 
  * FLUJO DE EJECUCIÓN:
+ * 0. Se empieza a cargar el atlas de sprites en segundo plano
  * 1. Se registra el shutdown hook para cleanup
  * 2. Se programa la creación de UI en el EDT
  * 3. El GameController toma control del juego
@@ -40,6 +41,10 @@ public class App {
      * Configura el sistema y transfiere control al GameController
      */
     public static void main(String[] args) {
+        Controller.StartupProbe.markMain();
+        // Decode the sprite atlas while Swing starts up
+        View.Assets.loadAsync();
+        
         // CONFIGURACIÓN DE LIMPIEZA AUTOMÁTICA
         // Registra un "shutdown hook" que se ejecuta cuando la aplicación termina
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
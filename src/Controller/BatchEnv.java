@@ -0,0 +1,278 @@
+package Controller;
+
+import Model.GameState;
+import Model.World;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * ENTORNO POR LOTES PARA ENTRENAR AGENTES
+ * =======================================
+ *
+ * API estilo "gym" sobre M partidas headless que avanzan a la vez.
+ *
+ * ACCIONES:
+ * - Un int por entorno con los bits de GameState.Controls
+ *   (LEFT, RIGHT, THRUST, DECELERATE, SHOOT), los mismos controles que
+ *   GameInputListener. SHOOT dispara una bala en ese paso.
+ *
+ * SALIDAS (arrays planos reservados una sola vez):
+ * - observations: M * obsSize floats. Por entorno: nave (x, y, vx, vy,
+ *   sin(ángulo), cos(ángulo), invencible, vidas) y los K asteroides más
+ *   cercanos (dx, dy con wrapping, vx, vy, tamaño), ordenados por distancia
+ * - rewards: incremento de score en el paso
+ * - dones: 1 si la partida terminó (game over); el entorno se reinicia solo y
+ *   su observación ya corresponde al nuevo episodio
+ *
+ * PARALELISMO:
+ * - Los entornos se reparten en bloques contiguos entre hilos fijos; el hilo
+ *   que llama a step() procesa el primer bloque y dos barreras mantienen el
+ *   paso sincronizado
+ */
+public class BatchEnv implements AutoCloseable {
+    public static final int SHIP_FEATURES = 8;
+    public static final int ASTEROID_FEATURES = 5;
+
+    // Feature scaling
+    private static final float VEL_NORM = 10f;
+    private static final float SIZE_NORM = 100f;
+
+    public final int numEnvs;
+    public final int nearestK;
+    public final int obsSize;
+
+    public final float[] observations;
+    public final float[] rewards;
+    public final float[] dones;
+
+    private final GameState[] envs;
+    private final int[] lastScore;
+    private final FloatBuffer observationBuffer;
+
+    // Worker partitions
+    private final Partition[] partitions;
+    private final Thread[] workers;
+    private final CyclicBarrier startBarrier;
+    private final CyclicBarrier endBarrier;
+    private volatile Throwable failure;   // first exception of any partition; the batch is unusable after it
+    private int[] actions;
+    private volatile boolean closed = false;
+
+    // Contiguous block of environments with its own scratch space
+    private final class Partition {
+        final int from, to;
+        final int[] nearIndex;
+        final float[] nearDist;
+
+        Partition(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.nearIndex = new int[nearestK];
+            this.nearDist = new float[nearestK];
+        }
+
+        void step() {
+            for (int i = from; i < to; i++) {
+                GameState s = envs[i];
+                s.applyControls(actions[i]);
+                s.update();
+                rewards[i] = s.score - lastScore[i];
+                if (s.gameOver) {
+                    dones[i] = 1f;
+                    s.reset();
+                } else {
+                    dones[i] = 0f;
+                }
+                lastScore[i] = s.score;
+                observe(i, this);
+            }
+        }
+    }
+
+    /**
+     * @param numEnvs  number of environments stepped together
+     * @param nearestK asteroids included in each observation
+     * @param seed     base seed; environment i uses seed + i
+     * @param threads  worker threads (1 = everything on the caller)
+     */
+    public BatchEnv(int numEnvs, int nearestK, long seed, int threads) {
+        if (numEnvs <= 0 || nearestK < 0 || threads <= 0) {
+            throw new IllegalArgumentException("numEnvs and threads must be positive, nearestK >= 0");
+        }
+        this.numEnvs = numEnvs;
+        this.nearestK = nearestK;
+        this.obsSize = SHIP_FEATURES + nearestK * ASTEROID_FEATURES;
+        this.observations = new float[numEnvs * obsSize];
+        this.rewards = new float[numEnvs];
+        this.dones = new float[numEnvs];
+        this.observationBuffer = FloatBuffer.wrap(observations);
+        this.envs = new GameState[numEnvs];
+        this.lastScore = new int[numEnvs];
+        for (int i = 0; i < numEnvs; i++) {
+            envs[i] = new GameState(seed + i);
+            envs[i].startAsteroidSpawner();
+        }
+
+        threads = Math.min(threads, numEnvs);
+        partitions = new Partition[threads];
+        for (int t = 0; t < threads; t++) {
+            partitions[t] = new Partition(numEnvs * t / threads, numEnvs * (t + 1) / threads);
+        }
+        startBarrier = new CyclicBarrier(threads);
+        endBarrier = new CyclicBarrier(threads);
+        workers = new Thread[threads - 1];
+        for (int t = 1; t < threads; t++) {
+            Partition p = partitions[t];
+            workers[t - 1] = new Thread(() -> workerLoop(p), "batch-env-" + t);
+            workers[t - 1].setDaemon(true);
+            workers[t - 1].start();
+        }
+        reset();
+    }
+
+    // Default: one thread per core
+    public BatchEnv(int numEnvs, int nearestK, long seed) {
+        this(numEnvs, nearestK, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Reset every environment and fill the observations
+    public void reset() {
+        for (Partition p : partitions) {
+            for (int i = p.from; i < p.to; i++) {
+                envs[i].reset();
+                lastScore[i] = 0;
+                rewards[i] = 0f;
+                dones[i] = 0f;
+                observe(i, p);
+            }
+        }
+    }
+
+    /**
+     * Advance every environment one tick in lock-step.
+     *
+     * @param actions one control mask per environment (GameState.Controls bits)
+     */
+    public void step(int[] actions) {
+        if (actions.length < numEnvs) throw new IllegalArgumentException("Need " + numEnvs + " actions");
+        if (closed) throw new IllegalStateException("BatchEnv is closed");
+        if (failure != null) throw new IllegalStateException("BatchEnv failed in an earlier step", failure);
+        this.actions = actions;
+        await(startBarrier);
+        runPartition(partitions[0]);
+        await(endBarrier);
+        if (failure != null) throw new IllegalStateException("Environment step failed", failure);
+    }
+
+    // Observations wrapped as a FloatBuffer (same storage, no copy)
+    public FloatBuffer observationBuffer() {
+        return observationBuffer.clear();
+    }
+
+    // Direct access for tools and tests
+    public GameState env(int i) {
+        return envs[i];
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread w : workers) w.interrupt();
+    }
+
+    private void workerLoop(Partition p) {
+        try {
+            while (!closed && failure == null) {
+                startBarrier.await();
+                runPartition(p);
+                endBarrier.await();
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            // closed
+        }
+    }
+
+    // A failing partition still reaches endBarrier, so step() returns and rethrows instead of waiting forever
+    private void runPartition(Partition p) {
+        try {
+            p.step();
+        } catch (Throwable t) {
+            if (failure == null) failure = t;
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stepping", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Worker failed while stepping", e);
+        }
+    }
+
+    // Write the observation of environment i
+    private void observe(int i, Partition p) {
+        GameState s = envs[i];
+        float[] obs = observations;
+        int o = i * obsSize;
+        float w = GameState.Config.WINDOW_WIDTH;
+        float h = GameState.Config.WINDOW_HEIGHT;
+        float shipX = (float) s.ship.x;
+        float shipY = (float) s.ship.y;
+
+        obs[o] = shipX / w;
+        obs[o + 1] = shipY / h;
+        obs[o + 2] = (float) s.ship.velocityX / VEL_NORM;
+        obs[o + 3] = (float) s.ship.velocityY / VEL_NORM;
+        obs[o + 4] = (float) Math.sin(s.ship.angle);
+        obs[o + 5] = (float) Math.cos(s.ship.angle);
+        obs[o + 6] = s.invincible ? 1f : 0f;
+        obs[o + 7] = s.lives / (float) GameState.Config.INITIAL_LIVES;
+        o += SHIP_FEATURES;
+
+        if (nearestK == 0) return;
+
+        // Partial insertion sort keeps the K closest asteroids
+        int found = 0;
+        World world = s.world;
+        for (int j = 0, n = world.count(); j < n; j++) {
+            if (world.kind[j] != World.KIND_ASTEROID) continue;
+            float dx = wrap((float) world.x[j] - shipX, w);
+            float dy = wrap((float) world.y[j] - shipY, h);
+            float d = dx * dx + dy * dy;
+            if (found == nearestK && d >= p.nearDist[found - 1]) continue;
+            int k = found < nearestK ? found++ : found - 1;
+            while (k > 0 && p.nearDist[k - 1] > d) {
+                p.nearDist[k] = p.nearDist[k - 1];
+                p.nearIndex[k] = p.nearIndex[k - 1];
+                k--;
+            }
+            p.nearDist[k] = d;
+            p.nearIndex[k] = j;
+        }
+
+        for (int k = 0; k < nearestK; k++, o += ASTEROID_FEATURES) {
+            if (k >= found) {
+                obs[o] = obs[o + 1] = obs[o + 2] = obs[o + 3] = obs[o + 4] = 0f;
+                continue;
+            }
+            int a = p.nearIndex[k];
+            obs[o] = wrap((float) world.x[a] - shipX, w) / w;
+            obs[o + 1] = wrap((float) world.y[a] - shipY, h) / h;
+            obs[o + 2] = (float) world.vx[a] / VEL_NORM;
+            obs[o + 3] = (float) world.vy[a] / VEL_NORM;
+            obs[o + 4] = (float) world.radius[a] / SIZE_NORM;
+        }
+    }
+
+    // Shortest signed distance on a wrapping axis
+    private static float wrap(float d, float size) {
+        if (d > size / 2) return d - size;
+        if (d < -size / 2) return d + size;
+        return d;
+    }
+}
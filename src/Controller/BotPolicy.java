@@ -0,0 +1,103 @@
+package Controller;
+
+import Model.GameState;
+import Model.SpatialIndex;
+
+/**
+ * BOTS CON GUION
+ * ==============
+ *
+ * Políticas fijas y deterministas (dependen del tick y, como mucho, de la
+ * partida) para ponerla bajo carga repetible, sin teclado. Sirven como
+ * SessionHost.Policy.
+ *
+ * - IDLE:            no hace nada (coste base de asteroides y colisiones)
+ * - SPIN_AND_SPRAY:  gira sin parar y dispara cada 3 ticks
+ * - THRUST_PATTERN:  acelera a ráfagas y zigzaguea, disparando cada 10 ticks
+ *                    (estela del motor continua: carga de partículas)
+ * - BULLET_SPAM:     peor caso, un abanico de SPAM_PER_TICK balas por tick
+ * - AIM_AND_SHOOT:   gira hacia el asteroide más cercano y dispara cuando el
+ *                    rayo de la nave toca uno a menos de AIM_RANGE (consultas
+ *                    de GameState.spatialIndex() en cada tick)
+ *
+ * parse() acepta los nombres en minúsculas con guiones (idle, spin-and-spray,
+ * thrust-pattern, bullet-spam, aim-and-shoot), como en la línea de comandos
+ * de las herramientas.
+ */
+public enum BotPolicy implements SessionHost.Policy {
+    IDLE {
+        @Override
+        public void act(GameState state) {
+        }
+    },
+    SPIN_AND_SPRAY {
+        @Override
+        public void act(GameState state) {
+            state.right = true;
+            if (state.clock.getTick() % 3 == 0) state.shoot();
+        }
+    },
+    THRUST_PATTERN {
+        @Override
+        public void act(GameState state) {
+            long tick = state.clock.getTick();
+            state.up = (tick / 30) % 3 != 2;
+            state.left = (tick / 90) % 2 == 0;
+            state.right = !state.left;
+            if (tick % 10 == 0) state.shoot();
+        }
+    },
+    BULLET_SPAM {
+        @Override
+        public void act(GameState state) {
+            double angle = state.ship.angle;
+            for (int i = 0; i < SPAM_PER_TICK; i++) {
+                state.ship.angle = angle + i * (2 * Math.PI / SPAM_PER_TICK);
+                state.shoot();
+            }
+            state.ship.angle = angle + 0.05;
+        }
+    },
+    AIM_AND_SHOOT {
+        @Override
+        public void act(GameState state) {
+            SpatialIndex index = state.spatialIndex();
+            double heading = state.ship.angle - Math.PI / 2;   // the icon points up at angle 0
+            if (index.raycast(state.ship.x, state.ship.y, heading, AIM_RANGE, null) >= 0
+                    && state.clock.getTick() % 4 == 0) {
+                state.shoot();
+            }
+            int[] nearest = NEAREST.get();
+            double[] distance = NEAREST_DISTANCE.get();
+            state.left = state.right = false;
+            if (index.nearest(state.ship.x, state.ship.y, nearest, distance) == 0) return;
+            double dx = wrap(state.world.x[nearest[0]] - state.ship.x, GameState.Config.WINDOW_WIDTH);
+            double dy = wrap(state.world.y[nearest[0]] - state.ship.y, GameState.Config.WINDOW_HEIGHT);
+            double turn = Math.IEEEremainder(Math.atan2(dy, dx) - heading, 2 * Math.PI);
+            state.left = turn < -GameState.Config.SHIP_TURN_SPEED / 2;
+            state.right = turn > GameState.Config.SHIP_TURN_SPEED / 2;
+        }
+    };
+
+    // Bullets per tick for BULLET_SPAM (each lives ~100-160 ticks before leaving the screen)
+    public static final int SPAM_PER_TICK = 16;
+
+    // Farthest asteroid AIM_AND_SHOOT fires at, in pixels
+    public static final double AIM_RANGE = 400;
+
+    // Query buffers of AIM_AND_SHOOT, one per thread (sessions can run on several)
+    private static final ThreadLocal<int[]> NEAREST = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<double[]> NEAREST_DISTANCE = ThreadLocal.withInitial(() -> new double[1]);
+
+    // Shortest signed distance on a wrapping axis
+    private static double wrap(double d, double size) {
+        if (d > size / 2) return d - size;
+        if (d < -size / 2) return d + size;
+        return d;
+    }
+
+    // Case-insensitive lookup, accepting dashes ("spin-and-spray")
+    public static BotPolicy parse(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
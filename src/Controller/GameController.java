@@ -1,14 +1,17 @@
 package Controller;
 
+import Model.AsteroidShapes;
 import Model.GameState;
+import Model.ParticleSystem;
+import Model.World;
 import javax.swing.*;
 import java.awt.event.*;
 
 import View.GamePanel;
 import View.ControlPanel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * PATRÓN MVC - CONTROLADOR PRINCIPAL DEL JUEGO
@@ -32,7 +35,28 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
     
     // SISTEMA DE GAME LOOP
     public Timer timer;                // Timer para 60 FPS (~16ms por frame)
+    private static final int MAX_TICKS_PER_FRAME = 128; // Límite de ticks por frame (x100 incluido)
+    private static final int REWIND_TICKS_PER_FRAME = 2; // Velocidad de rebobinado (2x hacia atrás)
+    private boolean rewinding = false;  // Tecla de rebobinado mantenida
     private Runnable repaintCallback;  // Callback para redibujar la pantalla
+    
+    // INSTRUMENTACIÓN - Activada con -Dasteroids.latency=true
+    private InputLatencyProbe latencyProbe;
+
+    // Frame publicado para espectadores (-Dasteroids.share=<fichero>)
+    private Model.SharedFrame sharedFrame;
+
+    // Repetición de la sesión (-Dasteroids.replay=<fichero>)
+    private Model.Replay.Recorder replayRecorder;
+
+    // Partida guardada al salir y retomada al arrancar (-Dasteroids.checkpoint=<fichero>, vacío = no)
+    private static final String DEFAULT_CHECKPOINT = "resources/checkpoint.bin";
+    private java.nio.file.Path checkpointFile;
+    private boolean gameStarted = false; // Hay una partida en curso que guardar
+    private static final int EXIT_SAVE_WAIT_MS = 2000; // Espera máxima al EDT al salir
+
+    // La limpieza de salida corre una sola vez (onExit y luego el shutdown hook)
+    private final java.util.concurrent.atomic.AtomicBoolean cleanedUp = new java.util.concurrent.atomic.AtomicBoolean();
 
     // ========================================================================
     // CONFIGURACIÓN INICIAL DEL JUEGO
@@ -44,6 +68,11 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
     private static final int INIT_MAX_ASTEROID_SIZE = 60;      // Tamaño máximo de asteroide
     private static final double INIT_MIN_ASTEROID_SPEED = 0.5; // Velocidad mínima
     private static final double INIT_MAX_ASTEROID_SPEED = 2.5; // Velocidad máxima
+
+    // Banco de polígonos para la vista (null = sprite, -Dasteroids.asteroidShape=circle)
+    private static final GamePanel.ShapeData ASTEROID_SHAPES = GameState.POLYGON_ASTEROIDS
+            ? new GamePanel.ShapeData(AsteroidShapes.VERTEX_X, AsteroidShapes.VERTEX_Y, AsteroidShapes.VERTICES)
+            : null;
     
     // ESTILO VISUAL
     // Color semi-transparente para el botón de pausa flotante
@@ -59,6 +88,8 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
         panel.setGameDataProvider(this);
         panel.setGameInputListener(this);
         panel.initialize(gameState.getWindowWidth(), gameState.getWindowHeight());
+        // Optional tile-parallel rasterizer (-Dasteroids.renderThreads=N, 0 = serial on the EDT)
+        panel.setRenderThreads(Integer.getInteger("asteroids.renderThreads", 0));
         
         panel.setLayout(null); // Set absolute layout before adding components
         controlPanel = new ControlPanel(INIT_MIN_ASTEROID_SIZE, INIT_MAX_ASTEROID_SIZE, INIT_MIN_ASTEROID_SPEED, INIT_MAX_ASTEROID_SPEED);
@@ -93,6 +124,68 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
 
+        // Input-to-frame latency instrumentation
+        if (Boolean.getBoolean("asteroids.latency")) {
+            latencyProbe = new InputLatencyProbe();
+            gameState.setInputObserver(latencyProbe);
+            panel.setFrameListener(latencyProbe);
+        }
+        if (StartupProbe.isEnabled() && latencyProbe == null) {
+            panel.setFrameListener(new StartupProbe());
+        }
+        // Per-tick telemetry segments (-Dasteroids.telemetry=<dir>)
+        String telemetryDir = System.getProperty("asteroids.telemetry");
+        if (telemetryDir != null) {
+            try {
+                gameState.setTelemetry(new Model.TelemetryRecorder(java.nio.file.Paths.get(telemetryDir)));
+            } catch (java.io.IOException e) {
+                System.err.println("Telemetry disabled: " + e.getMessage());
+            }
+        }
+
+        // Rolling history for rewinding (-Dasteroids.rewindSeconds=N, 0 = off)
+        gameState.setRewindBuffer(Model.RewindBuffer.fromSystemProperty());
+
+        // Frame state shared with spectator processes (-Dasteroids.share=<file>)
+        String shareFile = System.getProperty("asteroids.share");
+        if (shareFile != null) {
+            try {
+                sharedFrame = new Model.SharedFrame(java.nio.file.Paths.get(shareFile));
+            } catch (java.io.IOException e) {
+                System.err.println("Frame sharing disabled: " + e.getMessage());
+            }
+        }
+
+        // Session replay for Tools.OfflineRenderer (-Dasteroids.replay=<file>)
+        String replayFile = System.getProperty("asteroids.replay");
+        if (replayFile != null) {
+            try {
+                replayRecorder = new Model.Replay.Recorder(java.nio.file.Paths.get(replayFile));
+                gameState.setReplayRecorder(replayRecorder);
+            } catch (java.io.IOException e) {
+                System.err.println("Replay recording disabled: " + e.getMessage());
+            }
+        }
+
+        // Resume the game saved on the last exit
+        String checkpoint = System.getProperty("asteroids.checkpoint", DEFAULT_CHECKPOINT);
+        if (!checkpoint.isEmpty()) {
+            checkpointFile = java.nio.file.Paths.get(checkpoint);
+            if (java.nio.file.Files.exists(checkpointFile)) {
+                try {
+                    long t0 = System.nanoTime();
+                    long tick = Model.Checkpoint.load(checkpointFile, gameState);
+                    gameState.setPaused(false);
+                    gameStarted = true;
+                    System.out.printf("Resumed checkpoint at tick %d (%d entities, %.1f ms)%n",
+                            tick, gameState.world.count(), (System.nanoTime() - t0) / 1e6);
+                } catch (java.io.IOException e) {
+                    // The game is untouched: start a new one as usual
+                    System.err.println("Checkpoint ignored: " + e.getMessage());
+                }
+            }
+        }
+
         // Set up repaint callback and game loop timer
         repaintCallback = panel::repaint;
         timer = new Timer(16, this); // ~60 FPS
@@ -116,6 +209,7 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
             int maxSize = controlPanel.getMaxSize();
             double minSpeed = controlPanel.getMinSpeed();
             double maxSpeed = controlPanel.getMaxSpeed();
+            gameState.clock.setTimeScale(controlPanel.getTimeScale());
             // Ensure min <= max
             if (minSize > maxSize) {
                 int tmp = minSize; minSize = maxSize; maxSize = tmp;
@@ -151,6 +245,9 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
     @Override
     public int getHighScore() { return gameState.getHighScore(); }
     
+    @Override
+    public long getTick() { return gameState.clock.getTick(); }
+    
     @Override
     public GamePanel.ShipData getShipData() {
         return new GamePanel.ShipData(gameState.ship.x, gameState.ship.y, gameState.ship.angle);
@@ -158,17 +255,34 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
     
     @Override
     public List<GamePanel.AsteroidData> getAsteroidData() {
-        return gameState.asteroids.stream()
-            .map(a -> new GamePanel.AsteroidData(a.x, a.y, a.velocityX, a.velocityY, a.size))
-            .collect(Collectors.toList());
+        World w = gameState.world;
+        List<GamePanel.AsteroidData> list = new ArrayList<>(gameState.asteroidCount());
+        for (int i = 0, n = w.count(); i < n; i++) {
+            if (w.kind[i] != World.KIND_ASTEROID) continue;
+            list.add(new GamePanel.AsteroidData(w.x[i], w.y[i], w.vx[i], w.vy[i], (int) w.radius[i],
+                AsteroidShapes.shapeOf(w, i)));
+        }
+        return list;
     }
     
     @Override
     public List<GamePanel.BulletData> getBulletData() {
-        return gameState.bullets.stream()
-            .filter(b -> b.active)
-            .map(b -> new GamePanel.BulletData(b.x, b.y))
-            .collect(Collectors.toList());
+        World w = gameState.world;
+        List<GamePanel.BulletData> list = new ArrayList<>(gameState.bulletCount());
+        for (int i = 0, n = w.count(); i < n; i++) {
+            if (w.kind[i] != World.KIND_BULLET) continue;
+            list.add(new GamePanel.BulletData(w.x[i], w.y[i]));
+        }
+        return list;
+    }
+    
+    @Override
+    public GamePanel.ShapeData getAsteroidShapes() { return ASTEROID_SHAPES; }
+    
+    @Override
+    public GamePanel.ParticleData getParticleData() {
+        ParticleSystem p = gameState.particles;
+        return new GamePanel.ParticleData(p.x, p.y, p.life, p.maxLife, p.color, p.count());
     }
     
     @Override
@@ -181,33 +295,36 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
     public int getInitialLives() { return Model.GameState.Config.INITIAL_LIVES; }
     
     // Implementación de GameInputListener
+    // Ship controls are queued with their timestamp and applied at the next tick
     @Override
     public void onMoveLeft(boolean pressed) {
-        gameState.left = pressed;
+        gameState.input.offer(Model.GameState.Controls.LEFT, pressed, System.nanoTime());
     }
     
     @Override
     public void onMoveRight(boolean pressed) {
-        gameState.right = pressed;
+        gameState.input.offer(Model.GameState.Controls.RIGHT, pressed, System.nanoTime());
     }
     
     @Override
     public void onThrust(boolean pressed) {
-        gameState.up = pressed;
+        gameState.input.offer(Model.GameState.Controls.THRUST, pressed, System.nanoTime());
     }
     
     @Override
     public void onDecelerate(boolean pressed) {
-        gameState.ship.setDecelerating(pressed);
+        gameState.input.offer(Model.GameState.Controls.DECELERATE, pressed, System.nanoTime());
     }
     
     @Override
     public void onShoot(boolean pressed) {
-        gameState.shooting = pressed;
+        gameState.input.offer(Model.GameState.Controls.SHOOT, pressed, System.nanoTime());
     }
     
     @Override
     public void onStartGame() {
+        gameStarted = true;
+        gameState.clock.resync();
         timer.start();
         gameState.startAsteroidSpawner();
         panel.requestFocusInWindow();
@@ -222,19 +339,19 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
         panel.repaint();
     }
     
+    // Hold to scrub back through recent ticks; on release play resumes from there
+    @Override
+    public void onRewind(boolean pressed) {
+        if (gameState.getRewindBuffer() == null) return;
+        rewinding = pressed;
+        if (!pressed) gameState.clock.resync();
+    }
+
     @Override
     public void onRestart() {
         controlPanel.setVisible(false);
-        gameState.ship.x = Model.GameState.Config.SHIP_START_X;
-        gameState.ship.y = Model.GameState.Config.SHIP_START_Y;
-        gameState.ship.velocityX = 0;
-        gameState.ship.velocityY = 0;
-        gameState.lives = Model.GameState.Config.INITIAL_LIVES;
-        gameState.score = 0;
-        gameState.gameOver = false;
-        gameState.invincible = false;
-        gameState.bullets.clear();
-        gameState.spawnAsteroids();
+        gameStarted = true;
+        gameState.reset();
         gameState.startAsteroidSpawner();
         gameState.setPaused(false);
         pauseButton.setVisible(true);
@@ -254,34 +371,108 @@ public class GameController implements ActionListener, GamePanel.GameDataProvide
         System.exit(0);
     }
 
+    // Main game panel (used by tools that drive the UI)
+    public GamePanel getPanel() {
+        return panel;
+    }
+    
+    // Latency probe, or null if -Dasteroids.latency is not set
+    public InputLatencyProbe getLatencyProbe() {
+        return latencyProbe;
+    }
+    
+    /**
+     * Change loop and rendering settings at runtime (used by the latency harness).
+     * @param timerDelayMs   game loop timer period
+     * @param doubleBuffered Swing double buffering of the game panel
+     * @param syncAfterPaint call Toolkit.sync() after every paint
+     */
+    public void configureLoop(int timerDelayMs, boolean doubleBuffered, boolean syncAfterPaint) {
+        timer.setDelay(timerDelayMs);
+        panel.setDoubleBuffered(doubleBuffered);
+        panel.setSyncAfterPaint(syncAfterPaint);
+        panel.requestFocusInWindow();
+    }
+
     /**
-     * Cleanup method to stop all asteroid threads and save the high score on exit.
+     * Cleanup method to report instrumentation, save the game in progress
+     * and the high score on exit. Runs once: later calls return at once.
+     * Safe from any thread (the shutdown hook): the game loop is stopped on
+     * the EDT before anything is closed or saved.
      */
     public void cleanupOnExit() {
-        if (gameState != null && gameState.asteroids != null) {
-            for (Model.Asteroid a : gameState.asteroids) {
-                a.stopAsteroid();
+        if (!cleanedUp.compareAndSet(false, true)) return;
+        java.nio.ByteBuffer checkpoint = onEventThread(this::stopAndCapture);
+        if (latencyProbe != null) {
+            System.out.println(latencyProbe.report());
+        }
+        if (gameState.getTelemetry() != null) {
+            gameState.getTelemetry().close();
+        }
+        if (sharedFrame != null) {
+            sharedFrame.close();
+        }
+        if (replayRecorder != null) {
+            gameState.setReplayRecorder(null);
+            replayRecorder.close();
+        }
+        if (checkpoint != null) {
+            try {
+                Model.Checkpoint.write(checkpoint, checkpointFile);
+            } catch (java.io.IOException e) {
+                System.err.println("Checkpoint not saved: " + e.getMessage());
             }
         }
-        // Save high score directly if method is public, otherwise ignore
+        // Let the high score writer finish the events already published
+        gameState.events.close(1000);
+    }
+
+    /**
+     * On the EDT: stop the game loop and copy the game in progress for the
+     * next start (null if there is nothing to save). A finished game leaves
+     * no checkpoint.
+     */
+    private java.nio.ByteBuffer stopAndCapture() throws java.io.IOException {
+        timer.stop();
+        if (checkpointFile == null || !gameStarted) return null;
+        if (gameState.gameOver) {
+            java.nio.file.Files.deleteIfExists(checkpointFile);
+            return null;
+        }
+        return Model.Checkpoint.capture(gameState);
+    }
+
+    // Run task on the EDT and wait for it (directly when already there); null if it fails or times out
+    private static <T> T onEventThread(java.util.concurrent.Callable<T> task) {
         try {
-            gameState.getClass().getMethod("saveHighScore").invoke(gameState);
+            if (SwingUtilities.isEventDispatchThread()) return task.call();
+            java.util.concurrent.FutureTask<T> future = new java.util.concurrent.FutureTask<>(task);
+            SwingUtilities.invokeLater(future);
+            return future.get(EXIT_SAVE_WAIT_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
         } catch (Exception e) {
-            // ignore
+            System.err.println("Checkpoint not saved: " + e);
+            return null;
         }
     }
 
     /**
      * Main game loop: called by the timer every frame.
-     * Handles shooting, updates game state, and repaints the view.
+     * Runs as many ticks as the simulation clock says are due (time scale
+     * included), each draining queued input first, then repaints the view.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (gameState.shooting) {
-            gameState.shoot();
-            gameState.shooting = false;
+        if (rewinding) {
+            gameState.rewindTo(gameState.clock.getTick() - REWIND_TICKS_PER_FRAME);
+            repaintCallback.run();
+            return;
         }
-        gameState.update();
+        long now = System.nanoTime();
+        int due = gameState.clock.ticksDue(now, MAX_TICKS_PER_FRAME);
+        gameState.markTickStart(now);
+        for (int i = 0; i < due; i++) gameState.update();
+        if (due > 0) panel.getQualityGovernor().recordTick(System.nanoTime() - now);
+        if (due > 0 && sharedFrame != null) sharedFrame.publish(gameState);
         repaintCallback.run();
     }
 }
@@ -0,0 +1,73 @@
+package Controller;
+
+import Model.InputQueue;
+import View.GamePanel;
+
+/**
+ * SONDA DE LATENCIA ENTRADA -> PANTALLA
+ * =====================================
+ *
+ * Sigue cada evento de teclado por el pipeline completo:
+ *
+ *   keyPressed (nanoTime en la cola) -> tick que lo consume -> primer frame pintado después
+ *
+ * HISTOGRAMAS:
+ * - inputToTick:  tiempo en la cola hasta que la simulación lo aplica
+ * - inputToFrame: desde el evento hasta el final del primer paintComponent
+ *                 que ya refleja su efecto
+ * - stimulusToFrame: desde markStimulus() (por ejemplo justo antes de que
+ *                 java.awt.Robot pulse la tecla) hasta ese mismo frame;
+ *                 incluye la cola de eventos del sistema operativo
+ *
+ * Se engancha como observador de entrada de GameState y como FrameListener
+ * de GamePanel. Métodos sincronizados: la simulación y el pintado pueden
+ * acabar en hilos distintos.
+ */
+public class InputLatencyProbe implements InputQueue.Handler, GamePanel.FrameListener {
+    private static final int MAX_PENDING = 256;
+
+    private final LatencyHistogram inputToTick = new LatencyHistogram();
+    private final LatencyHistogram inputToFrame = new LatencyHistogram();
+    private final LatencyHistogram stimulusToFrame = new LatencyHistogram();
+
+    // Events consumed by a tick but not yet presented
+    private final long[] pending = new long[MAX_PENDING];
+    private int pendingCount = 0;
+    private long stimulus = 0;
+
+    @Override
+    public synchronized void onInput(int control, boolean pressed, long timestamp) {
+        inputToTick.record(System.nanoTime() - timestamp);
+        if (pendingCount < MAX_PENDING) pending[pendingCount++] = timestamp;
+    }
+
+    @Override
+    public synchronized void onFramePresented(long nanoTime) {
+        if (pendingCount == 0) return;
+        for (int i = 0; i < pendingCount; i++) inputToFrame.record(nanoTime - pending[i]);
+        pendingCount = 0;
+        if (stimulus != 0) {
+            stimulusToFrame.record(nanoTime - stimulus);
+            stimulus = 0;
+        }
+    }
+
+    // Mark the instant an external stimulus (e.g. a Robot key press) is injected
+    public synchronized void markStimulus(long nanoTime) {
+        stimulus = nanoTime;
+    }
+
+    public synchronized void reset() {
+        inputToTick.reset();
+        inputToFrame.reset();
+        stimulusToFrame.reset();
+        pendingCount = 0;
+        stimulus = 0;
+    }
+
+    public synchronized String report() {
+        return "input->tick:     " + inputToTick.summary() + System.lineSeparator()
+             + "input->frame:    " + inputToFrame.summary() + System.lineSeparator()
+             + "stimulus->frame: " + stimulusToFrame.summary();
+    }
+}
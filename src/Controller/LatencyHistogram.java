@@ -0,0 +1,94 @@
+package Controller;
+
+/**
+ * HISTOGRAMA DE LATENCIAS (NANOSEGUNDOS)
+ * ======================================
+ *
+ * Buckets logarítmicos con 8 sub-buckets lineales por potencia de 2
+ * (error relativo < 12.5%). Tamaño fijo: registrar un valor no reserva memoria.
+ *
+ * No es thread-safe: cada hilo registra en su propio histograma y los
+ * informes se obtienen combinándolos con add().
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR = SUB_COUNT * 2;   // values below 16 get their own bucket
+    private static final int BUCKETS = LINEAR + (63 - SUB_BITS - 1) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long max;
+    private long sum;
+
+    // Record one sample (negative values count as zero)
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[index(nanos)]++;
+        total++;
+        sum += nanos;
+        if (nanos > max) max = nanos;
+    }
+
+    // Merge another histogram into this one
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        total += other.total;
+        sum += other.sum;
+        if (other.max > max) max = other.max;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    // Upper bound of the bucket containing the given percentile (0-100)
+    public long percentile(double p) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(total * (p / 100.0));
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, upperBound(i));
+        }
+        return max;
+    }
+
+    // One-line summary in microseconds
+    public String summary() {
+        return String.format("n=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                total, mean() / 1e3, percentile(50) / 1e3, percentile(90) / 1e3,
+                percentile(99) / 1e3, max / 1e3);
+    }
+
+    private static int index(long v) {
+        if (v < LINEAR) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return LINEAR + (exp - SUB_BITS - 1) * SUB_COUNT + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        int exp = (index - LINEAR) / SUB_COUNT + SUB_BITS + 1;
+        int sub = (index - LINEAR) % SUB_COUNT;
+        long base = (1L << exp) + ((long) sub << (exp - SUB_BITS));
+        return base + (1L << (exp - SUB_BITS)) - 1;
+    }
+}
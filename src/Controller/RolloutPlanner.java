@@ -0,0 +1,248 @@
+package Controller;
+
+import Model.GameState;
+import Model.Rng;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * PLANIFICADOR POR ROLLOUTS (MONTE CARLO)
+ * =======================================
+ *
+ * Bot que piensa antes de actuar: para cada acción candidata bifurca la
+ * partida (GameState.forkInto), la juega hacia delante con acciones al azar
+ * y se queda con la acción de mejor valor medio.
+ *
+ * ROLLOUT:
+ * - Cada acción se mantiene ACTION_TICKS ticks (SHOOT dispara una sola bala
+ *   al empezar), igual que cuando el planificador juega de verdad
+ * - La primera acción es la candidata; las siguientes, al azar, hasta depth
+ *   ticks o game over
+ * - Valor = puntos ganados - LIFE_PENALTY por vida perdida
+ *
+ * COSTE:
+ * - Cada hilo tiene una única partida de trabajo que se sobrescribe en cada
+ *   rollout: copiar arrays planos, sin reservar memoria
+ * - Los rollouts se reparten entre hilos fijos como en BatchEnv; el hilo que
+ *   llama hace el primer bloque y dos barreras sincronizan cada decisión
+ * - El azar de cada rollout sale de (semilla, decisión, índice de rollout):
+ *   la misma partida da las mismas decisiones con cualquier número de hilos
+ *
+ * Sirve como SessionHost.Policy: act() planifica cada ACTION_TICKS ticks y
+ * mantiene los controles elegidos entre decisiones.
+ */
+public class RolloutPlanner implements SessionHost.Policy, AutoCloseable {
+    public static final int ACTION_TICKS = 6;
+    public static final double LIFE_PENALTY = 1000;
+
+    // Candidate actions (GameState.Controls bits)
+    private static final int[] ACTIONS = {
+            0,
+            GameState.Controls.LEFT,
+            GameState.Controls.RIGHT,
+            GameState.Controls.THRUST,
+            GameState.Controls.THRUST | GameState.Controls.LEFT,
+            GameState.Controls.THRUST | GameState.Controls.RIGHT,
+            GameState.Controls.DECELERATE,
+            GameState.Controls.SHOOT,
+            GameState.Controls.SHOOT | GameState.Controls.LEFT,
+            GameState.Controls.SHOOT | GameState.Controls.RIGHT,
+            GameState.Controls.SHOOT | GameState.Controls.THRUST,
+    };
+
+    private final int rolloutsPerAction;
+    private final int depth;
+    private final long seed;
+
+    // Worker partitions over the rollout indices of one decision
+    private final Partition[] partitions;
+    private final Thread[] workers;
+    private final CyclicBarrier startBarrier;
+    private final CyclicBarrier endBarrier;
+    private volatile boolean closed = false;
+    private volatile Throwable failure;   // first exception of any partition; the planner is unusable after it
+
+    // Current decision (read by the workers between the barriers)
+    private GameState root;
+    private long decision = 0;
+
+    // Policy state
+    private int held = 0;
+    private long nextDecisionTick = Long.MIN_VALUE;
+    private long lastRollouts = 0, lastTicks = 0, lastNanos = 0;
+
+    private final class Partition {
+        final int from, to;
+        final GameState scratch = new GameState(0);
+        final Rng rng = new Rng(0);
+        final double[] sums = new double[ACTIONS.length];
+        long ticks;
+
+        Partition(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void run() {
+            java.util.Arrays.fill(sums, 0);
+            ticks = 0;
+            for (int r = from; r < to; r++) {
+                int a = r % ACTIONS.length;
+                rng.setSeed(seed ^ (decision * 0x9E3779B97F4A7C15L) ^ (r * 0xC2B2AE3D27D4EB4FL));
+                sums[a] += rollout(ACTIONS[a]);
+            }
+        }
+
+        // Value of playing first, then random actions, from the root state
+        double rollout(int first) {
+            root.forkInto(scratch);
+            int score0 = scratch.score, lives0 = scratch.lives;
+            int action = first;
+            for (int t = 0; t < depth && !scratch.gameOver; t++) {
+                if (t % ACTION_TICKS == 0) {
+                    if (t > 0) action = ACTIONS[rng.nextInt(ACTIONS.length)];
+                    scratch.applyControls(action);
+                } else {
+                    scratch.applyControls(action & ~GameState.Controls.SHOOT);
+                }
+                scratch.update();
+                ticks++;
+            }
+            return (scratch.score - score0) - LIFE_PENALTY * (lives0 - scratch.lives);
+        }
+    }
+
+    /**
+     * @param rolloutsPerAction rollouts averaged for each candidate action
+     * @param depth             ticks simulated per rollout
+     * @param seed              seed of the random rollout actions
+     * @param threads           worker threads (1 = everything on the caller)
+     */
+    public RolloutPlanner(int rolloutsPerAction, int depth, long seed, int threads) {
+        if (rolloutsPerAction <= 0 || depth <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("rolloutsPerAction, depth and threads must be positive");
+        }
+        this.rolloutsPerAction = rolloutsPerAction;
+        this.depth = depth;
+        this.seed = seed;
+
+        int total = rolloutsPerAction * ACTIONS.length;
+        threads = Math.min(threads, total);
+        partitions = new Partition[threads];
+        for (int t = 0; t < threads; t++) {
+            partitions[t] = new Partition(total * t / threads, total * (t + 1) / threads);
+        }
+        startBarrier = new CyclicBarrier(threads);
+        endBarrier = new CyclicBarrier(threads);
+        workers = new Thread[threads - 1];
+        for (int t = 1; t < threads; t++) {
+            Partition p = partitions[t];
+            workers[t - 1] = new Thread(() -> workerLoop(p), "rollout-planner-" + t);
+            workers[t - 1].setDaemon(true);
+            workers[t - 1].start();
+        }
+    }
+
+    // Default: one thread per core
+    public RolloutPlanner(int rolloutsPerAction, int depth, long seed) {
+        this(rolloutsPerAction, depth, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Best action for state (GameState.Controls bits). The state is only
+     * read, and must not change until this returns.
+     */
+    public int plan(GameState state) {
+        if (closed) throw new IllegalStateException("RolloutPlanner is closed");
+        if (failure != null) throw new IllegalStateException("RolloutPlanner failed in an earlier plan", failure);
+        long t0 = System.nanoTime();
+        root = state;
+        await(startBarrier);
+        runPartition(partitions[0]);
+        await(endBarrier);
+        root = null;
+        if (failure != null) throw new IllegalStateException("Rollout failed", failure);
+        decision++;
+
+        double[] sums = new double[ACTIONS.length];
+        long ticks = 0;
+        for (Partition p : partitions) {
+            for (int a = 0; a < sums.length; a++) sums[a] += p.sums[a];
+            ticks += p.ticks;
+        }
+        // Every action gets the same number of rollouts, so sums compare like means
+        int best = 0;
+        for (int a = 1; a < sums.length; a++) {
+            if (sums[a] > sums[best]) best = a;
+        }
+        lastRollouts = (long) rolloutsPerAction * ACTIONS.length;
+        lastTicks = ticks;
+        lastNanos = System.nanoTime() - t0;
+        return ACTIONS[best];
+    }
+
+    // Policy: plan every ACTION_TICKS ticks, hold the controls in between
+    @Override
+    public void act(GameState state) {
+        long tick = state.clock.getTick();
+        if (tick >= nextDecisionTick || tick < nextDecisionTick - ACTION_TICKS) {
+            held = plan(state);
+            nextDecisionTick = tick + ACTION_TICKS;
+            state.applyControls(held);
+        } else {
+            state.applyControls(held & ~GameState.Controls.SHOOT);
+        }
+    }
+
+    // Rollouts and simulated ticks of the last plan(), and its wall time
+    public long lastRollouts() {
+        return lastRollouts;
+    }
+
+    public long lastTicks() {
+        return lastTicks;
+    }
+
+    public long lastPlanNanos() {
+        return lastNanos;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread w : workers) w.interrupt();
+    }
+
+    private void workerLoop(Partition p) {
+        try {
+            while (!closed && failure == null) {
+                startBarrier.await();
+                runPartition(p);
+                endBarrier.await();
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            // closed
+        }
+    }
+
+    // A failing partition still reaches endBarrier, so plan() returns and rethrows instead of waiting forever
+    private void runPartition(Partition p) {
+        try {
+            p.run();
+        } catch (Throwable t) {
+            if (failure == null) failure = t;
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while planning", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Worker failed while planning", e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package Controller;
+
+import Model.GameState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HOST DE MÚLTIPLES PARTIDAS SIN INTERFAZ
+ * =======================================
+ *
+ * Ejecuta muchas instancias independientes de GameState (modo headless) en el
+ * mismo proceso. Cada sesión tiene su propio hilo virtual, que solo despierta
+ * cuando hay ticks pendientes.
+ *
+ * PLANIFICACIÓN:
+ * - step(id, n) encola n ticks para la sesión
+ * - El hilo de la sesión ejecuta como máximo TICK_BUDGET ticks seguidos y luego
+ *   cede el procesador (Thread.yield), así ninguna partida acapara los hilos
+ *   portadores y todas avanzan de forma equitativa
+ * - Si la partida termina (game over) los ticks pendientes se descartan
+ * - Si la política o el tick lanzan una excepción, la sesión queda fallida:
+ *   se descartan sus ticks, no acepta más y inspect() devuelve el error
+ *
+ * MÉTRICAS:
+ * - Sesiones creadas, terminadas y fallidas, ticks totales
+ * - Histograma de latencia por tick (cada sesión registra en el suyo y
+ *   report() los combina)
+ */
+public class SessionHost {
+
+    /**
+     * Política que decide los controles de la sesión antes de cada tick.
+     * Se ejecuta en el hilo de la sesión.
+     */
+    public interface Policy {
+        void act(GameState state);
+    }
+
+    /**
+     * Estado publicado de una sesión: copia inmutable hecha por el hilo de la
+     * sesión tras cada tanda de ticks, así todos los campos son del mismo tick.
+     */
+    public static class SessionInfo {
+        public final long id, tick;
+        public final int score, lives, asteroids, bullets;
+        public final boolean gameOver;
+        public final Throwable failure;   // Excepción que paró la sesión, o null
+        public SessionInfo(long id, long tick, int score, int lives, int asteroids, int bullets, boolean gameOver,
+                           Throwable failure) {
+            this.id = id; this.tick = tick; this.score = score; this.lives = lives;
+            this.asteroids = asteroids; this.bullets = bullets; this.gameOver = gameOver;
+            this.failure = failure;
+        }
+    }
+
+    // One hosted match; only its own thread touches 'state'
+    private final class Session implements Runnable {
+        final long id;
+        final GameState state;
+        final Policy policy;
+        final AtomicLong pending = new AtomicLong();
+        final LatencyHistogram tickLatency = new LatencyHistogram();
+        volatile boolean destroyed = false;
+        volatile Thread thread;
+
+        // Published after each slice, read by inspect()
+        volatile SessionInfo info;
+        volatile Throwable failure;
+
+        Session(long id, long seed, Policy policy) {
+            this.id = id;
+            this.state = new GameState(seed);
+            this.policy = policy;
+            state.startAsteroidSpawner();
+            publish();
+        }
+
+        @Override
+        public void run() {
+            try {
+                runSlices();
+            } catch (Throwable t) {
+                // The game is in an unknown state: stop it, but keep it for inspect()
+                failure = t;
+                destroyed = true;
+                pending.set(0);
+                SessionInfo last = info;
+                info = new SessionInfo(id, last.tick, last.score, last.lives, last.asteroids, last.bullets,
+                        last.gameOver, t);
+                failed.increment();
+            }
+        }
+
+        private void runSlices() {
+            while (!destroyed) {
+                long todo = pending.get();
+                if (todo == 0) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                int slice = (int) Math.min(todo, tickBudget);
+                int ran = 0;
+                while (ran < slice && !state.gameOver) {
+                    long t0 = System.nanoTime();
+                    if (policy != null) policy.act(state);
+                    state.markTickStart(t0);
+                    state.update();
+                    tickLatency.record(System.nanoTime() - t0);
+                    ran++;
+                }
+                totalTicks.add(ran);
+                if (state.gameOver) {
+                    pending.set(0);
+                    if (!info.gameOver) completed.increment();
+                } else {
+                    pending.addAndGet(-slice);
+                }
+                publish();
+                // Give the other sessions a turn before the next slice
+                Thread.yield();
+            }
+        }
+
+        void publish() {
+            info = new SessionInfo(id, state.clock.getTick(), state.score, state.lives, state.asteroidCount(),
+                    state.bulletCount(), state.gameOver, null);
+        }
+    }
+
+    // Maximum consecutive ticks one session runs before yielding
+    public static final int DEFAULT_TICK_BUDGET = 8;
+
+    private final int tickBudget;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final LongAdder created = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalTicks = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    public SessionHost() {
+        this(DEFAULT_TICK_BUDGET);
+    }
+
+    public SessionHost(int tickBudget) {
+        if (tickBudget <= 0) throw new IllegalArgumentException("tickBudget must be positive");
+        this.tickBudget = tickBudget;
+    }
+
+    // Create a new headless match and return its id
+    public long create(long seed, Policy policy) {
+        long id = nextId.getAndIncrement();
+        Session s = new Session(id, seed, policy);
+        sessions.put(id, s);
+        s.thread = Thread.ofVirtual().name("session-" + id).start(s);
+        created.increment();
+        return id;
+    }
+
+    // Queue ticks for a session; returns false if the session does not exist or has failed
+    public boolean step(long id, long ticks) {
+        Session s = sessions.get(id);
+        if (s == null || s.failure != null || ticks <= 0) return false;
+        s.pending.addAndGet(ticks);
+        LockSupport.unpark(s.thread);
+        return true;
+    }
+
+    // Queue the same number of ticks for every live session
+    public void stepAll(long ticks) {
+        if (ticks <= 0) return;
+        for (Session s : sessions.values()) {
+            if (s.failure != null) continue;
+            s.pending.addAndGet(ticks);
+            LockSupport.unpark(s.thread);
+        }
+    }
+
+    // Latest published state of a session (with its failure, if any), or null if it does not exist
+    public SessionInfo inspect(long id) {
+        Session s = sessions.get(id);
+        if (s == null) return null;
+        return s.info;
+    }
+
+    // Stop a session and forget it
+    public boolean destroy(long id) {
+        Session s = sessions.remove(id);
+        if (s == null) return false;
+        s.destroyed = true;
+        LockSupport.unpark(s.thread);
+        return true;
+    }
+
+    // Destroy every session
+    public void shutdown() {
+        for (Long id : sessions.keySet()) destroy(id);
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    // Block until no session has pending ticks (failed sessions have none)
+    public void awaitIdle() throws InterruptedException {
+        while (true) {
+            boolean idle = true;
+            for (Session s : sessions.values()) {
+                // A session that failed after a step() raced in is idle too
+                if (s.pending.get() != 0 && s.failure == null) {
+                    idle = false;
+                    break;
+                }
+            }
+            if (idle) return;
+            Thread.sleep(5);
+        }
+    }
+
+    // Merged tick latency of all live sessions
+    public LatencyHistogram tickLatency() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (Session s : sessions.values()) merged.add(s.tickLatency);
+        return merged;
+    }
+
+    // Throughput and latency summary since the host was created
+    public String report() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format("sessions=%d created=%d (%.0f/s) completed=%d (%.1f/s) failed=%d ticks=%d (%.0f/s)%ntick latency: %s",
+                sessions.size(), created.sum(), created.sum() / seconds,
+                completed.sum(), completed.sum() / seconds, failed.sum(),
+                totalTicks.sum(), totalTicks.sum() / seconds,
+                tickLatency().summary());
+    }
+}
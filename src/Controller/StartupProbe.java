@@ -0,0 +1,58 @@
+package Controller;
+
+import View.Assets;
+import View.GamePanel;
+
+/**
+ * SONDA DE ARRANQUE
+ * =================
+ *
+ * Mide el arranque en frío hasta el primer frame interactivo y termina el
+ * proceso (-Dasteroids.startupProbe=true):
+ *
+ *   inicio JVM -> main() -> primer frame pintado -> primer frame con iconos
+ *
+ * El "primer frame" ya muestra la pantalla de inicio y acepta clics; el
+ * segundo hito es cuando el atlas de sprites ya está decodificado. Si el
+ * atlas no se puede cargar ese hito no llega nunca: la sonda imprime el error
+ * y sale con código 1 en vez de dejar el proceso abierto.
+ *
+ * También sirve para entrenar el archivo AppCDS: la tarea build-cds lanza el
+ * juego con -XX:ArchiveClassesAtExit y esta sonda lo cierra en cuanto todas
+ * las clases del arranque están cargadas.
+ */
+public class StartupProbe implements GamePanel.FrameListener {
+    private static long mainNanos = 0;
+
+    private long firstFrameNanos = 0;
+
+    public StartupProbe() {
+        // Without sprites the assets frame never comes; fail instead of hanging
+        Assets.loadAsync().whenComplete((assets, error) -> {
+            if (error == null) return;
+            System.err.println("startup: could not load assets: " + error);
+            System.exit(1);
+        });
+    }
+
+    // Called first thing in App.main
+    public static void markMain() {
+        mainNanos = System.nanoTime();
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("asteroids.startupProbe");
+    }
+
+    @Override
+    public void onFramePresented(long nanoTime) {
+        if (firstFrameNanos == 0) firstFrameNanos = nanoTime;
+        if (Assets.getNow() == null) return;
+
+        long jvmToMain = java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime()
+                - (System.nanoTime() - mainNanos) / 1_000_000;
+        System.out.printf("startup: jvm->main %d ms, main->first frame %.1f ms, main->assets frame %.1f ms%n",
+                jvmToMain, (firstFrameNanos - mainNanos) / 1e6, (nanoTime - mainNanos) / 1e6);
+        System.exit(0);
+    }
+}
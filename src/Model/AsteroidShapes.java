@@ -0,0 +1,139 @@
+package Model;
+
+/**
+ * FORMAS POLIGONALES DE ASTEROIDES
+ * ================================
+ *
+ * Un banco fijo de SHAPES polígonos generados al arrancar (semilla fija),
+ * compartido por todos los asteroides: cada uno usa la forma que le toca por
+ * su handle, así que no hace falta guardar nada por entidad y la forma se
+ * mantiene en forks, rebobinado, repeticiones y checkpoints.
+ *
+ * FORMATO (arrays planos, forma s en [s * VERTICES, (s + 1) * VERTICES)):
+ * - VERTICES vértices a ángulos fijos 2·π·k / VERTICES (sentido horario en
+ *   pantalla), con radio entre MIN_RADIUS y 1 veces el tamaño del asteroide
+ * - VERTEX_X / VERTEX_Y: el vértice ya multiplicado por su radio
+ *   (coordenadas unitarias, sin trigonometría al usarlas)
+ * - El polígono cabe en el círculo de radio size: ese círculo es la
+ *   envolvente que usa la fase ancha de colisiones
+ *
+ * ORIENTACIÓN: la de la velocidad (igual que el sprite antes), calculada
+ * como vx/|v|, vy/|v| sin atan2.
+ *
+ * COLISIÓN EXACTA (touches, después de que los círculos se solapen):
+ * - Aceptación rápida, antes de rotar: toda forma contiene el disco de
+ *   radio INNER_RADIUS
+ * - Punto (balas, radio 0): el sector se saca comparando con tan 30° y
+ *   tan 60° (sin atan2); dentro si está al lado interior de la arista de
+ *   ese sector (la forma es estrellada respecto al centro)
+ * - Círculo (nave): centro dentro, o alguna arista a menos de su radio
+ *
+ * -Dasteroids.asteroidShape=circle vuelve a la colisión por círculo.
+ */
+public final class AsteroidShapes {
+    public static final int SHAPES = 64;
+    public static final int VERTICES = 12;
+    public static final float MIN_RADIUS = 0.68f;
+    private static final long SEED = 0x5EED_A57E_401DL;
+    private static final double SECTOR = 2 * Math.PI / VERTICES;   // 30 degrees: sector() relies on it
+    private static final double TAN_30 = Math.tan(SECTOR), TAN_60 = Math.tan(2 * SECTOR);
+    // Every shape contains the disc of this radius (shortest chord between MIN_RADIUS vertices)
+    private static final double INNER_RADIUS = MIN_RADIUS * Math.cos(SECTOR / 2);
+
+    // Unit vertices of every shape (shared, never modified)
+    public static final float[] VERTEX_X = new float[SHAPES * VERTICES];
+    public static final float[] VERTEX_Y = new float[SHAPES * VERTICES];
+
+    static {
+        Rng random = new Rng(SEED);
+        for (int s = 0; s < SHAPES; s++) {
+            for (int k = 0; k < VERTICES; k++) {
+                double r = MIN_RADIUS + (1 - MIN_RADIUS) * random.nextDouble();
+                VERTEX_X[s * VERTICES + k] = (float) (r * Math.cos(k * SECTOR));
+                VERTEX_Y[s * VERTICES + k] = (float) (r * Math.sin(k * SECTOR));
+            }
+        }
+    }
+
+    private AsteroidShapes() {}
+
+    // Shape of the entity at dense index i (stable for its whole life)
+    public static int shapeOf(World world, int i) {
+        return (world.handleAt(i) * 0x9E3779B1) >>> (32 - 6) & (SHAPES - 1);
+    }
+
+    /**
+     * Exact test for two entities whose bounding circles overlap: if one is
+     * an asteroid, its polygon against the other's circle (a point when the
+     * radius is 0). Used as the collision filter of GameState.
+     */
+    public static boolean touches(World world, int a, int b) {
+        int asteroid, other;
+        if (world.kind[b] == World.KIND_ASTEROID) {
+            asteroid = b;
+            other = a;
+        } else if (world.kind[a] == World.KIND_ASTEROID) {
+            asteroid = a;
+            other = b;
+        } else {
+            return true;
+        }
+        return overlaps(shapeOf(world, asteroid), world.x[asteroid], world.y[asteroid],
+                world.vx[asteroid], world.vy[asteroid], world.radius[asteroid],
+                world.x[other], world.y[other], world.radius[other]);
+    }
+
+    /**
+     * Polygon of the given shape (centre cx, cy, facing its velocity, scaled
+     * by size) against the circle (px, py, radius).
+     */
+    public static boolean overlaps(int shape, double cx, double cy, double vx, double vy, double size,
+                                   double px, double py, double radius) {
+        if (size <= 0) return false;
+        double dx = px - cx, dy = py - cy;
+        // Deep hits need neither the rotation nor the edges
+        double inner = INNER_RADIUS * size + radius;
+        if (dx * dx + dy * dy <= inner * inner) return true;
+
+        // Into shape space: undo the rotation and the scale
+        double speed = Math.sqrt(vx * vx + vy * vy);
+        double cos = speed > 0 ? vx / speed : 1, sin = speed > 0 ? vy / speed : 0;
+        double qx = (dx * cos + dy * sin) / size;
+        double qy = (dy * cos - dx * sin) / size;
+        double r = radius / size;
+
+        int base = shape * VERTICES;
+        int k = sector(qx, qy);
+        if (insideEdge(base + k, base + (k + 1) % VERTICES, qx, qy)) return true;
+        if (r <= 0) return false;
+
+        double r2 = r * r;
+        for (int e = 0; e < VERTICES; e++) {
+            if (edgeDistanceSquared(base + e, base + (e + 1) % VERTICES, qx, qy) <= r2) return true;
+        }
+        return false;
+    }
+
+    // Sector k (between vertices k and k + 1) holding the point: 30-degree sectors, no atan2
+    private static int sector(double qx, double qy) {
+        double ax = Math.abs(qx), ay = Math.abs(qy);
+        int j = ay < ax * TAN_30 ? 0 : ay < ax * TAN_60 ? 1 : 2;
+        if (qy >= 0) return qx >= 0 ? j : 5 - j;
+        return qx < 0 ? 6 + j : 11 - j;
+    }
+
+    // Point on the centre's side of edge v -> w (vertices go counter-clockwise in shape space)
+    private static boolean insideEdge(int v, int w, double qx, double qy) {
+        double ex = VERTEX_X[w] - VERTEX_X[v], ey = VERTEX_Y[w] - VERTEX_Y[v];
+        return ex * (qy - VERTEX_Y[v]) - ey * (qx - VERTEX_X[v]) >= 0;
+    }
+
+    private static double edgeDistanceSquared(int v, int w, double qx, double qy) {
+        double ax = VERTEX_X[v], ay = VERTEX_Y[v];
+        double ex = VERTEX_X[w] - ax, ey = VERTEX_Y[w] - ay;
+        double t = ((qx - ax) * ex + (qy - ay) * ey) / (ex * ex + ey * ey);
+        t = Math.max(0, Math.min(1, t));
+        double ddx = qx - (ax + t * ex), ddy = qy - (ay + t * ey);
+        return ddx * ddx + ddy * ddy;
+    }
+}
@@ -0,0 +1,131 @@
+package Model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * CHECKPOINT DE PARTIDA
+ * =====================
+ *
+ * Guarda una partida en curso en un fichero binario y la carga después para
+ * seguir exactamente donde estaba (o para arrancar benchmarks headless
+ * desde un estado real).
+ *
+ * FORMATO (little-endian):
+ * - Cabecera (HEADER_SIZE bytes): magic "ACKP", versión, longitud del
+ *   cuerpo (int), CRC32C del cuerpo (int), tick (long), número de entidades
+ *   (int), formato del cuerpo (GameState.SIMULATION_FORMAT, int)
+ * - Cuerpo: GameState.writeSimulation(): todas las entidades (asteroides,
+ *   balas, nave) con sus handles, nave, reloj, estado del generador
+ *   aleatorio, vidas, puntuación, fin de la invencibilidad y ajustes
+ * - Unos 70 bytes por entidad: 100k entidades son ~7 MB
+ *
+ * ESCRITURA: capture() copia el estado entre ticks (en el hilo de la
+ * simulación) y write() lo escribe por un FileChannel a un fichero temporal
+ * que luego sustituye al anterior con un move atómico: un cierre a medias
+ * nunca deja un checkpoint cortado.
+ *
+ * LECTURA: el fichero se lee de una vez con el FileChannel (sin mapearlo:
+ * en Windows un fichero mapeado no se puede sustituir ni borrar hasta que
+ * el GC libere el mapeo), se comprueban el CRC y el formato y
+ * GameState.restoreSimulation() lo carga.
+ * Un fichero que no cuadre (magic, versión, formato, tamaño, CRC o datos que
+ * no se pueden leer) es una IOException y la partida queda sin tocar.
+ */
+public final class Checkpoint {
+    public static final int MAGIC = 0x504B4341;   // "ACKP" little-endian
+    public static final int VERSION = 2;         // 2: body format in the header
+    public static final int HEADER_SIZE = 32;
+
+    // Header offsets
+    static final int H_MAGIC = 0, H_VERSION = 4, H_LENGTH = 8, H_CRC = 12, H_TICK = 16, H_ENTITIES = 24,
+            H_FORMAT = 28;
+
+    private Checkpoint() {}
+
+    /**
+     * Write state to file (between ticks, on the simulation thread).
+     * Returns the file size in bytes.
+     */
+    public static long save(GameState state, Path file) throws IOException {
+        return write(capture(state), file);
+    }
+
+    /**
+     * The whole checkpoint of state, header included, ready for write().
+     * Call between ticks, on the simulation thread; writing can then
+     * happen anywhere.
+     */
+    public static ByteBuffer capture(GameState state) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_SIZE + state.simulationSizeBound())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_SIZE);
+        state.writeSimulation(buffer);
+        int length = buffer.position() - HEADER_SIZE;
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(HEADER_SIZE).limit(HEADER_SIZE + length));
+        buffer.putInt(H_MAGIC, MAGIC).putInt(H_VERSION, VERSION).putInt(H_LENGTH, length)
+              .putInt(H_CRC, (int) crc.getValue()).putLong(H_TICK, state.clock.getTick())
+              .putInt(H_ENTITIES, state.world.count()).putInt(H_FORMAT, GameState.SIMULATION_FORMAT);
+        buffer.flip();
+        return buffer;
+    }
+
+    // Write a capture() atomically to file; returns the file size in bytes
+    public static long write(ByteBuffer checkpoint, Path file) throws IOException {
+        ByteBuffer buffer = checkpoint.duplicate();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return checkpoint.remaining();
+    }
+
+    /**
+     * Replace state's simulation with the checkpoint in file (between
+     * ticks). Returns the tick it resumes at. On IOException state is
+     * unchanged.
+     */
+    public static long load(Path file, GameState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) throw new IOException(file + " is not a checkpoint");
+            ByteBuffer data = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) throw new IOException(file + " is truncated");
+            }
+            if (data.getInt(H_MAGIC) != MAGIC) throw new IOException(file + " is not a checkpoint");
+            if (data.getInt(H_VERSION) != VERSION) throw new IOException(file + ": unsupported checkpoint version");
+            if (data.getInt(H_FORMAT) != GameState.SIMULATION_FORMAT) {
+                throw new IOException(file + ": saved by a different game version");
+            }
+            int length = data.getInt(H_LENGTH);
+            if (length < 0 || HEADER_SIZE + (long) length != size) throw new IOException(file + " is truncated");
+
+            ByteBuffer body = data.slice(HEADER_SIZE, length).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != data.getInt(H_CRC)) throw new IOException(file + ": checksum mismatch");
+
+            try {
+                state.restoreSimulation(body);
+            } catch (RuntimeException e) {
+                throw new IOException(file + ": corrupt checkpoint (" + e.getMessage() + ")", e);
+            }
+            return state.clock.getTick();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * BUS DE EVENTOS DEL JUEGO (RING BUFFER PREASIGNADO)
+ * ==================================================
+ *
+ * La simulación publica lo que pasa (asteroide destruido, dividido, nave
+ * alcanzada, game over, récord) y los efectos secundarios (partículas,
+ * guardar el récord, telemetría, UI, audio) los hacen manejadores que leen
+ * los eventos por lotes. El bucle de colisiones solo publica.
+ *
+ * ESTRUCTURA (estilo disruptor):
+ * - Ring de capacidad potencia de 2 con slots Event mutables creados en el
+ *   constructor: publicar no reserva memoria
+ * - Un único productor (el hilo de simulación) con un cursor monótono que
+ *   se publica con semántica release; cada consumidor lleva su propia
+ *   secuencia, también release/acquire, como InputQueue
+ * - El productor no reutiliza un slot hasta que todos los consumidores lo
+ *   han pasado
+ *
+ * CONSUMIDORES:
+ * - addHandler(): síncronos, en el hilo de simulación; GameState llama a
+ *   dispatch() al final de cada tick (o publish() los vacía si el ring se llena)
+ * - addAsyncHandler(): hilo propio que sondea el cursor (espera activa breve,
+ *   luego parkNanos); el productor nunca despierta a nadie, así que añadir
+ *   consumidores no cuesta nada a la simulación
+ * - endOfBatch marca el último evento disponible: un manejador lento (E/S)
+ *   puede acumular y escribir una sola vez por lote
+ *
+ * Los manejadores reciben el slot compartido: deben copiar lo que guarden.
+ */
+public final class EventBus {
+    // Event types
+    public static final int ASTEROID_DESTROYED = 1;   // x, y, size; value = score after it
+    public static final int ASTEROID_SPLIT = 2;       // x, y of the parent; size = each half
+    public static final int SHIP_HIT = 3;             // x, y where it was hit; value = lives left
+    public static final int GAME_OVER = 4;            // value = final score
+    public static final int HIGH_SCORE = 5;           // value = new high score
+
+    // One reusable slot of the ring
+    public static final class Event {
+        public int type;
+        public long tick;
+        public double x, y, size;
+        public int value;
+    }
+
+    public interface Handler {
+        void onEvent(Event event, boolean endOfBatch);
+    }
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final int IDLE_SPINS = 100;
+
+    private static final class Consumer {
+        final Handler handler;
+        final AtomicLong sequence;   // last event handled
+        volatile boolean running = true;
+        Thread thread;
+
+        Consumer(Handler handler, long start) {
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+        }
+    }
+
+    private final Event[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);   // last published event
+    private long gate = -1;                                  // producer's cached minimum consumer sequence
+    private volatile Consumer[] syncConsumers = new Consumer[0];
+    private volatile Consumer[] asyncConsumers = new Consumer[0];
+
+    // Capacity is rounded up to a power of two
+    public EventBus(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        ring = new Event[size];
+        for (int i = 0; i < size; i++) ring[i] = new Event();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // Sequence of the last published event (-1 before the first)
+    public long cursor() {
+        return cursor.get();
+    }
+
+    // Handler run on the simulation thread by dispatch(); sees events published from now on
+    public synchronized void addHandler(Handler handler) {
+        Consumer c = new Consumer(handler, cursor.get());
+        syncConsumers = append(syncConsumers, c);
+    }
+
+    // Handler on its own daemon thread; sees events published from now on
+    public synchronized void addAsyncHandler(Handler handler, String threadName) {
+        Consumer c = new Consumer(handler, cursor.get());
+        c.thread = new Thread(() -> asyncLoop(c), threadName);
+        c.thread.setDaemon(true);
+        asyncConsumers = append(asyncConsumers, c);
+        c.thread.start();
+    }
+
+    // Producer: fill a slot and publish it
+    public void publish(int type, long tick, double x, double y, double size, int value) {
+        long seq = cursor.get() + 1;
+        if (seq - mask - 1 > gate) waitForSlot(seq);
+        Event e = ring[(int) seq & mask];
+        e.type = type;
+        e.tick = tick;
+        e.x = x;
+        e.y = y;
+        e.size = size;
+        e.value = value;
+        cursor.setRelease(seq);
+    }
+
+    // Producer thread: hand pending events to the synchronous handlers
+    public void dispatch() {
+        long available = cursor.get();
+        for (Consumer c : syncConsumers) {
+            long s = c.sequence.get();
+            if (s >= available) continue;
+            for (long p = s + 1; p <= available; p++) c.handler.onEvent(ring[(int) p & mask], p == available);
+            c.sequence.setRelease(available);
+        }
+    }
+
+    /**
+     * Wait until the asynchronous handlers have caught up with everything
+     * published so far (e.g. before exiting). Returns false on timeout.
+     */
+    public boolean awaitIdle(long timeoutMillis) {
+        long target = cursor.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        for (Consumer c : asyncConsumers) {
+            while (c.sequence.getAcquire() < target) {
+                if (System.nanoTime() > deadline) return false;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        return true;
+    }
+
+    // Stop the asynchronous handlers once they have caught up (or after the timeout)
+    public void close(long timeoutMillis) {
+        awaitIdle(timeoutMillis);
+        for (Consumer c : asyncConsumers) c.running = false;
+    }
+
+    // The slot seq - capacity must have been handled by every consumer before reuse
+    private void waitForSlot(long seq) {
+        long wrap = seq - mask - 1;
+        if (minSequence(syncConsumers) < wrap) dispatch();   // we are the sync consumers' thread
+        int idle = 0;
+        long min;
+        while ((min = Math.min(minSequence(syncConsumers), minSequence(asyncConsumers))) < wrap) {
+            idle = backOff(idle);
+        }
+        gate = Math.min(min, seq - 1);   // a handler added later starts at the cursor
+    }
+
+    private static long minSequence(Consumer[] consumers) {
+        long min = Long.MAX_VALUE;
+        for (Consumer c : consumers) min = Math.min(min, c.sequence.getAcquire());
+        return min;
+    }
+
+    private void asyncLoop(Consumer c) {
+        int idle = 0;
+        while (c.running) {
+            long available = cursor.getAcquire();
+            long s = c.sequence.get();
+            if (available <= s) {
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+            for (long p = s + 1; p <= available; p++) {
+                try {
+                    c.handler.onEvent(ring[(int) p & mask], p == available);
+                } catch (RuntimeException e) {
+                    // A failing handler must not stall the producer
+                    System.err.println("Event handler failed: " + e);
+                }
+            }
+            c.sequence.setRelease(available);
+        }
+    }
+
+    // Spin briefly, then sleep in short parks
+    private static int backOff(int idle) {
+        if (idle < IDLE_SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return idle + 1;
+    }
+
+    private static Consumer[] append(Consumer[] array, Consumer c) {
+        Consumer[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[array.length] = c;
+        return copy;
+    }
+}
@@ -3,7 +3,6 @@ import java.io.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * PATRÓN MVC - MODELO DEL JUEGO
@@ -11,69 +10,47 @@ import java.util.Random;
  */
 public class GameState {
     // --- Helper methods for collision and respawn logic ---
-    // Handle bullet-asteroid collisions, scoring, and asteroid splitting
-    private void handleBulletAsteroidCollisions() {
-            java.util.List<Asteroid> newAsteroids = new java.util.ArrayList<>();
-            for (Bullet b : bullets) {
-                if (!b.active) continue;
-                for (Asteroid a : asteroids) {
-                    double dx = b.x - a.x;
-                    double dy = b.y - a.y;
-                    double dist = Math.sqrt(dx * dx + dy * dy);
-                    if (dist < a.size) {
-                        b.active = false;
-                        a.stopAsteroid();
-                        score += 100;
-                        if (score > highScore) {
-                            highScore = score;
-                            saveHighScore();
-                        }
-                        // If asteroid is big enough, split into two smaller
-                        if (a.size > Config.ASTEROID_SPLIT_THRESHOLD) {
-                            int newSize = a.size / 2;
-                            double baseAngle = Math.random() * 2 * Math.PI;
-                            double speed = Math.sqrt(a.velocityX * a.velocityX + a.velocityY * a.velocityY);
-                            double offset = newSize + 2;
-                            double angle1 = baseAngle;
-                            double angle2 = baseAngle + Math.PI;
-                            double x1 = a.x + Math.cos(angle1) * offset;
-                            double y1 = a.y + Math.sin(angle1) * offset;
-                            double x2 = a.x + Math.cos(angle2) * offset;
-                            double y2 = a.y + Math.sin(angle2) * offset;
-                            Asteroid a1 = new Asteroid(x1, y1, Math.cos(angle1) * speed, Math.sin(angle1) * speed, newSize);
-                            Asteroid a2 = new Asteroid(x2, y2, Math.cos(angle2) * speed, Math.sin(angle2) * speed, newSize);
-                            a1.start();
-                            a2.start();
-                            newAsteroids.add(a1);
-                            newAsteroids.add(a2);
-                        }
-                        a.size = -1; // Mark for removal
-                        break;
-                    }
+    // Contact response for the collision rules registered in the constructor
+    private void onContact(World w, int a, int b) {
+            // Only state changes here: effects and I/O go through the event bus
+            long tick = clock.getTick();
+            if (w.kind[a] == World.KIND_BULLET) {
+                // Bullet-asteroid: both destroyed, SplitSystem handles the halves
+                w.kill(a);
+                w.kill(b);
+                score += 100;
+                events.publish(EventBus.ASTEROID_DESTROYED, tick, w.x[b], w.y[b], w.radius[b], score);
+                if (score > highScore) {
+                    highScore = score;
+                    events.publish(EventBus.HIGH_SCORE, tick, w.x[b], w.y[b], 0, highScore);
                 }
+            } else if (w.kind[a] == World.KIND_SHIP) {
+                lives--;
+                events.publish(EventBus.SHIP_HIT, tick, ship.x, ship.y, 0, lives);
+                if (lives <= 0) {
+                    gameOver = true;
+                    events.publish(EventBus.GAME_OVER, tick, ship.x, ship.y, 0, score);
+                }
+                respawnShip();
             }
-            asteroids.removeIf(a -> a.size == -1);
-            asteroids.addAll(newAsteroids);
         }
 
-    // Handle ship-asteroid collision, respawn, and life decrement
-    private boolean handleShipAsteroidCollisionAndRespawn() {
-            if (!invincible) {
-                for (Asteroid a : asteroids) {
-                    double dx = ship.x - a.x;
-                    double dy = ship.y - a.y;
-                    double dist = Math.sqrt(dx * dx + dy * dy);
-                    if (dist < a.size + Config.SHIP_RADIUS) {
-                        lives--;
-                        if (lives <= 0) {
-                            gameOver = true;
-                        }
-                        respawnShip();
-                        return true;
-                    }
-                }
-            }
-            return false;
+    // Split a destroyed asteroid at dense index i into two smaller ones
+    void splitAsteroid(int i) {
+            // Copy before spawning: the world arrays may be reallocated
+            double ax = world.x[i], ay = world.y[i];
+            double avx = world.vx[i], avy = world.vy[i];
+            int newSize = (int) world.radius[i] / 2;
+            events.publish(EventBus.ASTEROID_SPLIT, clock.getTick(), ax, ay, newSize, 0);
+            double baseAngle = random.nextDouble() * 2 * Math.PI;
+            double speed = Math.sqrt(avx * avx + avy * avy);
+            double offset = newSize + 2;
+            double angle1 = baseAngle;
+            double angle2 = baseAngle + Math.PI;
+            spawnAsteroid(ax + Math.cos(angle1) * offset, ay + Math.sin(angle1) * offset,
+                    Math.cos(angle1) * speed, Math.sin(angle1) * speed, newSize);
+            spawnAsteroid(ax + Math.cos(angle2) * offset, ay + Math.sin(angle2) * offset,
+                    Math.cos(angle2) * speed, Math.sin(angle2) * speed, newSize);
         }
 
     // Reset ship to center and make invincible
@@ -83,12 +60,13 @@ public class GameState {
             ship.velocityX = 0;
             ship.velocityY = 0;
             setInvincible();
+            syncShipEntity();
         }
 
     // Set ship to invincible for a duration
     private void setInvincible() {
             invincible = true;
-            invincibleEndTime = System.currentTimeMillis() + Config.INVINCIBILITY_DURATION_MS;
+            invincibleEndTick = clock.getTick() + SimClock.ticksFor(Config.INVINCIBILITY_DURATION_MS);
         }
     // Game configuration constants
     public static class Config {
@@ -103,24 +81,85 @@ public class GameState {
         public static final int ASTEROID_SPLIT_THRESHOLD = 25;
         public static final double SHIP_TURN_SPEED = 0.07;
         public static final int INVINCIBILITY_DURATION_MS = 2000;
+        public static final int SPAWN_INTERVAL_TICKS = 60;
+    }
+
+    // Control bits, one per GameInputListener ship control
+    public static class Controls {
+        public static final int LEFT = 1;
+        public static final int RIGHT = 2;
+        public static final int THRUST = 4;
+        public static final int DECELERATE = 8;
+        public static final int SHOOT = 16;
     }
 
+    // Collision narrowphase shared by every game (stateless)
+    private static final Narrowphase NARROWPHASE = Narrowphase.create();
+
+    // Polygon asteroids (AsteroidShapes) unless -Dasteroids.asteroidShape=circle
+    public static final boolean POLYGON_ASTEROIDS =
+            !"circle".equalsIgnoreCase(System.getProperty("asteroids.asteroidShape", "polygon").trim());
+
     // High score and file path
     private int highScore = 0;
     private static final java.nio.file.Path HIGH_SCORE_FILE = java.nio.file.Paths.get("resources", "highscore.txt");
 
     // Game objects and state
     public Ship ship;
-    public List<Asteroid> asteroids = new ArrayList<>();
-    public List<Bullet> bullets = new ArrayList<>();
-    public boolean left, right, up, shooting;
+    public final World world = new World(64);
+    public final ParticleSystem particles;
+    private int shipEntity;
+    private final List<Systems.EntitySystem> systems = new ArrayList<>();
+    public boolean left, right, up;
     public int lives = Config.INITIAL_LIVES;
     public boolean gameOver = false;
     public boolean invincible = false;
     public boolean paused = false;
     public int score = 0;
-    private long invincibleEndTime = 0;
-    private final Random random = new Random();
+    private long invincibleEndTick = 0;
+    private final Rng random;
+
+    // Simulation time: every timer in the game counts ticks of this clock
+    public final SimClock clock = new SimClock();
+
+    // Headless games are seeded and never touch the high score file
+    private final boolean headless;
+    private boolean spawning = false;
+
+    // Keyboard input from the EDT, drained at the start of each tick
+    public final InputQueue input = new InputQueue(1024);
+    private InputQueue.Handler inputObserver = null;
+    private final InputQueue.Handler inputHandler = (control, pressed, timestamp) -> {
+        applyInput(control, pressed);
+        if (inputObserver != null) inputObserver.onInput(control, pressed, timestamp);
+    };
+    // Input that arrived while no tick could act on it: keep the keys held, drop the shots
+    private final InputQueue.Handler staleInputHandler = (control, pressed, timestamp) -> {
+        if (control != Controls.SHOOT) setControls(control, pressed);
+    };
+    private int pressedThisTick = 0;
+    private int releaseAfterTick = 0;
+
+    // Game events (contacts, splits, high score), handed to the handlers once per tick
+    public final EventBus events = new EventBus(EVENT_RING_SIZE);
+    private static final int EVENT_RING_SIZE = 1024;
+
+    // Optional rewind history (null = off)
+    private RewindBuffer rewind = null;
+    private Replay.Recorder replay = null;
+    private int shotsSinceRecord = 0;
+
+    // Asteroid grid for spatial queries, rebuilt on first use each tick
+    private final SpatialIndex spatial = new SpatialIndex();
+    private long spatialTick = -1;
+
+    // Optional per-tick telemetry (null = off)
+    private TelemetryRecorder telemetry = null;
+    private int contactsThisTick = 0;
+    private long tickStartNanos = 0;
+
+    // Optional per-system time accumulators (null = off)
+    private long[] systemNanos = null;
 
     // Asteroid spawn parameters
     private int minAsteroidSize = 20;
@@ -128,126 +167,574 @@ public class GameState {
     private double minAsteroidSpeed = 0.5;
     private double maxAsteroidSpeed = 2.5;
 
-    // Pause or resume all asteroids
+    // Pause or resume the game (the clock stops accumulating time)
     public void setPaused(boolean paused) {
         this.paused = paused;
-        for (Asteroid a : asteroids) {
-            a.setPaused(paused);
-        }
+        clock.setPaused(paused);
     }
 
     // Initialize game state
     public GameState() {
+        this(false, new Rng(System.nanoTime()));
+    }
+
+    /**
+     * Headless game for simulations: seeded random generator and the high
+     * score file is never touched. Same seed and inputs, same game.
+     */
+    public GameState(long seed) {
+        this(true, new Rng(seed), 0);
+    }
+
+    // Headless game that still emits particles (load tests), up to particleCapacity live
+    public GameState(long seed, int particleCapacity) {
+        this(true, new Rng(seed), particleCapacity);
+    }
+
+    private GameState(boolean headless, Rng random) {
+        this(headless, random, headless ? 0 : ParticleSystem.configuredCapacity());
+    }
+
+    private GameState(boolean headless, Rng random, int particleCapacity) {
+        this.headless = headless;
+        this.random = random;
+        particles = new ParticleSystem(particleCapacity);
         ship = new Ship(Config.SHIP_START_X, Config.SHIP_START_Y);
+        shipEntity = world.create(World.KIND_SHIP, 0);
+        syncShipEntity();
+
+        // Bullets first, so a bullet clearing the way saves the ship this tick
+        Systems.CollisionSystem collisions = new Systems.CollisionSystem(this::onContact, NARROWPHASE,
+                POLYGON_ASTEROIDS ? AsteroidShapes::touches : null);
+        collisions.addRule(World.LAYER_BULLET, World.LAYER_ASTEROID);
+        collisions.addRule(World.LAYER_SHIP, World.LAYER_ASTEROID);
+        systems.add(new Systems.SpawnSystem());
+        systems.add(new Systems.MovementSystem());
+        systems.add(collisions);
+        systems.add(new Systems.SplitSystem());
+
+        // Effects on the simulation thread; the high score file on its own thread
+        events.addHandler(this::onGameEvent);
+        if (!headless) events.addAsyncHandler(new HighScoreWriter(), "highscore-writer");
+
         spawnAsteroids();
-        loadHighScore();
+        if (!headless) loadHighScore();
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    // Append a system to the pipeline; it runs after the built-in ones, before dead entities are freed
+    public void addSystem(Systems.EntitySystem system) {
+        systems.add(system);
+    }
+
+    /**
+     * Independent copy of the simulation for lookahead (rollouts, search):
+     * headless, no particles, no telemetry, no I/O. Stepping the copy never
+     * affects this game, and with the same controls both play out the same
+     * (the random generator state is copied too). Systems added with
+     * addSystem() and input still queued are not copied.
+     */
+    public GameState fork() {
+        GameState copy = new GameState(true, new Rng(0), 0);
+        forkInto(copy);
+        return copy;
+    }
+
+    /**
+     * Overwrite target with this game's simulation state. Reusing the same
+     * target for every rollout copies flat arrays and allocates nothing once
+     * its world is big enough.
+     */
+    public void forkInto(GameState target) {
+        if (!target.headless) throw new IllegalArgumentException("Fork target must be a headless game");
+        target.copySimulationFrom(this);
+        target.highScore = highScore;
+        target.particles.clear();
+    }
+
+    // Everything update() reads or writes, except the high score and effects (forks, rewind)
+    void copySimulationFrom(GameState src) {
+        spatialTick = -1;
+        world.copyFrom(src.world);
+        ship.copyFrom(src.ship);
+        clock.copyFrom(src.clock);
+        random.copyFrom(src.random);
+        shipEntity = src.shipEntity;
+        left = src.left;
+        right = src.right;
+        up = src.up;
+        lives = src.lives;
+        gameOver = src.gameOver;
+        invincible = src.invincible;
+        paused = src.paused;
+        score = src.score;
+        invincibleEndTick = src.invincibleEndTick;
+        spawning = src.spawning;
+        minAsteroidSize = src.minAsteroidSize;
+        maxAsteroidSize = src.maxAsteroidSize;
+        minAsteroidSpeed = src.minAsteroidSpeed;
+        maxAsteroidSpeed = src.maxAsteroidSpeed;
+        pressedThisTick = 0;
+        releaseAfterTick = 0;
+        shotsSinceRecord = 0;
+    }
+
+    // Upper bound of the bytes writeSimulation() needs right now
+    public int simulationSizeBound() {
+        return world.serializedSizeBound() + 160;
+    }
+
+    // Layout of writeSimulation(); bump it whenever the layout changes (saved checkpoints check it)
+    public static final int SIMULATION_FORMAT = 1;
+
+    /**
+     * Write the state copySimulationFrom() copies, plus the high score, so
+     * that readSimulation() continues the game exactly (replays, checkpoints).
+     * Callers choose the byte order and version their own format.
+     */
+    public void writeSimulation(java.nio.ByteBuffer b) {
+        world.writeTo(b);
+        b.putDouble(ship.x).putDouble(ship.y).putDouble(ship.angle)
+         .putDouble(ship.velocityX).putDouble(ship.velocityY);
+        b.putLong(clock.getTick()).putDouble(clock.getTimeScale());
+        b.putLong(random.state());
+        b.putInt(shipEntity).putInt(lives).putInt(score).putInt(highScore);
+        b.putLong(invincibleEndTick);
+        b.putInt(minAsteroidSize).putInt(maxAsteroidSize);
+        b.putDouble(minAsteroidSpeed).putDouble(maxAsteroidSpeed);
+        b.putInt((left ? 1 : 0) | (right ? 2 : 0) | (up ? 4 : 0) | (ship.accelerating ? 8 : 0)
+                | (ship.isDecelerating() ? 16 : 0) | (gameOver ? 32 : 0) | (invincible ? 64 : 0)
+                | (paused ? 128 : 0) | (spawning ? 256 : 0));
+    }
+
+    // Replace the simulation with one written by writeSimulation(); the high score only goes up
+    public void readSimulation(java.nio.ByteBuffer b) {
+        spatialTick = -1;
+        world.readFrom(b);
+        ship.x = b.getDouble();
+        ship.y = b.getDouble();
+        ship.angle = b.getDouble();
+        ship.velocityX = b.getDouble();
+        ship.velocityY = b.getDouble();
+        long tick = b.getLong();
+        double timeScale = b.getDouble();
+        random.setState(b.getLong());
+        shipEntity = b.getInt();
+        lives = b.getInt();
+        score = b.getInt();
+        highScore = Math.max(highScore, b.getInt());
+        invincibleEndTick = b.getLong();
+        minAsteroidSize = b.getInt();
+        maxAsteroidSize = b.getInt();
+        minAsteroidSpeed = b.getDouble();
+        maxAsteroidSpeed = b.getDouble();
+        int bits = b.getInt();
+        left = (bits & 1) != 0;
+        right = (bits & 2) != 0;
+        up = (bits & 4) != 0;
+        ship.accelerating = (bits & 8) != 0;
+        ship.setDecelerating((bits & 16) != 0);
+        gameOver = (bits & 32) != 0;
+        invincible = (bits & 64) != 0;
+        paused = (bits & 128) != 0;
+        spawning = (bits & 256) != 0;
+        clock.restore(tick, timeScale, paused);
+        if (world.indexOf(shipEntity) < 0) throw new IllegalArgumentException("Corrupt game data: no ship entity");
+        pressedThisTick = 0;
+        releaseAfterTick = 0;
+        shotsSinceRecord = 0;
+    }
+
+    /**
+     * Load a saved game (Checkpoint.load) between ticks: readSimulation(),
+     * and effects and rewind history start over from the loaded state. The
+     * data is read into a scratch game first, so if it is not valid this
+     * throws and the game is unchanged.
+     */
+    public void restoreSimulation(java.nio.ByteBuffer b) {
+        GameState loaded = new GameState(true, new Rng(0), 0);
+        loaded.readSimulation(b);
+        if (b.hasRemaining()) throw new IllegalArgumentException("Corrupt game data: " + b.remaining() + " bytes left over");
+        copySimulationFrom(loaded);
+        highScore = Math.max(highScore, loaded.highScore);
+        particles.clear();
+        if (rewind != null) rewind.clear();
+        changedOutsideTick();
+    }
+
+    // Keep the last seconds of play for rewinding (null stops recording)
+    public void setRewindBuffer(RewindBuffer rewind) {
+        this.rewind = rewind;
+    }
+
+    public RewindBuffer getRewindBuffer() {
+        return rewind;
+    }
+
+    // Record every tick to a replay from now on (null stops; the caller closes the recorder)
+    public void setReplayRecorder(Replay.Recorder recorder) {
+        this.replay = recorder;
+        if (recorder != null) recorder.requestKeyframe();
+    }
+
+    /**
+     * Go back to the state right after the given tick (clamped to what the
+     * rewind buffer still holds); play continues from there. Returns the
+     * tick restored, or the current one if there is no buffer.
+     */
+    public long rewindTo(long tick) {
+        if (rewind == null) return clock.getTick();
+        long restored = rewind.restore(this, tick);
+        particles.clear();
+        // Shots pressed while rewinding do not fire on the first tick after it
+        input.drain(staleInputHandler);
+        // The replay continues from the restored tick, not from the one before the rewind
+        if (replay != null) replay.requestKeyframe();
+        return restored;
+    }
+
+    // Held ship controls as GameState.Controls bits (SHOOT excluded)
+    int heldControls() {
+        return (left ? Controls.LEFT : 0) | (right ? Controls.RIGHT : 0) | (up ? Controls.THRUST : 0)
+                | (ship.isDecelerating() ? Controls.DECELERATE : 0);
+    }
+
+    // Shots fired since the last recorded tick (a keyframe taken now already holds them)
+    int pendingShots() {
+        return shotsSinceRecord;
+    }
+
+    // One recorded tick (rewind, replays): held controls in the low byte, shots above
+    static int packTick(int heldControls, int shots) {
+        return (heldControls & 0xFF) | (Math.min(shots, 0xFFFFFF) << 8);
+    }
+
+    // Play back a tick recorded with packTick()
+    void playTick(int packed) {
+        applyControls(packed & 0xFF);
+        for (int s = packed >>> 8; s > 0; s--) shoot();
+        update();
+    }
+
+    // State changed between ticks: rewind and replay need a keyframe, the spatial index a rebuild
+    private void changedOutsideTick() {
+        spatialTick = -1;
+        if (rewind != null) rewind.requestKeyframe();
+        if (replay != null) replay.requestKeyframe();
+    }
+
+    // Observer told about every input event right after the tick consumes it (null to disable)
+    public void setInputObserver(InputQueue.Handler observer) {
+        this.inputObserver = observer;
+    }
+
+    // Reset score, lives, ship and asteroids for a new game
+    public void reset() {
+        ship.x = Config.SHIP_START_X;
+        ship.y = Config.SHIP_START_Y;
+        ship.velocityX = 0;
+        ship.velocityY = 0;
+        lives = Config.INITIAL_LIVES;
+        score = 0;
+        gameOver = false;
+        invincible = false;
+        world.removeKind(World.KIND_BULLET);
+        particles.clear();
+        syncShipEntity();
+        spawnAsteroids();
+        // A new game does not rewind into the previous one
+        if (rewind != null) rewind.clear();
+        // Nor does it fire the shots pressed during game over
+        input.drain(staleInputHandler);
+    }
+
+    // Apply a whole control state at once (held keys plus one shot if SHOOT is set)
+    public void applyControls(int controls) {
+        setControls(controls, true);
+        setControls(~controls, false);
+        if ((controls & Controls.SHOOT) != 0) shoot();
     }
 
     // Set asteroid size range
     public void setAsteroidSizeRange(int min, int max) {
         this.minAsteroidSize = min;
         this.maxAsteroidSize = max;
+        changedOutsideTick();
     }
 
     // Set asteroid speed range
     public void setAsteroidSpeedRange(double min, double max) {
         this.minAsteroidSpeed = min;
         this.maxAsteroidSpeed = max;
+        changedOutsideTick();
     }
 
     // Spawn initial asteroids
     public void spawnAsteroids() {
-        for (Asteroid a : asteroids) a.stopAsteroid();
-        asteroids.clear();
-        int attempts;
+        world.removeKind(World.KIND_ASTEROID);
         for (int i = 0; i < Config.ASTEROID_COUNT; i++) {
+            createAsteroid();
+        }
+        changedOutsideTick();
+    }
+
+    // Create a random asteroid, trying not to overlap the existing ones
+    void createAsteroid() {
+        int size = minAsteroidSize + random.nextInt(maxAsteroidSize - minAsteroidSize + 1);
+        double speed = minAsteroidSpeed + random.nextDouble() * (maxAsteroidSpeed - minAsteroidSpeed);
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double vx = Math.cos(angle) * speed;
+        double vy = Math.sin(angle) * speed;
+        double x, y;
+        boolean overlap;
+        int attempts = 0;
+        do {
+            x = random.nextInt(Config.WINDOW_WIDTH);
+            y = random.nextInt(Config.WINDOW_HEIGHT);
+            overlap = false;
+            for (int i = 0, n = world.count(); i < n; i++) {
+                if (world.kind[i] != World.KIND_ASTEROID) continue;
+                double dx = x - world.x[i];
+                double dy = y - world.y[i];
+                double dist = Math.sqrt(dx * dx + dy * dy);
+                if (dist < size + world.radius[i] + Config.ASTEROID_MIN_OVERLAP_DIST) {
+                    overlap = true;
+                    break;
+                }
+            }
+            attempts++;
+        } while (overlap && attempts < 100);
+        spawnAsteroid(x, y, vx, vy, size);
+    }
+
+    // Asteroid entity: moves, wraps and splits when destroyed; the collider radius is its size
+    private void spawnAsteroid(double x, double y, double vx, double vy, int size) {
+        world.spawn(World.KIND_ASTEROID, World.FLAG_MOVES | World.FLAG_WRAP | World.FLAG_SPLITS,
+                x, y, vx, vy, size, World.LAYER_ASTEROID);
+    }
+
+    // Add n random asteroids at once, without the overlap retries (load tests)
+    public void addAsteroids(int n) {
+        for (int i = 0; i < n; i++) {
             int size = minAsteroidSize + random.nextInt(maxAsteroidSize - minAsteroidSize + 1);
             double speed = minAsteroidSpeed + random.nextDouble() * (maxAsteroidSpeed - minAsteroidSpeed);
             double angle = random.nextDouble() * 2 * Math.PI;
-            double vx = Math.cos(angle) * speed;
-            double vy = Math.sin(angle) * speed;
-            double x, y;
-            boolean overlap;
-            attempts = 0;
-            do {
-                x = random.nextInt(Config.WINDOW_WIDTH);
-                y = random.nextInt(Config.WINDOW_HEIGHT);
-                overlap = false;
-                for (Asteroid other : asteroids) {
-                    double dx = x - other.x;
-                    double dy = y - other.y;
-                    double dist = Math.sqrt(dx * dx + dy * dy);
-                    if (dist < size + other.size + Config.ASTEROID_MIN_OVERLAP_DIST) {
-                        overlap = true;
-                        break;
-                    }
-                }
-                attempts++;
-            } while (overlap && attempts < 100);
-            Asteroid asteroid = new Asteroid(x, y, vx, vy, size);
-            asteroid.start();
-            asteroids.add(asteroid);
+            spawnAsteroid(random.nextInt(Config.WINDOW_WIDTH), random.nextInt(Config.WINDOW_HEIGHT),
+                    Math.cos(angle) * speed, Math.sin(angle) * speed, size);
         }
+        changedOutsideTick();
     }
 
-    // Continuously spawn asteroids if needed
-    private Thread asteroidSpawnerThread = null;
+    // Keep topping up asteroids every SPAWN_INTERVAL_TICKS (runs inside update())
     public void startAsteroidSpawner() {
-        if (asteroidSpawnerThread != null && asteroidSpawnerThread.isAlive()) return;
-        asteroidSpawnerThread = new Thread(() -> {
-            while (!gameOver) {
-                if (asteroids.size() < Config.ASTEROID_COUNT) {
-                    int size = minAsteroidSize + random.nextInt(maxAsteroidSize - minAsteroidSize + 1);
-                    double speed = minAsteroidSpeed + random.nextDouble() * (maxAsteroidSpeed - minAsteroidSpeed);
-                    double angle = random.nextDouble() * 2 * Math.PI;
-                    double vx = Math.cos(angle) * speed;
-                    double vy = Math.sin(angle) * speed;
-                    double x, y;
-                    boolean overlap;
-                    int attempts = 0;
-                    do {
-                        x = random.nextInt(Config.WINDOW_WIDTH);
-                        y = random.nextInt(Config.WINDOW_HEIGHT);
-                        overlap = false;
-                        for (Asteroid other : asteroids) {
-                            double dx = x - other.x;
-                            double dy = y - other.y;
-                            double dist = Math.sqrt(dx * dx + dy * dy);
-                            if (dist < size + other.size + Config.ASTEROID_MIN_OVERLAP_DIST) {
-                                overlap = true;
-                                break;
-                            }
-                        }
-                        attempts++;
-                    } while (overlap && attempts < 100);
-                    Asteroid asteroid = new Asteroid(x, y, vx, vy, size);
-                    asteroid.start();
-                    synchronized (asteroids) {
-                        asteroids.add(asteroid);
-                    }
-                }
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    break;
-                }
-            }
-        });
-        asteroidSpawnerThread.start();
+        spawning = true;
+        changedOutsideTick();
+    }
+
+    boolean isSpawning() {
+        return spawning;
+    }
+
+    // Number of live asteroids / bullets (nothing is left dying between ticks)
+    public int asteroidCount() {
+        return world.countOf(World.KIND_ASTEROID);
     }
 
-    // Main game update: ship, bullets, collisions, invincibility
+    public int bulletCount() {
+        return world.countOf(World.KIND_BULLET);
+    }
+
+    /**
+     * Spatial queries over the asteroids (radius, nearest, raycast), up to
+     * date with the current tick. Results are dense World indices, valid
+     * until the world changes.
+     */
+    public SpatialIndex spatialIndex() {
+        long tick = clock.getTick();
+        if (spatialTick != tick) {
+            spatial.rebuild(world);
+            spatialTick = tick;
+        }
+        return spatial;
+    }
+
+    // Run several ticks back to back, without real-time pacing
+    public void step(int ticks) {
+        markTickStart(System.nanoTime());
+        for (int i = 0; i < ticks && !gameOver; i++) update();
+    }
+
+    // Main game update: input, ship, then the entity systems (spawn, movement, collisions, splits)
     public void update() {
-        if (gameOver) return;
+        if (gameOver) {
+            input.drain(staleInputHandler);
+            return;
+        }
+        if (rewind != null) rewind.beforeTick(this);
+        if (replay != null) replay.beforeTick(this);
+        contactsThisTick = 0;
+        clock.advance();
+        long tick = clock.getTick();
+        input.drain(inputHandler);
+        if (rewind != null || replay != null) {
+            int held = heldControls(), shots = shotsSinceRecord;
+            shotsSinceRecord = 0;
+            if (rewind != null) rewind.record(tick, held, shots);
+            if (replay != null) replay.record(tick, held, shots);
+        }
         if (left) ship.angle -= Config.SHIP_TURN_SPEED;
         if (right) ship.angle += Config.SHIP_TURN_SPEED;
         ship.accelerating = up;
         ship.update();
-        for (Bullet b : bullets) b.update();
-        bullets.removeIf(b -> !b.active);
-        handleBulletAsteroidCollisions();
-        if (invincible && System.currentTimeMillis() > invincibleEndTime) invincible = false;
-        handleShipAsteroidCollisionAndRespawn();
+        if (up) exhaust();
+        if (invincible && tick > invincibleEndTick) invincible = false;
+        syncShipEntity();
+        if (systemNanos == null) {
+            for (int i = 0; i < systems.size(); i++) systems.get(i).update(this, world);
+            world.flushDead();
+            events.dispatch();
+            particles.update();
+        } else {
+            updateSystemsProfiled();
+        }
+        // Taps shorter than a tick are released only now, after acting once
+        if (releaseAfterTick != 0) setControls(releaseAfterTick, false);
+        pressedThisTick = 0;
+        releaseAfterTick = 0;
+        if (telemetry != null) {
+            // One clock read per tick: this tick's end is the next tick's start
+            long end = System.nanoTime();
+            long tickNanos = end - tickStartNanos;
+            tickStartNanos = end;
+            telemetry.record(tick, tickNanos,
+                    world.countOf(World.KIND_ASTEROID), world.countOf(World.KIND_BULLET), particles.count(),
+                    contactsThisTick, score, lives,
+                    (gameOver ? Snapshot.FLAG_GAME_OVER : 0) | (invincible ? Snapshot.FLAG_INVINCIBLE : 0),
+                    ship.x, ship.y);
+        }
+    }
+
+    // Record one telemetry entry per tick from now on (null stops recording; the caller closes the recorder)
+    public void setTelemetry(TelemetryRecorder telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    public TelemetryRecorder getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Start time of the next update() for telemetry. Ticks run back to back
+     * (step(), a frame's due ticks) chain from one to the next, so callers
+     * only mark the start of each batch with the time they already read.
+     */
+    public void markTickStart(long nowNanos) {
+        tickStartNanos = nowNanos;
+    }
+
+    // Same as the plain loop, adding each system's time to systemNanos
+    private void updateSystemsProfiled() {
+        long t = System.nanoTime();
+        for (int i = 0; i < systems.size(); i++) {
+            systems.get(i).update(this, world);
+            long now = System.nanoTime();
+            systemNanos[i] += now - t;
+            t = now;
+        }
+        world.flushDead();
+        events.dispatch();
+        particles.update();
+        systemNanos[systems.size()] += System.nanoTime() - t;
+    }
+
+    /**
+     * Accumulate the time spent in each system into nanos, in systemNames()
+     * order (null stops profiling). Call after any addSystem().
+     */
+    public void setSystemProfile(long[] nanos) {
+        if (nanos != null && nanos.length < systems.size() + 1) {
+            throw new IllegalArgumentException("Need " + (systems.size() + 1) + " slots, got " + nanos.length);
+        }
+        systemNanos = nanos;
+    }
+
+    // One name per setSystemProfile() slot: the entity systems, then particles
+    public String[] systemNames() {
+        String[] names = new String[systems.size() + 1];
+        for (int i = 0; i < systems.size(); i++) names[i] = systems.get(i).getClass().getSimpleName();
+        names[systems.size()] = "ParticleSystem";
+        return names;
+    }
+
+    // Synchronous event handler: explosions and contact count for telemetry
+    private void onGameEvent(EventBus.Event e, boolean endOfBatch) {
+        switch (e.type) {
+            case EventBus.ASTEROID_DESTROYED:
+                contactsThisTick++;
+                explode(e.x, e.y, e.size);
+                break;
+            case EventBus.SHIP_HIT:
+                contactsThisTick++;
+                particles.burst(e.x, e.y, 150, 3.0, 60, 0xFFFFFF);
+                particles.burst(e.x, e.y, 100, 2.0, 40, 0xFF9030);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Debris and sparks where an asteroid was destroyed, more for bigger rocks
+    private void explode(double x, double y, double size) {
+        particles.burst(x, y, (int) size * 3, 1.5, 50, 0xA89880);
+        particles.burst(x, y, (int) size * 2, 3.0, 25, 0xFFD060);
+    }
+
+    // Engine exhaust out of the ship's tail, opposite to the thrust
+    private void exhaust() {
+        double forward = ship.angle - Math.PI / 2;
+        double tailX = ship.x - Math.cos(forward) * 14;
+        double tailY = ship.y - Math.sin(forward) * 14;
+        particles.jet(tailX, tailY, forward + Math.PI, 0.35, 2.0,
+                ship.velocityX, ship.velocityY, 4, 20, 0xFF8020);
+    }
+
+    // Copy the ship's position into its entity; no collision layer while invincible
+    private void syncShipEntity() {
+        int i = world.indexOf(shipEntity);
+        world.x[i] = ship.x;
+        world.y[i] = ship.y;
+        world.vx[i] = ship.velocityX;
+        world.vy[i] = ship.velocityY;
+        world.radius[i] = Config.SHIP_RADIUS;
+        world.layer[i] = invincible ? 0 : World.LAYER_SHIP;
+    }
+
+    // Apply one queued input event, in arrival order
+    private void applyInput(int control, boolean pressed) {
+        if (control == Controls.SHOOT) {
+            if (pressed && !gameOver) shoot();
+            return;
+        }
+        if (pressed) {
+            setControls(control, true);
+            pressedThisTick |= control;
+            releaseAfterTick &= ~control;
+        } else if ((pressedThisTick & control) != 0) {
+            releaseAfterTick |= control;
+        } else {
+            setControls(control, false);
+        }
+    }
+
+    // Set or clear held controls
+    private void setControls(int controls, boolean active) {
+        if ((controls & Controls.LEFT) != 0) left = active;
+        if ((controls & Controls.RIGHT) != 0) right = active;
+        if ((controls & Controls.THRUST) != 0) up = active;
+        if ((controls & Controls.DECELERATE) != 0) ship.setDecelerating(active);
     }
 
     // Get current high score
@@ -275,14 +762,28 @@ public class GameState {
     }
 
     // Save high score to file
-    private void saveHighScore() {
+    private static void saveHighScore(int value) {
         try (BufferedWriter writer = java.nio.file.Files.newBufferedWriter(HIGH_SCORE_FILE)) {
-            writer.write(Integer.toString(highScore));
+            writer.write(Integer.toString(value));
         } catch (Exception e) {
             // ignore
         }
     }
 
+    // Writes the file once per batch of events, with the best score in it
+    private static final class HighScoreWriter implements EventBus.Handler {
+        private int pending = -1;
+
+        @Override
+        public void onEvent(EventBus.Event e, boolean endOfBatch) {
+            if (e.type == EventBus.HIGH_SCORE) pending = Math.max(pending, e.value);
+            if (endOfBatch && pending >= 0) {
+                saveHighScore(pending);
+                pending = -1;
+            }
+        }
+    }
+
     // Fire a bullet from the ship's tip
     public void shoot() {
         double iconHalf = 16;
@@ -291,6 +792,8 @@ public class GameState {
         double tipY = ship.y + Math.sin(bulletAngle) * iconHalf;
         double bvx = Math.cos(bulletAngle) * 5 + ship.velocityX;
         double bvy = Math.sin(bulletAngle) * 5 + ship.velocityY;
-        bullets.add(new Bullet(tipX, tipY, bvx, bvy));
+        world.spawn(World.KIND_BULLET, World.FLAG_MOVES | World.FLAG_EXPIRE_OFFSCREEN,
+                tipX, tipY, bvx, bvy, 0, World.LAYER_BULLET);
+        shotsSinceRecord++;
     }
 }
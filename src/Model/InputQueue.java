@@ -0,0 +1,87 @@
+package Model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COLA DE ENTRADA SIN BLOQUEOS (UN PRODUCTOR / UN CONSUMIDOR)
+ * ===========================================================
+ *
+ * Transporta los eventos de teclado desde el EDT hasta el hilo de simulación.
+ *
+ * - El productor (EDT) llama a offer() con el control, si se pulsó o soltó y
+ *   el instante System.nanoTime() del evento
+ * - El consumidor (simulación) llama a drain() al principio de cada tick y
+ *   recibe todos los eventos pendientes en el orden en que ocurrieron
+ *
+ * Ring buffer de capacidad potencia de 2 con dos contadores monótonos:
+ * tail solo lo escribe el productor y head solo el consumidor, así que basta
+ * con publicar cada uno con semántica release y leer el otro con acquire.
+ * No hay locks ni reservas de memoria después de construir la cola.
+ */
+public final class InputQueue {
+
+    // Receives drained events on the consumer thread
+    public interface Handler {
+        void onInput(int control, boolean pressed, long timestamp);
+    }
+
+    private static final int PRESSED = 1 << 31;
+
+    private final int mask;
+    private final int[] events;
+    private final long[] timestamps;
+    private final AtomicLong head = new AtomicLong();   // next slot to read (consumer)
+    private final AtomicLong tail = new AtomicLong();   // next slot to write (producer)
+    private volatile long dropped = 0;
+
+    // Capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        events = new int[size];
+        timestamps = new long[size];
+    }
+
+    /**
+     * Producer side. Returns false (and counts a drop) only if the consumer
+     * has fallen a whole ring behind.
+     */
+    public boolean offer(int control, boolean pressed, long timestamp) {
+        long t = tail.get();
+        if (t - head.getAcquire() > mask) {
+            dropped++;
+            return false;
+        }
+        int i = (int) t & mask;
+        events[i] = control | (pressed ? PRESSED : 0);
+        timestamps[i] = timestamp;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    // Consumer side: hand every pending event to the handler, oldest first
+    public int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.getAcquire();
+        for (long p = h; p < t; p++) {
+            int i = (int) p & mask;
+            int e = events[i];
+            handler.onInput(e & ~PRESSED, (e & PRESSED) != 0, timestamps[i]);
+        }
+        head.setRelease(t);
+        return (int) (t - h);
+    }
+
+    // Events waiting to be drained (approximate when called from the producer)
+    public int size() {
+        return (int) (tail.getAcquire() - head.getAcquire());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long droppedCount() {
+        return dropped;
+    }
+}
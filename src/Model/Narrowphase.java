@@ -0,0 +1,68 @@
+package Model;
+
+/**
+ * NARROWPHASE - PRUEBA EXACTA DE SOLAPAMIENTO DE CÍRCULOS
+ * ======================================================
+ *
+ * Compara un círculo (bala, nave) contra un lote de círculos empaquetados en
+ * arrays contiguos (x, y, radio) y devuelve el primero que toca.
+ *
+ * SIN RAÍZ CUADRADA:
+ * - Se compara dx² + dy² < (r1 + r2)² en lugar de dist < r1 + r2
+ * - Un radio NaN en el lote desactiva esa entrada (la comparación es falsa)
+ *
+ * IMPLEMENTACIONES:
+ * - VectorNarrowphase: varias entradas por instrucción con jdk.incubator.vector
+ *   (necesita --add-modules jdk.incubator.vector)
+ * - Scalar: una entrada cada vez; se usa si el módulo no está disponible o
+ *   con -Dasteroids.simd=false
+ *
+ * Ambas hacen las mismas operaciones en double en el mismo orden, así que dan
+ * el mismo resultado y las partidas siguen siendo deterministas.
+ */
+public interface Narrowphase {
+
+    /**
+     * Index of the first entry in [from, n) overlapping the circle (px, py, pr),
+     * or -1 if none does.
+     */
+    int firstHit(double px, double py, double pr,
+                 double[] xs, double[] ys, double[] rs, int from, int n);
+
+    // Implementation name, for reports
+    String name();
+
+    // The vector implementation when the incubator module is present, scalar otherwise
+    static Narrowphase create() {
+        if (!Boolean.parseBoolean(System.getProperty("asteroids.simd", "true"))) {
+            return new Scalar();
+        }
+        try {
+            // Loaded by name so this file compiles and runs without the module
+            return (Narrowphase) Class.forName("Model.VectorNarrowphase")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new Scalar();
+        }
+    }
+
+    // One pair at a time
+    final class Scalar implements Narrowphase {
+        @Override
+        public int firstHit(double px, double py, double pr,
+                            double[] xs, double[] ys, double[] rs, int from, int n) {
+            for (int j = from; j < n; j++) {
+                double dx = xs[j] - px;
+                double dy = ys[j] - py;
+                double r = rs[j] + pr;
+                if (dx * dx + dy * dy < r * r) return j;
+            }
+            return -1;
+        }
+
+        @Override
+        public String name() {
+            return "scalar";
+        }
+    }
+}
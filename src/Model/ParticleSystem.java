@@ -0,0 +1,187 @@
+package Model;
+
+/**
+ * SISTEMA DE PARTÍCULAS
+ * =====================
+ *
+ * Efectos visuales (explosiones, restos, estela del motor) que no afectan a
+ * la partida: no colisionan ni usan el Random de GameState, así que una
+ * partida con semilla sigue siendo idéntica con o sin partículas.
+ *
+ * ALMACENAMIENTO:
+ * - Pool de capacidad fija en arrays primitivos paralelos (x, y, vx, vy,
+ *   life, maxLife, color); nada se reserva después del constructor
+ * - Las partículas vivas ocupan [0, count); al morir, la última ocupa su
+ *   hueco (swap-remove) dentro del mismo bucle de update()
+ *
+ * PRESUPUESTO:
+ * - budget limita las partículas vivas (por defecto toda la capacidad); las
+ *   que no caben en una ráfaga se descartan, nunca se espera ni se reserva
+ * - La capacidad del juego se elige con -Dasteroids.particles=N
+ *   (por defecto 200000); las partidas headless no tienen partículas
+ *
+ * Las vidas se cuentan en ticks del SimClock, igual que el resto del juego.
+ */
+public final class ParticleSystem {
+    public static final int DEFAULT_CAPACITY = 200_000;
+
+    // Velocity kept per tick (slight drag so debris slows down)
+    private static final float DRAG = 0.985f;
+
+    // Packed components, live in [0, count)
+    public final float[] x, y, vx, vy;
+    public final int[] life, maxLife, color;
+    private int count = 0;
+
+    private final int capacity;
+    private int budget;
+    private long dropped = 0;
+
+    // xorshift32 state, independent of the game's Random
+    private int seed = 0x9E3779B9;
+
+    public ParticleSystem(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.budget = this.capacity;
+        x = new float[this.capacity];
+        y = new float[this.capacity];
+        vx = new float[this.capacity];
+        vy = new float[this.capacity];
+        life = new int[this.capacity];
+        maxLife = new int[this.capacity];
+        color = new int[this.capacity];
+    }
+
+    // Capacity for interactive games, from -Dasteroids.particles
+    public static int configuredCapacity() {
+        return Integer.getInteger("asteroids.particles", DEFAULT_CAPACITY);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    // Maximum live particles, clamped to [0, capacity]; excess particles die immediately
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(capacity, budget));
+        if (count > this.budget) count = this.budget;
+    }
+
+    // Particles not emitted because the budget was full
+    public long droppedCount() {
+        return dropped;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    // Copy the live particles of other (as many as fit), e.g. to draw a frame on another thread
+    public void copyFrom(ParticleSystem other) {
+        int n = Math.min(other.count, budget);
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.vx, 0, vx, 0, n);
+        System.arraycopy(other.vy, 0, vy, 0, n);
+        System.arraycopy(other.life, 0, life, 0, n);
+        System.arraycopy(other.maxLife, 0, maxLife, 0, n);
+        System.arraycopy(other.color, 0, color, 0, n);
+        count = n;
+        seed = other.seed;
+    }
+
+    /**
+     * Radial burst (explosion, debris): n particles leaving (px, py) in random
+     * directions with speeds up to maxSpeed and lives between lifeTicks/2 and
+     * lifeTicks.
+     */
+    public void burst(double px, double py, int n, double maxSpeed, int lifeTicks, int rgb) {
+        n = reserve(n);
+        for (int k = 0; k < n; k++) {
+            double angle = nextFloat() * (2 * Math.PI);
+            double speed = maxSpeed * (0.2f + 0.8f * nextFloat());
+            add(px, py, Math.cos(angle) * speed, Math.sin(angle) * speed,
+                    lifeTicks / 2 + (int) (nextFloat() * (lifeTicks - lifeTicks / 2)), rgb);
+        }
+    }
+
+    /**
+     * Directed jet (engine exhaust): n particles from (px, py) around the given
+     * direction, spread radians either side, plus the emitter's own velocity.
+     */
+    public void jet(double px, double py, double direction, double spread, double speed,
+                    double baseVx, double baseVy, int n, int lifeTicks, int rgb) {
+        n = reserve(n);
+        for (int k = 0; k < n; k++) {
+            double angle = direction + (nextFloat() * 2 - 1) * spread;
+            double s = speed * (0.5f + 0.5f * nextFloat());
+            add(px, py, baseVx + Math.cos(angle) * s, baseVy + Math.sin(angle) * s,
+                    lifeTicks / 2 + (int) (nextFloat() * (lifeTicks - lifeTicks / 2)), rgb);
+        }
+    }
+
+    // Advance one tick: age, move and compact the pool in a single pass
+    public void update() {
+        final float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        final int[] life = this.life, maxLife = this.maxLife, color = this.color;
+        int n = count;
+        int i = 0;
+        while (i < n) {
+            if (--life[i] <= 0) {
+                n--;
+                x[i] = x[n];
+                y[i] = y[n];
+                vx[i] = vx[n];
+                vy[i] = vy[n];
+                life[i] = life[n];
+                maxLife[i] = maxLife[n];
+                color[i] = color[n];
+                continue;   // the moved particle is processed in this slot
+            }
+            x[i] += vx[i];
+            y[i] += vy[i];
+            vx[i] *= DRAG;
+            vy[i] *= DRAG;
+            i++;
+        }
+        count = n;
+    }
+
+    // How many of n particles fit in the budget
+    private int reserve(int n) {
+        int room = budget - count;
+        if (n > room) {
+            dropped += n - Math.max(0, room);
+            n = Math.max(0, room);
+        }
+        return n;
+    }
+
+    private void add(double px, double py, double pvx, double pvy, int ticks, int rgb) {
+        int i = count++;
+        x[i] = (float) px;
+        y[i] = (float) py;
+        vx[i] = (float) pvx;
+        vy[i] = (float) pvy;
+        life[i] = maxLife[i] = Math.max(1, ticks);
+        color[i] = rgb & 0xFFFFFF;
+    }
+
+    // Uniform in [0, 1)
+    private float nextFloat() {
+        int s = seed;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        seed = s;
+        return (s >>> 8) * 0x1.0p-24f;
+    }
+}
@@ -0,0 +1,274 @@
+package Model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * REPETICIONES (REPLAYS)
+ * ======================
+ *
+ * Una partida grabada como keyframes (estado completo) y, entre ellos, los
+ * controles de cada tick: la simulación es determinista, así que volver a
+ * jugar los controles desde un keyframe reproduce la partida exacta.
+ *
+ * FORMATO (little-endian):
+ * - Cabecera (HEADER_SIZE bytes): magic "ARPL", versión, intervalo de
+ *   keyframes, reservado
+ * - Entradas seguidas, cada una con un byte de tipo:
+ *   'K' tick (long), longitud (int), estado (GameState.writeSimulation):
+ *       el estado justo antes del tick siguiente
+ *   'T' tick grabado (int, GameState.packTick): controles mantenidos y disparos
+ *
+ * GRABACIÓN (Recorder):
+ * - Un keyframe cada keyframeInterval ticks y otro antes del primer tick
+ *   tras un cambio hecho fuera de update() (reinicio, ajustes), igual que
+ *   RewindBuffer; así la repetición también cubre reinicios y ajustes
+ * - Las entradas se acumulan en memoria y se escriben en bloques de
+ *   BUFFER_SIZE bytes (unos 10 minutos de ticks por bloque); si una
+ *   escritura falla se deja de grabar, el juego sigue
+ *
+ * LECTURA (Reader):
+ * - Carga el fichero e indexa los keyframes
+ * - seek() coloca una partida headless en cualquier tick partiendo del
+ *   keyframe anterior; Playback.step() avanza un tick
+ * - Cada keyframe trae su tick: tras rebobinar (GameState.rewindTo) el
+ *   grabador guarda un keyframe con el tick restaurado y los ticks siguen
+ *   desde ahí. La rama descartada sigue en el fichero: Playback la juega tal
+ *   cual se jugó y seek() va a la rama que se conservó
+ */
+public final class Replay {
+    public static final int MAGIC = 0x4C505241;   // "ARPL" little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 600;   // 10 s of game time
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte KEYFRAME = 'K';
+    private static final byte TICK = 'T';
+
+    private Replay() {}
+
+    /**
+     * Writes a replay of the game it is attached to
+     * (GameState.setReplayRecorder). Runs on the simulation thread.
+     */
+    public static final class Recorder implements AutoCloseable {
+        private final FileChannel channel;
+        private final int keyframeInterval;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long lastKeyframeTick = 0;
+        private boolean keyframeRequested = true;
+        private int shotsInKeyframe = 0;
+        private boolean failed = false;
+
+        public Recorder(Path file, int keyframeInterval) throws IOException {
+            if (keyframeInterval <= 0) throw new IllegalArgumentException("keyframeInterval must be positive");
+            this.keyframeInterval = keyframeInterval;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(keyframeInterval).putInt(0);
+        }
+
+        public Recorder(Path file) throws IOException {
+            this(file, DEFAULT_KEYFRAME_INTERVAL);
+        }
+
+        void requestKeyframe() {
+            keyframeRequested = true;
+        }
+
+        // Called by update() before advancing the clock
+        void beforeTick(GameState state) {
+            long tick = state.clock.getTick();
+            if (failed || (!keyframeRequested && tick - lastKeyframeTick < keyframeInterval)) return;
+            keyframeRequested = false;
+            lastKeyframeTick = tick;
+            ensure(13 + state.simulationSizeBound());
+            buffer.put(KEYFRAME).putLong(tick);
+            int lengthAt = buffer.position();
+            buffer.putInt(0);
+            state.writeSimulation(buffer);
+            buffer.putInt(lengthAt, buffer.position() - lengthAt - 4);
+            // Shots fired before the keyframe are already in it
+            shotsInKeyframe = state.pendingShots();
+        }
+
+        // Called by update() once the tick's input has been applied
+        void record(long tick, int heldControls, int shots) {
+            if (failed) return;
+            ensure(5);
+            buffer.put(TICK).putInt(GameState.packTick(heldControls, shots - shotsInKeyframe));
+            shotsInKeyframe = 0;
+        }
+
+        // Write out what is buffered
+        public void flush() {
+            if (failed) return;
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) channel.write(buffer);
+            } catch (IOException e) {
+                failed = true;
+                System.err.println("Replay recording stopped: " + e.getMessage());
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() {
+            flush();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // nothing left to save
+            }
+        }
+
+        // Room for n more bytes: flush, and grow for keyframes bigger than the buffer
+        private void ensure(int n) {
+            if (buffer.remaining() >= n) return;
+            flush();
+            if (buffer.capacity() < n) buffer = ByteBuffer.allocate(Integer.highestOneBit(n) << 1).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * A replay file loaded in memory, with its keyframes indexed. Safe to
+     * share between threads; each Playback has its own position.
+     */
+    public static final class Reader {
+        private final ByteBuffer data;
+        private final long[] keyframeTicks;      // in file order; go back after a rewind
+        private final int[] keyframeOffsets;
+        private final long[] lowestTickFrom;     // lowest keyframe tick from each keyframe on
+        private final long lastTick;
+
+        public Reader(Path file) throws IOException {
+            data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            if (data.limit() < HEADER_SIZE || data.getInt(0) != MAGIC) throw new IOException(file + " is not a replay");
+            if (data.getInt(4) != VERSION) throw new IOException(file + ": unsupported replay version");
+
+            long[] ticks = new long[16];
+            int[] offsets = new int[16];
+            int count = 0;
+            long tick = -1;
+            int p = HEADER_SIZE;
+            while (p < data.limit()) {
+                byte type = data.get(p);
+                if (type == KEYFRAME && p + 13 <= data.limit()) {
+                    int length = data.getInt(p + 9);
+                    if (length < 0 || p + 13 + length > data.limit()) break;   // cut short
+                    if (count == ticks.length) {
+                        ticks = Arrays.copyOf(ticks, count * 2);
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    // Ticks count on from each keyframe's own tick
+                    tick = data.getLong(p + 1);
+                    ticks[count] = tick;
+                    offsets[count++] = p;
+                    p += 13 + length;
+                } else if (type == TICK && p + 5 <= data.limit() && count > 0) {
+                    tick++;
+                    p += 5;
+                } else {
+                    break;
+                }
+            }
+            if (count == 0) throw new IOException(file + " has no keyframe");
+            data.limit(p);
+            keyframeTicks = Arrays.copyOf(ticks, count);
+            keyframeOffsets = Arrays.copyOf(offsets, count);
+            lowestTickFrom = new long[count];
+            for (int k = count - 1; k >= 0; k--) {
+                lowestTickFrom[k] = k == count - 1 ? ticks[k] : Math.min(ticks[k], lowestTickFrom[k + 1]);
+            }
+            lastTick = tick;
+        }
+
+        public long firstTick() {
+            return keyframeTicks[0];
+        }
+
+        public long lastTick() {
+            return lastTick;
+        }
+
+        public int keyframeCount() {
+            return keyframeTicks.length;
+        }
+
+        // Playback from the start; the first step() loads the first keyframe
+        public Playback playback() {
+            return new Playback(keyframeOffsets[0]);
+        }
+
+        /**
+         * Put target (a headless game) in the state right after the given
+         * tick, clamped to the replay, and return a Playback that continues
+         * from there.
+         */
+        public Playback seek(GameState target, long tick) {
+            tick = Math.max(firstTick(), Math.min(lastTick, tick));
+            // Last keyframe in the file before the tick (one at the tick itself may
+            // hold later changes); after a rewind that is the one on the branch kept
+            int k = keyframeTicks.length - 1;
+            while (k > 0 && keyframeTicks[k] >= tick) k--;
+            Playback playback = new Playback(keyframeOffsets[k]);
+            playback.loadKeyframe(target);
+            while (target.clock.getTick() < tick && playback.step(target)) { }
+            return playback;
+        }
+
+        // Position in the entry stream of one reader of the replay
+        public final class Playback {
+            private final ByteBuffer buf = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            private int position;
+
+            Playback(int position) {
+                this.position = position;
+            }
+
+            /**
+             * Simulate the next recorded tick on target, loading any keyframe
+             * on the way. Returns false at the end of the replay.
+             */
+            public boolean step(GameState target) {
+                while (position < buf.limit()) {
+                    if (buf.get(position) == KEYFRAME) {
+                        loadKeyframe(target);
+                        continue;
+                    }
+                    int packed = buf.getInt(position + 1);
+                    position += 5;
+                    target.playTick(packed);
+                    return true;
+                }
+                return false;
+            }
+
+            /**
+             * Whether the replay still goes back to the given tick or before
+             * it (a rewind later in the file), so playback past it is not
+             * the end of what happened there.
+             */
+            public boolean returnsTo(long tick) {
+                int k = Arrays.binarySearch(keyframeOffsets, position);
+                k = k >= 0 ? k : -k - 1;   // first keyframe at or after the position
+                return k < lowestTickFrom.length && lowestTickFrom[k] <= tick;
+            }
+
+            private void loadKeyframe(GameState target) {
+                int length = buf.getInt(position + 9);
+                buf.position(position + 13);
+                target.readSimulation(buf);
+                position += 13 + length;
+            }
+        }
+    }
+}
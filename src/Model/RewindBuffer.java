@@ -0,0 +1,154 @@
+package Model;
+
+/**
+ * HISTORIAL PARA REBOBINAR
+ * ========================
+ *
+ * Guarda los últimos segundos de partida para volver a cualquier tick
+ * reciente (depuración de colisiones y rebobinado como mecánica de juego).
+ *
+ * CONTENIDO:
+ * - Keyframes: copia exacta de la simulación (GameState.forkInto sobre
+ *   partidas headless reutilizadas) cada KEYFRAME_INTERVAL ticks, y también
+ *   antes del primer tick tras un cambio hecho fuera de update() (ajustes del
+ *   ControlPanel, asteroides añadidos)
+ * - Deltas: por cada tick, los controles mantenidos y los disparos (un int)
+ *
+ * RESTAURAR UN TICK:
+ * - Se copia el último keyframe anterior al tick en una partida de trabajo, se
+ *   vuelven a jugar los deltas hasta el tick pedido (la simulación es
+ *   determinista) y el resultado se copia a la partida real; la repetición
+ *   no genera partículas, telemetría ni E/S
+ * - La historia posterior se descarta: la partida sigue desde ahí
+ * - Récord, pausa y velocidad de la partida real no cambian
+ *
+ * MEMORIA:
+ * - Fija, según los segundos pedidos: seconds * 60 / KEYFRAME_INTERVAL + 2
+ *   keyframes (creados a medida que hacen falta) y un int por tick
+ * - -Dasteroids.rewindSeconds=N (por defecto DEFAULT_SECONDS, 0 = sin rebobinado)
+ *
+ * COSTE POR TICK: guardar un int; cada KEYFRAME_INTERVAL ticks, copiar los
+ * arrays usados del mundo.
+ *
+ * Solo se repite lo que pasa por los controles: cambios directos a campos
+ * públicos entre ticks (bots que giran la nave a mano) no se reproducen.
+ */
+public final class RewindBuffer {
+    public static final int DEFAULT_SECONDS = 10;
+    public static final int KEYFRAME_INTERVAL = 30;
+
+    private final int keyframeCapacity;
+    private final GameState[] keyframes;
+    private final long[] keyframeTick;       // state right after this tick
+    private int keyframeCount = 0;
+    private int newestKeyframe = -1;         // ring index
+
+    private final int[] records;             // indexed by tick % records.length
+    private long newestTick = -1;            // last tick with a record
+    private boolean keyframeRequested = true;
+    private int shotsInKeyframe = 0;         // shots of the coming tick already in its keyframe
+
+    private GameState scratch;
+
+    /**
+     * @param seconds game seconds of history to keep
+     */
+    public RewindBuffer(int seconds) {
+        if (seconds <= 0) throw new IllegalArgumentException("seconds must be positive");
+        int ticks = seconds * SimClock.TICKS_PER_SECOND;
+        keyframeCapacity = ticks / KEYFRAME_INTERVAL + 2;
+        keyframes = new GameState[keyframeCapacity];
+        keyframeTick = new long[keyframeCapacity];
+        // Every tick after the oldest keyframe must still have its record
+        records = new int[keyframeCapacity * KEYFRAME_INTERVAL];
+    }
+
+    // From -Dasteroids.rewindSeconds (null when set to 0)
+    public static RewindBuffer fromSystemProperty() {
+        int seconds = Integer.getInteger("asteroids.rewindSeconds", DEFAULT_SECONDS);
+        return seconds > 0 ? new RewindBuffer(seconds) : null;
+    }
+
+    // Oldest tick restore() can reach (-1 when empty)
+    public long oldestTick() {
+        return keyframeCount == 0 ? -1 : keyframeTick[oldestKeyframe()];
+    }
+
+    // Newest tick restore() can reach (-1 when empty)
+    public long newestTick() {
+        return keyframeCount == 0 ? -1 : Math.max(newestTick, keyframeTick[newestKeyframe]);
+    }
+
+    // Forget the history (new game)
+    public void clear() {
+        keyframeCount = 0;
+        newestKeyframe = -1;
+        newestTick = -1;
+        keyframeRequested = true;
+        shotsInKeyframe = 0;
+    }
+
+    // The next tick must start from a keyframe (state changed outside update())
+    void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    // Called by update() before advancing the clock
+    void beforeTick(GameState state) {
+        long tick = state.clock.getTick();
+        if (!keyframeRequested && keyframeCount > 0 && tick - keyframeTick[newestKeyframe] < KEYFRAME_INTERVAL) return;
+        keyframeRequested = false;
+        int slot = (newestKeyframe + 1) % keyframeCapacity;
+        // A second keyframe for the same tick replaces the first
+        if (keyframeCount > 0 && keyframeTick[newestKeyframe] == tick) slot = newestKeyframe;
+        else if (keyframeCount < keyframeCapacity) keyframeCount++;
+        if (keyframes[slot] == null) keyframes[slot] = new GameState(0);
+        state.forkInto(keyframes[slot]);
+        keyframeTick[slot] = tick;
+        newestKeyframe = slot;
+        // Shots fired before the keyframe are already in it
+        shotsInKeyframe = state.pendingShots();
+    }
+
+    // Called by update() once the tick's input has been applied
+    void record(long tick, int heldControls, int shots) {
+        records[(int) (tick % records.length)] = GameState.packTick(heldControls, shots - shotsInKeyframe);
+        shotsInKeyframe = 0;
+        newestTick = tick;
+    }
+
+    /**
+     * Put state back to right after the given tick (clamped to the history)
+     * and drop everything recorded after it. Returns the tick restored.
+     */
+    public long restore(GameState state, long tick) {
+        if (keyframeCount == 0) return state.clock.getTick();
+        tick = Math.max(oldestTick(), Math.min(newestTick(), tick));
+
+        // Newest keyframe before the tick; later ones are dropped. A keyframe
+        // taken at the tick itself may already hold what happened after it
+        // (shots fired before the next update), so it is only used when
+        // there is nothing older
+        while (keyframeCount > 1 && keyframeTick[newestKeyframe] >= tick) {
+            newestKeyframe = (newestKeyframe - 1 + keyframeCapacity) % keyframeCapacity;
+            keyframeCount--;
+        }
+        if (scratch == null) scratch = new GameState(0);
+        scratch.copySimulationFrom(keyframes[newestKeyframe]);
+        for (long t = keyframeTick[newestKeyframe] + 1; t <= tick && !scratch.gameOver; t++) {
+            scratch.playTick(records[(int) (t % records.length)]);
+        }
+
+        boolean paused = state.paused;
+        double timeScale = state.clock.getTimeScale();
+        state.copySimulationFrom(scratch);
+        state.clock.setTimeScale(timeScale);
+        state.setPaused(paused);
+        newestTick = tick;
+        return tick;
+    }
+
+    private int oldestKeyframe() {
+        return (newestKeyframe - keyframeCount + 1 + keyframeCapacity) % keyframeCapacity;
+    }
+}
@@ -0,0 +1,70 @@
+package Model;
+
+/**
+ * GENERADOR ALEATORIO COPIABLE
+ * ============================
+ *
+ * El mismo generador congruencial de 48 bits que java.util.Random (mismo
+ * multiplicador, mismas fórmulas de nextInt y nextDouble), así que una
+ * semilla da exactamente la misma partida que antes.
+ *
+ * DIFERENCIA CON java.util.Random:
+ * - El estado es un long normal (sin AtomicLong ni sincronización): cada
+ *   partida es de un solo hilo
+ * - copyFrom() copia el estado, para que una partida bifurcada
+ *   (GameState.fork) siga la misma secuencia que la original
+ */
+public final class Rng {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;
+
+    public Rng(long seed) {
+        setSeed(seed);
+    }
+
+    // Same scrambling as java.util.Random.setSeed
+    public void setSeed(long seed) {
+        this.seed = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    public void copyFrom(Rng other) {
+        this.seed = other.seed;
+    }
+
+    // Raw generator state, for saving a game (not the seed it started from)
+    long state() {
+        return seed;
+    }
+
+    void setState(long state) {
+        this.seed = state & MASK;
+    }
+
+    private int next(int bits) {
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        return (int) (seed >>> (48 - bits));
+    }
+
+    public int nextInt() {
+        return next(32);
+    }
+
+    // Uniform in [0, bound), as java.util.Random.nextInt(int)
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive");
+        int r = next(31);
+        int m = bound - 1;
+        if ((bound & m) == 0) return (int) ((bound * (long) r) >> 31);
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) { }
+        return r;
+    }
+
+    // Uniform in [0, 1), as java.util.Random.nextDouble()
+    public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * DOUBLE_UNIT;
+    }
+}
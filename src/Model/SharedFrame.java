@@ -0,0 +1,258 @@
+package Model;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FRAME COMPARTIDO EN MEMORIA (SEQLOCK)
+ * =====================================
+ *
+ * El juego publica en un fichero mapeado en memoria el estado de cada frame
+ * (nave, asteroides, balas, puntuación) para que otros procesos (espectador,
+ * análisis) lo lean sin tocar el heap ni la red del juego.
+ *
+ * FORMATO (little-endian, tamaño fijo según las capacidades):
+ * - Cabecera (HEADER_SIZE bytes): magic "ASFR", versión, máximo de
+ *   asteroides, máximo de balas, secuencia del seqlock (long alineado),
+ *   número de formas de AsteroidShapes (0 = asteroides circulares)
+ * - Cuerpo: tick, puntuación, récord, vidas, flags (Snapshot.FLAG_*), nave
+ *   (x, y, ángulo), número de asteroides y de balas, asteroides (x, y, vx,
+ *   vy float + tamaño y forma int) y balas (x, y float)
+ *
+ * SEQLOCK:
+ * - El escritor pone la secuencia impar, escribe el cuerpo y la deja par
+ *   (release); nunca espera a nadie ni sabe cuántos lectores hay
+ * - Un lector lee la secuencia (acquire), copia el cuerpo a sus arrays y
+ *   vuelve a leer la secuencia: si cambió o era impar, lo intenta de nuevo,
+ *   como mucho READ_TIMEOUT_NANOS (si el juego muere a mitad de escritura
+ *   la secuencia queda impar para siempre y el lector no debe colgarse)
+ * - Los lectores abren el fichero en solo lectura: no pueden afectar al
+ *   escritor más allá de compartir caché
+ *
+ * Si hay más entidades que capacidad se publican solo las primeras.
+ */
+public final class SharedFrame implements AutoCloseable {
+    public static final int MAGIC = 0x52465341;   // "ASFR" little-endian
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 64;
+    public static final int DEFAULT_MAX_ASTEROIDS = 4096;
+    public static final int DEFAULT_MAX_BULLETS = 4096;
+    public static final int ASTEROID_SIZE = 24;
+    public static final int BULLET_SIZE = 8;
+    public static final long READ_TIMEOUT_NANOS = 1_000_000;   // a frame write takes microseconds
+
+    // Header offsets
+    public static final int H_MAGIC = 0, H_VERSION = 4, H_MAX_ASTEROIDS = 8, H_MAX_BULLETS = 12,
+            H_SEQUENCE = 16, H_SHAPES = 24;
+
+    // Body offsets (from HEADER_SIZE)
+    public static final int B_TICK = 0, B_SCORE = 8, B_HIGH_SCORE = 12, B_LIVES = 16, B_FLAGS = 20,
+            B_SHIP_X = 24, B_SHIP_Y = 28, B_SHIP_ANGLE = 32, B_ASTEROIDS = 36, B_BULLETS = 40,
+            B_ENTITIES = 48;
+
+    // Ordered access to the sequence word inside the mapped buffer
+    private static final VarHandle SEQUENCE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final MappedByteBuffer buffer;
+    private final int maxAsteroids, maxBullets;
+    private long sequence = 0;
+
+    /**
+     * Create (or truncate) the shared file and map it for writing.
+     */
+    public SharedFrame(Path file, int maxAsteroids, int maxBullets) throws IOException {
+        this.maxAsteroids = maxAsteroids;
+        this.maxBullets = maxBullets;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer = ch.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(maxAsteroids, maxBullets));
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_MAX_ASTEROIDS, maxAsteroids);
+        buffer.putInt(H_MAX_BULLETS, maxBullets);
+        buffer.putInt(H_SHAPES, GameState.POLYGON_ASTEROIDS ? AsteroidShapes.SHAPES : 0);
+        SEQUENCE.setRelease(buffer, H_SEQUENCE, 0L);
+        // Magic last: a reader that sees it sees a complete header
+        buffer.putInt(H_MAGIC, MAGIC);
+    }
+
+    public SharedFrame(Path file) throws IOException {
+        this(file, DEFAULT_MAX_ASTEROIDS, DEFAULT_MAX_BULLETS);
+    }
+
+    public static long fileSize(int maxAsteroids, int maxBullets) {
+        return HEADER_SIZE + B_ENTITIES + (long) maxAsteroids * ASTEROID_SIZE + (long) maxBullets * BULLET_SIZE;
+    }
+
+    // Write the current frame of state (simulation thread, between ticks)
+    public void publish(GameState state) {
+        MappedByteBuffer b = buffer;
+        SEQUENCE.setOpaque(b, H_SEQUENCE, ++sequence);   // odd: writing
+        VarHandle.storeStoreFence();
+
+        int body = HEADER_SIZE;
+        b.putLong(body + B_TICK, state.clock.getTick());
+        b.putInt(body + B_SCORE, state.score);
+        b.putInt(body + B_HIGH_SCORE, state.getHighScore());
+        b.putInt(body + B_LIVES, Math.max(0, state.lives));
+        b.putInt(body + B_FLAGS, (state.gameOver ? Snapshot.FLAG_GAME_OVER : 0)
+                | (state.invincible ? Snapshot.FLAG_INVINCIBLE : 0)
+                | (state.paused ? Snapshot.FLAG_PAUSED : 0));
+        b.putFloat(body + B_SHIP_X, (float) state.ship.x);
+        b.putFloat(body + B_SHIP_Y, (float) state.ship.y);
+        b.putFloat(body + B_SHIP_ANGLE, (float) state.ship.angle);
+
+        World w = state.world;
+        int asteroids = body + B_ENTITIES;
+        int bullets = asteroids + maxAsteroids * ASTEROID_SIZE;
+        int na = 0, nb = 0;
+        for (int i = 0, n = w.count(); i < n; i++) {
+            if (w.kind[i] == World.KIND_ASTEROID && na < maxAsteroids) {
+                int p = asteroids + na++ * ASTEROID_SIZE;
+                b.putFloat(p, (float) w.x[i]);
+                b.putFloat(p + 4, (float) w.y[i]);
+                b.putFloat(p + 8, (float) w.vx[i]);
+                b.putFloat(p + 12, (float) w.vy[i]);
+                b.putInt(p + 16, (int) w.radius[i]);
+                b.putInt(p + 20, AsteroidShapes.shapeOf(w, i));
+            } else if (w.kind[i] == World.KIND_BULLET && nb < maxBullets) {
+                int p = bullets + nb++ * BULLET_SIZE;
+                b.putFloat(p, (float) w.x[i]);
+                b.putFloat(p + 4, (float) w.y[i]);
+            }
+        }
+        b.putInt(body + B_ASTEROIDS, na);
+        b.putInt(body + B_BULLETS, nb);
+
+        SEQUENCE.setRelease(b, H_SEQUENCE, ++sequence);  // even: frame complete
+    }
+
+    @Override
+    public void close() {
+        buffer.force();
+    }
+
+    /**
+     * Read-only view of a shared frame file, usually in another process.
+     * Each read() copies a consistent frame into the public fields and arrays
+     * (which only grow), retrying while the writer is in the middle of one.
+     */
+    public static final class Reader {
+        private final MappedByteBuffer buffer;
+        private final int maxAsteroids, maxBullets;
+        private long lastSequence = -1;
+
+        public final int shapes;   // AsteroidShapes.SHAPES, or 0 when the game uses circles
+
+        public long tick;
+        public int score, highScore, lives, flags;
+        public float shipX, shipY, shipAngle;
+        public int asteroidCount, bulletCount;
+        public float[] asteroidX = new float[16], asteroidY = new float[16];
+        public float[] asteroidVx = new float[16], asteroidVy = new float[16];
+        public int[] asteroidSize = new int[16], asteroidShape = new int[16];
+        public float[] bulletX = new float[32], bulletY = new float[32];
+
+        public Reader(Path file) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            }
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(H_MAGIC) != MAGIC) {
+                throw new IOException(file + " is not a shared frame file");
+            }
+            if (buffer.getInt(H_VERSION) != VERSION) throw new IOException(file + ": unsupported version");
+            maxAsteroids = buffer.getInt(H_MAX_ASTEROIDS);
+            maxBullets = buffer.getInt(H_MAX_BULLETS);
+            shapes = buffer.getInt(H_SHAPES);
+            if (buffer.capacity() < fileSize(maxAsteroids, maxBullets)) throw new IOException(file + " is truncated");
+        }
+
+        // Writer's sequence (even = a complete frame); changes with every publish
+        public long sequence() {
+            return (long) SEQUENCE.getAcquire(buffer, H_SEQUENCE);
+        }
+
+        /**
+         * Copy the latest frame. Returns false if nothing was published
+         * since the last successful read, or if no consistent frame could be
+         * read within READ_TIMEOUT_NANOS (writer died mid-write).
+         */
+        public boolean read() {
+            MappedByteBuffer b = buffer;
+            long start = System.nanoTime();
+            while (true) {
+                long before = (long) SEQUENCE.getAcquire(b, H_SEQUENCE);
+                if (before == lastSequence) return false;
+                if (System.nanoTime() - start > READ_TIMEOUT_NANOS) return false;
+                if ((before & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                copyBody(b);
+                VarHandle.loadLoadFence();
+                long after = (long) SEQUENCE.getOpaque(b, H_SEQUENCE);
+                if (after == before) {
+                    lastSequence = before;
+                    return true;
+                }
+            }
+        }
+
+        private void copyBody(MappedByteBuffer b) {
+            int body = HEADER_SIZE;
+            tick = b.getLong(body + B_TICK);
+            score = b.getInt(body + B_SCORE);
+            highScore = b.getInt(body + B_HIGH_SCORE);
+            lives = b.getInt(body + B_LIVES);
+            flags = b.getInt(body + B_FLAGS);
+            shipX = b.getFloat(body + B_SHIP_X);
+            shipY = b.getFloat(body + B_SHIP_Y);
+            shipAngle = b.getFloat(body + B_SHIP_ANGLE);
+            // Counts can be torn mid-write: clamp, the sequence check discards the frame anyway
+            asteroidCount = Math.max(0, Math.min(maxAsteroids, b.getInt(body + B_ASTEROIDS)));
+            bulletCount = Math.max(0, Math.min(maxBullets, b.getInt(body + B_BULLETS)));
+            ensureCapacity(asteroidCount, bulletCount);
+
+            int p = body + B_ENTITIES;
+            for (int i = 0; i < asteroidCount; i++, p += ASTEROID_SIZE) {
+                asteroidX[i] = b.getFloat(p);
+                asteroidY[i] = b.getFloat(p + 4);
+                asteroidVx[i] = b.getFloat(p + 8);
+                asteroidVy[i] = b.getFloat(p + 12);
+                asteroidSize[i] = b.getInt(p + 16);
+                asteroidShape[i] = b.getInt(p + 20);
+            }
+            p = body + B_ENTITIES + maxAsteroids * ASTEROID_SIZE;
+            for (int i = 0; i < bulletCount; i++, p += BULLET_SIZE) {
+                bulletX[i] = b.getFloat(p);
+                bulletY[i] = b.getFloat(p + 4);
+            }
+        }
+
+        private void ensureCapacity(int asteroids, int bullets) {
+            if (asteroids > asteroidX.length) {
+                int n = Math.max(asteroids, asteroidX.length * 2);
+                asteroidX = java.util.Arrays.copyOf(asteroidX, n);
+                asteroidY = java.util.Arrays.copyOf(asteroidY, n);
+                asteroidVx = java.util.Arrays.copyOf(asteroidVx, n);
+                asteroidVy = java.util.Arrays.copyOf(asteroidVy, n);
+                asteroidSize = java.util.Arrays.copyOf(asteroidSize, n);
+                asteroidShape = java.util.Arrays.copyOf(asteroidShape, n);
+            }
+            if (bullets > bulletX.length) {
+                int n = Math.max(bullets, bulletX.length * 2);
+                bulletX = java.util.Arrays.copyOf(bulletX, n);
+                bulletY = java.util.Arrays.copyOf(bulletY, n);
+            }
+        }
+    }
+}
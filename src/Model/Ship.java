@@ -56,6 +56,21 @@ public class Ship {
     public void setDecelerating(boolean decelerating) {
         this.decelerating = decelerating;
     }
+
+    public boolean isDecelerating() {
+        return decelerating;
+    }
+
+    // Copy position, velocity and controls from another ship (forked games)
+    public void copyFrom(Ship other) {
+        x = other.x;
+        y = other.y;
+        angle = other.angle;
+        velocityX = other.velocityX;
+        velocityY = other.velocityY;
+        accelerating = other.accelerating;
+        decelerating = other.decelerating;
+    }
     /**
      * MÉTODO UPDATE - Actualiza física de la nave cada frame
      * 
@@ -0,0 +1,111 @@
+package Model;
+
+/**
+ * RELOJ DE SIMULACIÓN
+ * ===================
+ *
+ * Única fuente de tiempo del juego, contada en ticks (60 por segundo de
+ * juego). Todos los temporizadores (invencibilidad, spawner, parpadeo) se
+ * expresan en ticks, así que el juego funciona igual a cualquier velocidad.
+ *
+ * MODOS DE AVANCE:
+ * - Tiempo real: el bucle de la UI pregunta ticksDue(ahora) en cada frame y
+ *   ejecuta los ticks que correspondan según el factor de escala
+ *   (0.25x - 100x)
+ * - Sin límite: GameState.step(n) ejecuta n ticks seguidos sin mirar el
+ *   reloj de pared (simulaciones headless, pruebas)
+ *
+ * En pausa el reloj no acumula tiempo: al reanudar no hay ráfaga de ticks.
+ */
+public final class SimClock {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final double MIN_TIME_SCALE = 0.25;
+    public static final double MAX_TIME_SCALE = 100.0;
+
+    private long tick = 0;
+    private double timeScale = 1.0;
+    private boolean paused = false;
+
+    // Wall-clock pacing state
+    private long lastNanos = -1;
+    private double owedTicks = 0;
+
+    // Convert a duration in game milliseconds to ticks
+    public static long ticksFor(long millis) {
+        return millis * TICKS_PER_SECOND / 1000;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    // Same tick, scale and pause state as other; wall-clock pacing starts over
+    public void copyFrom(SimClock other) {
+        tick = other.tick;
+        timeScale = other.timeScale;
+        paused = other.paused;
+        resync();
+    }
+
+    // Saved tick, scale and pause state (loading a game)
+    void restore(long tick, double timeScale, boolean paused) {
+        this.tick = tick;
+        setTimeScale(timeScale);
+        this.paused = paused;
+        resync();
+    }
+
+    // Called once per simulated tick by GameState.update()
+    void advance() {
+        tick++;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    // Game seconds per real second, clamped to [MIN_TIME_SCALE, MAX_TIME_SCALE]
+    public void setTimeScale(double scale) {
+        this.timeScale = Math.max(MIN_TIME_SCALE, Math.min(MAX_TIME_SCALE, scale));
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        resync();
+    }
+
+    // Forget elapsed wall time (after a pause or when the loop starts)
+    public void resync() {
+        lastNanos = -1;
+        owedTicks = 0;
+    }
+
+    /**
+     * Number of ticks the real-time loop should run now.
+     *
+     * @param nowNanos System.nanoTime() of the current frame
+     * @param maxTicks cap per frame; time beyond it is dropped instead of
+     *                 building an ever-growing backlog
+     */
+    public int ticksDue(long nowNanos, int maxTicks) {
+        if (paused) return 0;
+        if (lastNanos < 0) {
+            // First frame after a resync runs exactly one tick
+            lastNanos = nowNanos;
+            return 1;
+        }
+        owedTicks += (nowNanos - lastNanos) * 1e-9 * TICKS_PER_SECOND * timeScale;
+        lastNanos = nowNanos;
+        int due = (int) owedTicks;
+        if (due > maxTicks) {
+            owedTicks = 0;
+            return maxTicks;
+        }
+        owedTicks -= due;
+        return due;
+    }
+}
@@ -0,0 +1,183 @@
+package Model;
+
+/**
+ * INSTANTÁNEA CUANTIZADA DEL ESTADO DEL JUEGO
+ * ===========================================
+ *
+ * Copia plana (solo enteros) de lo que hace falta para reconstruir un frame:
+ * nave, asteroides, balas, puntuación y vidas. Es la entrada y salida del
+ * SnapshotCodec.
+ *
+ * CUANTIZACIÓN:
+ * - Posiciones en 1/16 de píxel, limitadas a la ventana [0, WIDTH] x [0, HEIGHT]
+ * - Velocidades en 1/256 de píxel por tick
+ * - Ángulo de la nave en 4096 pasos por vuelta
+ *
+ * Los arrays solo crecen: una instancia reutilizada no genera basura una vez
+ * alcanzado el número máximo de entidades.
+ */
+public final class Snapshot {
+    // Quantization steps
+    public static final int POS_SCALE = 16;
+    public static final int VEL_SCALE = 256;
+    public static final int ANGLE_STEPS = 4096;
+
+    // Flag bits
+    public static final int FLAG_GAME_OVER = 1;
+    public static final int FLAG_INVINCIBLE = 2;
+    public static final int FLAG_PAUSED = 4;
+
+    // Frame identity (tick or frame counter chosen by the caller)
+    public int sequence;
+
+    // Global state
+    public int score, lives, flags;
+
+    // Ship
+    public int shipX, shipY, shipAngle, shipVx, shipVy;
+
+    // Asteroids
+    public int asteroidCount;
+    public int[] asteroidX = new int[16], asteroidY = new int[16];
+    public int[] asteroidVx = new int[16], asteroidVy = new int[16];
+    public int[] asteroidSize = new int[16];
+
+    // Active bullets
+    public int bulletCount;
+    public int[] bulletX = new int[32], bulletY = new int[32];
+    public int[] bulletVx = new int[32], bulletVy = new int[32];
+
+    // Capture the current state of the game into this snapshot
+    public void capture(GameState state, int sequence) {
+        this.sequence = sequence;
+        score = state.score;
+        lives = Math.max(0, state.lives);
+        flags = (state.gameOver ? FLAG_GAME_OVER : 0)
+              | (state.invincible ? FLAG_INVINCIBLE : 0)
+              | (state.paused ? FLAG_PAUSED : 0);
+
+        Ship ship = state.ship;
+        shipX = quantizeX(ship.x);
+        shipY = quantizeY(ship.y);
+        shipAngle = quantizeAngle(ship.angle);
+        shipVx = quantizeVelocity(ship.velocityX);
+        shipVy = quantizeVelocity(ship.velocityY);
+
+        World w = state.world;
+        ensureAsteroidCapacity(w.countOf(World.KIND_ASTEROID));
+        ensureBulletCapacity(w.countOf(World.KIND_BULLET));
+        int na = 0, nb = 0;
+        for (int i = 0, n = w.count(); i < n; i++) {
+            if (w.isDying(i)) continue;
+            if (w.kind[i] == World.KIND_ASTEROID) {
+                asteroidX[na] = quantizeX(w.x[i]);
+                asteroidY[na] = quantizeY(w.y[i]);
+                asteroidVx[na] = quantizeVelocity(w.vx[i]);
+                asteroidVy[na] = quantizeVelocity(w.vy[i]);
+                asteroidSize[na] = (int) w.radius[i];
+                na++;
+            } else if (w.kind[i] == World.KIND_BULLET) {
+                bulletX[nb] = quantizeX(w.x[i]);
+                bulletY[nb] = quantizeY(w.y[i]);
+                bulletVx[nb] = quantizeVelocity(w.vx[i]);
+                bulletVy[nb] = quantizeVelocity(w.vy[i]);
+                nb++;
+            }
+        }
+        asteroidCount = na;
+        bulletCount = nb;
+    }
+
+    // Copy another snapshot into this one (used to keep the acknowledged baseline)
+    public void copyFrom(Snapshot other) {
+        sequence = other.sequence;
+        score = other.score;
+        lives = other.lives;
+        flags = other.flags;
+        shipX = other.shipX;
+        shipY = other.shipY;
+        shipAngle = other.shipAngle;
+        shipVx = other.shipVx;
+        shipVy = other.shipVy;
+
+        ensureAsteroidCapacity(other.asteroidCount);
+        asteroidCount = other.asteroidCount;
+        System.arraycopy(other.asteroidX, 0, asteroidX, 0, asteroidCount);
+        System.arraycopy(other.asteroidY, 0, asteroidY, 0, asteroidCount);
+        System.arraycopy(other.asteroidVx, 0, asteroidVx, 0, asteroidCount);
+        System.arraycopy(other.asteroidVy, 0, asteroidVy, 0, asteroidCount);
+        System.arraycopy(other.asteroidSize, 0, asteroidSize, 0, asteroidCount);
+
+        ensureBulletCapacity(other.bulletCount);
+        bulletCount = other.bulletCount;
+        System.arraycopy(other.bulletX, 0, bulletX, 0, bulletCount);
+        System.arraycopy(other.bulletY, 0, bulletY, 0, bulletCount);
+        System.arraycopy(other.bulletVx, 0, bulletVx, 0, bulletCount);
+        System.arraycopy(other.bulletVy, 0, bulletVy, 0, bulletCount);
+    }
+
+    /**
+     * Size in bytes of the same frame written as raw ints and doubles, without
+     * quantization or deltas. Reference point for the codec's compression ratio.
+     */
+    public int naiveSize() {
+        return 4 * 4                    // sequence, score, lives, flags
+             + 5 * 8                    // ship
+             + 4 + asteroidCount * (4 * 8 + 4)
+             + 4 + bulletCount * (4 * 8);
+    }
+
+    // Grow asteroid arrays (only allocates when a new maximum is reached)
+    public void ensureAsteroidCapacity(int n) {
+        if (n <= asteroidX.length) return;
+        int cap = Math.max(n, asteroidX.length * 2);
+        asteroidX = java.util.Arrays.copyOf(asteroidX, cap);
+        asteroidY = java.util.Arrays.copyOf(asteroidY, cap);
+        asteroidVx = java.util.Arrays.copyOf(asteroidVx, cap);
+        asteroidVy = java.util.Arrays.copyOf(asteroidVy, cap);
+        asteroidSize = java.util.Arrays.copyOf(asteroidSize, cap);
+    }
+
+    // Grow bullet arrays (only allocates when a new maximum is reached)
+    public void ensureBulletCapacity(int n) {
+        if (n <= bulletX.length) return;
+        int cap = Math.max(n, bulletX.length * 2);
+        bulletX = java.util.Arrays.copyOf(bulletX, cap);
+        bulletY = java.util.Arrays.copyOf(bulletY, cap);
+        bulletVx = java.util.Arrays.copyOf(bulletVx, cap);
+        bulletVy = java.util.Arrays.copyOf(bulletVy, cap);
+    }
+
+    // --- Quantization helpers ---
+
+    public static int quantizeX(double x) {
+        return (int) Math.round(Math.max(0, Math.min(GameState.Config.WINDOW_WIDTH, x)) * POS_SCALE);
+    }
+
+    public static int quantizeY(double y) {
+        return (int) Math.round(Math.max(0, Math.min(GameState.Config.WINDOW_HEIGHT, y)) * POS_SCALE);
+    }
+
+    public static int quantizeVelocity(double v) {
+        return (int) Math.round(v * VEL_SCALE);
+    }
+
+    // Angle normalized to [0, 2PI) before quantizing
+    public static int quantizeAngle(double angle) {
+        double turns = angle / (2 * Math.PI);
+        turns -= Math.floor(turns);
+        return (int) Math.round(turns * ANGLE_STEPS) & (ANGLE_STEPS - 1);
+    }
+
+    public static double position(int q) {
+        return q / (double) POS_SCALE;
+    }
+
+    public static double velocity(int q) {
+        return q / (double) VEL_SCALE;
+    }
+
+    public static double angle(int q) {
+        return q * (2 * Math.PI / ANGLE_STEPS);
+    }
+}
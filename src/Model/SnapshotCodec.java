@@ -0,0 +1,302 @@
+package Model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * CODEC BINARIO DE INSTANTÁNEAS CON COMPRESIÓN DELTA
+ * ==================================================
+ *
+ * Convierte un Snapshot en una secuencia de bits compacta y viceversa.
+ * Pensado para red, repeticiones y checkpoints.
+ *
+ * DOS TIPOS DE FRAME:
+ * 1. KEYFRAME: todos los campos con ancho fijo o longitud variable
+ * 2. DELTA: cada campo se codifica como diferencia respecto a una instantánea
+ *    base ya confirmada por el receptor. Las posiciones se predicen con la
+ *    velocidad de la base (pos + vel * ticks transcurridos), así que un objeto
+ *    en movimiento uniforme cuesta apenas unos bits por eje.
+ *
+ * Las diferencias de posición se toman módulo el tamaño de la ventana, de modo
+ * que el wrapping de pantalla no produce saltos grandes.
+ *
+ * FORMATO DE CADA VALOR DELTA (zigzag):
+ * - "0"              -> sin cambios
+ * - "1" + clase(2b)  -> 3, 6, 10 o 32 bits de magnitud
+ *
+ * Una instancia no es thread-safe, pero se puede reutilizar indefinidamente:
+ * encode/decode no reservan memoria (salvo el crecimiento de los arrays del
+ * Snapshot destino al alcanzar un nuevo máximo de entidades).
+ * Tools.SnapshotCodecBench comprueba el tamaño y la ausencia de reservas.
+ */
+public final class SnapshotCodec {
+    public static final int VERSION = 1;
+
+    // Quantized position ranges; the +1 keeps x == WIDTH representable
+    private static final int MOD_X = GameState.Config.WINDOW_WIDTH * Snapshot.POS_SCALE + 1;
+    private static final int MOD_Y = GameState.Config.WINDOW_HEIGHT * Snapshot.POS_SCALE + 1;
+    private static final int X_BITS = 32 - Integer.numberOfLeadingZeros(MOD_X - 1);
+    private static final int Y_BITS = 32 - Integer.numberOfLeadingZeros(MOD_Y - 1);
+    private static final int ANGLE_BITS = Integer.numberOfTrailingZeros(Snapshot.ANGLE_STEPS);
+    private static final int FLAG_BITS = 3;
+
+    // Bit writer state
+    private ByteBuffer out;
+    private long outAcc;
+    private int outBits;
+
+    // Bit reader state
+    private ByteBuffer in;
+    private long inAcc;
+    private int inBits;
+
+    /**
+     * Encode {@code current} into {@code dst}, starting at its position.
+     *
+     * @param current  snapshot to send
+     * @param baseline last snapshot acknowledged by the receiver, or null for a keyframe
+     * @param dst      destination buffer; throws BufferOverflowException if too small
+     * @return number of bytes written
+     */
+    public int encode(Snapshot current, Snapshot baseline, ByteBuffer dst) {
+        out = dst;
+        outAcc = 0;
+        outBits = 0;
+        int start = dst.position();
+        boolean key = baseline == null;
+        int elapsed = key ? 0 : current.sequence - baseline.sequence;
+
+        writeBits(VERSION, 4);
+        writeBits(key ? 1 : 0, 1);
+        writeBits(current.sequence, 32);
+        writeBits(current.flags, FLAG_BITS);
+
+        if (key) {
+            writeVar(current.score);
+            writeVar(current.lives);
+            writeBits(current.shipX, X_BITS);
+            writeBits(current.shipY, Y_BITS);
+            writeBits(current.shipAngle, ANGLE_BITS);
+            writeResidual(current.shipVx);
+            writeResidual(current.shipVy);
+        } else {
+            writeVar(elapsed);
+            writeResidual(current.score - baseline.score);
+            writeResidual(current.lives - baseline.lives);
+            writeResidual(wrap(current.shipX - predict(baseline.shipX, baseline.shipVx, elapsed), MOD_X));
+            writeResidual(wrap(current.shipY - predict(baseline.shipY, baseline.shipVy, elapsed), MOD_Y));
+            writeResidual(wrap(current.shipAngle - baseline.shipAngle, Snapshot.ANGLE_STEPS));
+            writeResidual(current.shipVx - baseline.shipVx);
+            writeResidual(current.shipVy - baseline.shipVy);
+        }
+
+        // Asteroids: delta against the same slot in the baseline when it exists
+        int shared = key ? 0 : Math.min(current.asteroidCount, baseline.asteroidCount);
+        writeVar(current.asteroidCount);
+        for (int i = 0; i < shared; i++) {
+            writeResidual(wrap(current.asteroidX[i] - predict(baseline.asteroidX[i], baseline.asteroidVx[i], elapsed), MOD_X));
+            writeResidual(wrap(current.asteroidY[i] - predict(baseline.asteroidY[i], baseline.asteroidVy[i], elapsed), MOD_Y));
+            writeResidual(current.asteroidVx[i] - baseline.asteroidVx[i]);
+            writeResidual(current.asteroidVy[i] - baseline.asteroidVy[i]);
+            writeResidual(current.asteroidSize[i] - baseline.asteroidSize[i]);
+        }
+        for (int i = shared; i < current.asteroidCount; i++) {
+            writeBits(current.asteroidX[i], X_BITS);
+            writeBits(current.asteroidY[i], Y_BITS);
+            writeResidual(current.asteroidVx[i]);
+            writeResidual(current.asteroidVy[i]);
+            writeVar(current.asteroidSize[i]);
+        }
+
+        // Bullets: same scheme
+        shared = key ? 0 : Math.min(current.bulletCount, baseline.bulletCount);
+        writeVar(current.bulletCount);
+        for (int i = 0; i < shared; i++) {
+            writeResidual(wrap(current.bulletX[i] - predict(baseline.bulletX[i], baseline.bulletVx[i], elapsed), MOD_X));
+            writeResidual(wrap(current.bulletY[i] - predict(baseline.bulletY[i], baseline.bulletVy[i], elapsed), MOD_Y));
+            writeResidual(current.bulletVx[i] - baseline.bulletVx[i]);
+            writeResidual(current.bulletVy[i] - baseline.bulletVy[i]);
+        }
+        for (int i = shared; i < current.bulletCount; i++) {
+            writeBits(current.bulletX[i], X_BITS);
+            writeBits(current.bulletY[i], Y_BITS);
+            writeResidual(current.bulletVx[i]);
+            writeResidual(current.bulletVy[i]);
+        }
+
+        flushBits();
+        out = null;
+        return dst.position() - start;
+    }
+
+    /**
+     * Decode one snapshot from {@code src} into {@code into}.
+     *
+     * @param src      buffer positioned at the start of an encoded snapshot
+     * @param baseline snapshot the sender used as delta base (ignored for keyframes)
+     * @param into     destination; may not be the same instance as {@code baseline}
+     * @throws IllegalStateException if the frame is a delta against a different baseline
+     */
+    public void decode(ByteBuffer src, Snapshot baseline, Snapshot into) {
+        in = src;
+        inAcc = 0;
+        inBits = 0;
+
+        int version = (int) readBits(4);
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version);
+        }
+        boolean key = readBits(1) == 1;
+        into.sequence = (int) readBits(32);
+        into.flags = (int) readBits(FLAG_BITS);
+
+        int elapsed = 0;
+        if (key) {
+            into.score = readVar();
+            into.lives = readVar();
+            into.shipX = (int) readBits(X_BITS);
+            into.shipY = (int) readBits(Y_BITS);
+            into.shipAngle = (int) readBits(ANGLE_BITS);
+            into.shipVx = readResidual();
+            into.shipVy = readResidual();
+        } else {
+            elapsed = readVar();
+            if (baseline == null || baseline.sequence != into.sequence - elapsed) {
+                throw new IllegalStateException("Snapshot " + into.sequence
+                        + " is a delta against " + (into.sequence - elapsed) + ", baseline not available");
+            }
+            into.score = baseline.score + readResidual();
+            into.lives = baseline.lives + readResidual();
+            into.shipX = Math.floorMod(predict(baseline.shipX, baseline.shipVx, elapsed) + readResidual(), MOD_X);
+            into.shipY = Math.floorMod(predict(baseline.shipY, baseline.shipVy, elapsed) + readResidual(), MOD_Y);
+            into.shipAngle = (baseline.shipAngle + readResidual()) & (Snapshot.ANGLE_STEPS - 1);
+            into.shipVx = baseline.shipVx + readResidual();
+            into.shipVy = baseline.shipVy + readResidual();
+        }
+
+        int count = readVar();
+        into.ensureAsteroidCapacity(count);
+        into.asteroidCount = count;
+        int shared = key ? 0 : Math.min(count, baseline.asteroidCount);
+        for (int i = 0; i < shared; i++) {
+            into.asteroidX[i] = Math.floorMod(predict(baseline.asteroidX[i], baseline.asteroidVx[i], elapsed) + readResidual(), MOD_X);
+            into.asteroidY[i] = Math.floorMod(predict(baseline.asteroidY[i], baseline.asteroidVy[i], elapsed) + readResidual(), MOD_Y);
+            into.asteroidVx[i] = baseline.asteroidVx[i] + readResidual();
+            into.asteroidVy[i] = baseline.asteroidVy[i] + readResidual();
+            into.asteroidSize[i] = baseline.asteroidSize[i] + readResidual();
+        }
+        for (int i = shared; i < count; i++) {
+            into.asteroidX[i] = (int) readBits(X_BITS);
+            into.asteroidY[i] = (int) readBits(Y_BITS);
+            into.asteroidVx[i] = readResidual();
+            into.asteroidVy[i] = readResidual();
+            into.asteroidSize[i] = readVar();
+        }
+
+        count = readVar();
+        into.ensureBulletCapacity(count);
+        into.bulletCount = count;
+        shared = key ? 0 : Math.min(count, baseline.bulletCount);
+        for (int i = 0; i < shared; i++) {
+            into.bulletX[i] = Math.floorMod(predict(baseline.bulletX[i], baseline.bulletVx[i], elapsed) + readResidual(), MOD_X);
+            into.bulletY[i] = Math.floorMod(predict(baseline.bulletY[i], baseline.bulletVy[i], elapsed) + readResidual(), MOD_Y);
+            into.bulletVx[i] = baseline.bulletVx[i] + readResidual();
+            into.bulletVy[i] = baseline.bulletVy[i] + readResidual();
+        }
+        for (int i = shared; i < count; i++) {
+            into.bulletX[i] = (int) readBits(X_BITS);
+            into.bulletY[i] = (int) readBits(Y_BITS);
+            into.bulletVx[i] = readResidual();
+            into.bulletVy[i] = readResidual();
+        }
+
+        // Encoded frames are byte aligned: drop the padding bits
+        inBits = 0;
+        in = null;
+    }
+
+    // --- Prediction helpers ---
+
+    // Expected quantized position after 'elapsed' ticks at the quantized velocity
+    private static int predict(int pos, int vel, int elapsed) {
+        long travel = (long) vel * elapsed * Snapshot.POS_SCALE;
+        return (int) (pos + Math.floorDiv(travel + Snapshot.VEL_SCALE / 2, Snapshot.VEL_SCALE));
+    }
+
+    // Map a difference into [-mod/2, mod/2) so wrapping costs nothing
+    private static int wrap(int delta, int mod) {
+        return Math.floorMod(delta + mod / 2, mod) - mod / 2;
+    }
+
+    // --- Bit writer ---
+
+    private void writeBits(long value, int n) {
+        outAcc = (outAcc << n) | (value & ((1L << n) - 1));
+        outBits += n;
+        while (outBits >= 8) {
+            outBits -= 8;
+            out.put((byte) (outAcc >>> outBits));
+        }
+    }
+
+    private void flushBits() {
+        if (outBits > 0) {
+            out.put((byte) (outAcc << (8 - outBits)));
+            outBits = 0;
+        }
+    }
+
+    // Unsigned value with a 2-bit width class (4, 8, 16 or 32 bits)
+    private void writeVar(int v) {
+        if ((v >>> 4) == 0) { writeBits(0, 2); writeBits(v, 4); }
+        else if ((v >>> 8) == 0) { writeBits(1, 2); writeBits(v, 8); }
+        else if ((v >>> 16) == 0) { writeBits(2, 2); writeBits(v, 16); }
+        else { writeBits(3, 2); writeBits(v, 32); }
+    }
+
+    // Signed residual: one bit when zero, otherwise zigzag with a width class
+    private void writeResidual(int d) {
+        int zz = (d << 1) ^ (d >> 31);
+        if (zz == 0) {
+            writeBits(0, 1);
+            return;
+        }
+        int m = zz - 1;
+        if ((m >>> 3) == 0) { writeBits(0b100, 3); writeBits(m, 3); }
+        else if ((m >>> 6) == 0) { writeBits(0b101, 3); writeBits(m, 6); }
+        else if ((m >>> 10) == 0) { writeBits(0b110, 3); writeBits(m, 10); }
+        else { writeBits(0b111, 3); writeBits(m, 32); }
+    }
+
+    // --- Bit reader ---
+
+    private long readBits(int n) {
+        while (inBits < n) {
+            inAcc = (inAcc << 8) | (in.get() & 0xFF);
+            inBits += 8;
+        }
+        inBits -= n;
+        return (inAcc >>> inBits) & ((1L << n) - 1);
+    }
+
+    private int readVar() {
+        switch ((int) readBits(2)) {
+            case 0: return (int) readBits(4);
+            case 1: return (int) readBits(8);
+            case 2: return (int) readBits(16);
+            default: return (int) readBits(32);
+        }
+    }
+
+    private int readResidual() {
+        if (readBits(1) == 0) return 0;
+        int m;
+        switch ((int) readBits(2)) {
+            case 0: m = (int) readBits(3); break;
+            case 1: m = (int) readBits(6); break;
+            case 2: m = (int) readBits(10); break;
+            default: m = (int) readBits(32); break;
+        }
+        int zz = m + 1;
+        return (zz >>> 1) ^ -(zz & 1);
+    }
+}
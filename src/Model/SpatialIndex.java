@@ -0,0 +1,288 @@
+package Model;
+
+/**
+ * ÍNDICE ESPACIAL DE ASTEROIDES
+ * =============================
+ *
+ * Rejilla uniforme sobre la pantalla (que envuelve en los dos ejes) para
+ * preguntas de bots, ayuda de apuntado o spawn sin recorrer todos los
+ * asteroides: qué hay en un radio, los K más cercanos y qué toca primero un
+ * disparo en una dirección.
+ *
+ * CONSTRUCCIÓN (rebuild, O(n)):
+ * - Las celdas dividen exactamente el ancho y el alto (unos TARGET_CELL
+ *   píxeles), así que envolver una celda es un módulo
+ * - Counting sort por celda del centro de cada asteroide: cellStart[] y
+ *   arrays empaquetados (x, y, radio, índice denso) en orden de celda, sin
+ *   reservar memoria una vez alcanzado el tamaño
+ * - Cada asteroide va en una sola celda; las consultas amplían su zona con
+ *   el radio máximo visto
+ * - GameState.spatialIndex() lo reconstruye como mucho una vez por tick
+ *
+ * CONSULTAS:
+ * - Solo leen: varios hilos pueden consultar a la vez el mismo índice
+ * - Los resultados van a buffers del llamador (índices densos de World,
+ *   válidos hasta que el mundo cambie) y se devuelve cuántos hay
+ * - Las distancias son toroidales: la imagen más cercana de cada asteroide
+ *
+ * RAYCAST: recorre las columnas (o filas, según el eje dominante) que cruza
+ * el rayo, con la franja de filas ampliada por el radio máximo, en orden de
+ * distancia; para en cuanto ninguna columna restante puede dar un impacto
+ * más cercano.
+ */
+public final class SpatialIndex {
+    public static final double TARGET_CELL = 64;
+
+    private final double width, height;
+    private final int cols, rows;
+    private final double cellW, cellH;
+
+    // Packed asteroids in cell order; cell c holds [cellStart[c], cellStart[c + 1])
+    private final int[] cellStart, cursor;
+    private int[] entity = new int[64];
+    private double[] px = new double[64], py = new double[64], pr = new double[64];
+    private int[] cellOf = new int[64];
+    private int count = 0;
+    private double maxRadius = 0;
+
+    public SpatialIndex(double width, double height) {
+        this.width = width;
+        this.height = height;
+        cols = Math.max(1, (int) Math.round(width / TARGET_CELL));
+        rows = Math.max(1, (int) Math.round(height / TARGET_CELL));
+        cellW = width / cols;
+        cellH = height / rows;
+        cellStart = new int[cols * rows + 1];
+        cursor = new int[cols * rows];
+    }
+
+    public SpatialIndex() {
+        this(GameState.Config.WINDOW_WIDTH, GameState.Config.WINDOW_HEIGHT);
+    }
+
+    // Asteroids in the index
+    public int count() {
+        return count;
+    }
+
+    // Re-bin every live asteroid of the world
+    public void rebuild(World world) {
+        int n = world.count();
+        if (cellOf.length < n) {
+            int cap = Math.max(n, cellOf.length * 2);
+            cellOf = new int[cap];
+            entity = new int[cap];
+            px = new double[cap];
+            py = new double[cap];
+            pr = new double[cap];
+        }
+        java.util.Arrays.fill(cellStart, 0);
+        int[] kind = world.kind;
+        double[] x = world.x, y = world.y, radius = world.radius;
+        int found = 0;
+        double maxR = 0;
+        // Count per cell (cellOf holds the cell, or -1 for rows that are not asteroids)
+        for (int i = 0; i < n; i++) {
+            if (kind[i] != World.KIND_ASTEROID || world.isDying(i)) {
+                cellOf[i] = -1;
+                continue;
+            }
+            int c = cell(x[i], y[i]);
+            cellOf[i] = c;
+            cellStart[c + 1]++;
+            found++;
+            if (radius[i] > maxR) maxR = radius[i];
+        }
+        for (int c = 0; c < cols * rows; c++) cellStart[c + 1] += cellStart[c];
+        // Scatter in cell order
+        System.arraycopy(cellStart, 0, cursor, 0, cursor.length);
+        for (int i = 0; i < n; i++) {
+            int c = cellOf[i];
+            if (c < 0) continue;
+            int p = cursor[c]++;
+            entity[p] = i;
+            px[p] = x[i];
+            py[p] = y[i];
+            pr[p] = radius[i];
+        }
+        count = found;
+        maxRadius = maxR;
+    }
+
+    /**
+     * Asteroids whose circle overlaps the circle (x, y, radius). Writes up
+     * to out.length dense indices and returns how many overlap in total.
+     */
+    public int queryRadius(double x, double y, double radius, int[] out) {
+        double reach = radius + maxRadius;
+        int cx0 = (int) Math.floor((x - reach) / cellW), cx1 = (int) Math.floor((x + reach) / cellW);
+        int cy0 = (int) Math.floor((y - reach) / cellH), cy1 = (int) Math.floor((y + reach) / cellH);
+        if (cx1 - cx0 + 1 >= cols) { cx0 = 0; cx1 = cols - 1; }
+        if (cy1 - cy0 + 1 >= rows) { cy0 = 0; cy1 = rows - 1; }
+        int found = 0;
+        for (int cy = cy0; cy <= cy1; cy++) {
+            int row = Math.floorMod(cy, rows) * cols;
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int c = row + Math.floorMod(cx, cols);
+                for (int p = cellStart[c], end = cellStart[c + 1]; p < end; p++) {
+                    double dx = wrap(px[p] - x, width), dy = wrap(py[p] - y, height), r = radius + pr[p];
+                    if (dx * dx + dy * dy > r * r) continue;
+                    if (found < out.length) out[found] = entity[p];
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    // True if no asteroid overlaps the circle (x, y, radius): spawn points, teleports
+    public boolean isClear(double x, double y, double radius) {
+        return queryRadius(x, y, radius, NO_RESULTS) == 0;
+    }
+
+    private static final int[] NO_RESULTS = new int[0];
+
+    /**
+     * The k asteroids with the closest centres to (x, y), nearest first.
+     * k is min(outIndex.length, outDistance.length); returns how many were
+     * found (fewer if the index holds fewer asteroids).
+     */
+    public int nearest(double x, double y, int[] outIndex, double[] outDistance) {
+        int k = Math.min(outIndex.length, outDistance.length);
+        if (k == 0 || count == 0) return 0;
+        int ccx = Math.floorMod((int) Math.floor(x / cellW), cols);
+        int ccy = Math.floorMod((int) Math.floor(y / cellH), rows);
+        double cellMin = Math.min(cellW, cellH);
+        int found = 0;
+        // Square rings of cells around the query cell while they do not wrap onto themselves
+        int maxRing = Math.min(cols - 1, rows - 1) / 2;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cy = ccy - ring; cy <= ccy + ring; cy++) {
+                boolean edgeRow = cy == ccy - ring || cy == ccy + ring;
+                int row = Math.floorMod(cy, rows) * cols;
+                for (int cx = ccx - ring; cx <= ccx + ring; cx += edgeRow || ring == 0 ? 1 : 2 * ring) {
+                    found = nearestInCell(row + Math.floorMod(cx, cols), x, y, k, found, outIndex, outDistance);
+                }
+            }
+            // Anything outside the rings searched is at least ring * cellMin away
+            if (found == k && outDistance[k - 1] <= ring * cellMin) return found;
+            if (found == count) return found;
+        }
+        // Wider than the grid allows rings: finish with the cells left
+        for (int cy = 0; cy < rows; cy++) {
+            int dy = ringDistance(cy, ccy, rows);
+            for (int cx = 0; cx < cols; cx++) {
+                if (Math.max(ringDistance(cx, ccx, cols), dy) <= maxRing) continue;
+                found = nearestInCell(cy * cols + cx, x, y, k, found, outIndex, outDistance);
+            }
+        }
+        return found;
+    }
+
+    // Insert the cell's asteroids into the sorted top-k
+    private int nearestInCell(int c, double x, double y, int k, int found, int[] outIndex, double[] outDistance) {
+        for (int p = cellStart[c], end = cellStart[c + 1]; p < end; p++) {
+            double dx = wrap(px[p] - x, width), dy = wrap(py[p] - y, height);
+            double d = Math.sqrt(dx * dx + dy * dy);
+            if (found == k && d >= outDistance[k - 1]) continue;
+            int slot = found < k ? found++ : k - 1;
+            while (slot > 0 && outDistance[slot - 1] > d) {
+                outDistance[slot] = outDistance[slot - 1];
+                outIndex[slot] = outIndex[slot - 1];
+                slot--;
+            }
+            outDistance[slot] = d;
+            outIndex[slot] = entity[p];
+        }
+        return found;
+    }
+
+    /**
+     * First asteroid hit by a ray from (x, y) along angle, within
+     * maxDistance, wrapping around the screen. Returns its dense index or
+     * -1; the distance to the hit goes to distanceOut[0] when given. A ray
+     * starting inside an asteroid hits it at distance 0.
+     */
+    public int raycast(double x, double y, double angle, double maxDistance, double[] distanceOut) {
+        if (count == 0) return -1;
+        double ux = Math.cos(angle), uy = Math.sin(angle);
+        boolean xMajor = Math.abs(ux) >= Math.abs(uy);
+        // Walk along the major axis; "a" is the major coordinate, "b" the minor one
+        double a0 = xMajor ? x : y, b0 = xMajor ? y : x;
+        double ua = xMajor ? ux : uy, ub = xMajor ? uy : ux;
+        double cellA = xMajor ? cellW : cellH, cellB = xMajor ? cellH : cellW;
+        int countA = xMajor ? cols : rows, countB = xMajor ? rows : cols;
+        int dirA = ua >= 0 ? 1 : -1;
+        double reach = maxRadius;
+
+        int first = (int) Math.floor((a0 - dirA * reach) / cellA);
+        int last = (int) Math.floor((a0 + ua * maxDistance + dirA * reach) / cellA);
+        double best = Double.POSITIVE_INFINITY;
+        int hit = -1;
+        for (int ca = first; dirA > 0 ? ca <= last : ca >= last; ca += dirA) {
+            // Near edge of this column along the ray: no centre here can be hit much before it
+            double nearEdge = dirA > 0 ? ca * cellA : (ca + 1) * cellA;
+            double along = (nearEdge - a0) * dirA - reach;
+            if (along > 0 && along > best * Math.abs(ua)) break;
+
+            // Minor-axis span of the ray where it can touch a circle centred in this
+            // column (the column widened by the largest radius), widened again
+            double t0 = (ca * cellA - reach - a0) / ua;
+            double t1 = ((ca + 1) * cellA + reach - a0) / ua;
+            if (t0 > t1) { double s = t0; t0 = t1; t1 = s; }
+            t0 = Math.max(0, Math.min(maxDistance, t0));
+            t1 = Math.max(0, Math.min(maxDistance, t1));
+            double bLo = Math.min(b0 + ub * t0, b0 + ub * t1) - reach;
+            double bHi = Math.max(b0 + ub * t0, b0 + ub * t1) + reach;
+            int cb0 = (int) Math.floor(bLo / cellB), cb1 = (int) Math.floor(bHi / cellB);
+
+            int wrappedA = Math.floorMod(ca, countA);
+            double shiftA = (ca - wrappedA) * cellA;
+            for (int cb = cb0; cb <= cb1; cb++) {
+                int wrappedB = Math.floorMod(cb, countB);
+                double shiftB = (cb - wrappedB) * cellB;
+                int c = xMajor ? wrappedB * cols + wrappedA : wrappedA * cols + wrappedB;
+                double sx = xMajor ? shiftA : shiftB, sy = xMajor ? shiftB : shiftA;
+                for (int p = cellStart[c], end = cellStart[c + 1]; p < end; p++) {
+                    double t = rayCircle(px[p] + sx - x, py[p] + sy - y, pr[p], ux, uy);
+                    if (t < best && t <= maxDistance) {
+                        best = t;
+                        hit = entity[p];
+                    }
+                }
+            }
+        }
+        if (hit >= 0 && distanceOut != null && distanceOut.length > 0) distanceOut[0] = best;
+        return hit;
+    }
+
+    // Distance along the unit ray to a circle centred at (cx, cy) relative to the origin; +inf on a miss
+    private static double rayCircle(double cx, double cy, double r, double ux, double uy) {
+        double proj = cx * ux + cy * uy;
+        double d2 = cx * cx + cy * cy - proj * proj;
+        double r2 = r * r;
+        if (d2 > r2) return Double.POSITIVE_INFINITY;
+        double half = Math.sqrt(r2 - d2);
+        if (proj + half < 0) return Double.POSITIVE_INFINITY;   // behind the origin
+        return Math.max(0, proj - half);
+    }
+
+    private int cell(double x, double y) {
+        int cx = Math.floorMod((int) Math.floor(x / cellW), cols);
+        int cy = Math.floorMod((int) Math.floor(y / cellH), rows);
+        return cy * cols + cx;
+    }
+
+    // Cells between two cell coordinates on a wrapping axis
+    private static int ringDistance(int a, int b, int n) {
+        int d = Math.abs(a - b);
+        return Math.min(d, n - d);
+    }
+
+    // Shortest signed distance on a wrapping axis
+    private static double wrap(double d, double size) {
+        if (d > size / 2) return d - size;
+        if (d < -size / 2) return d + size;
+        return d;
+    }
+}
@@ -0,0 +1,201 @@
+package Model;
+
+/**
+ * SISTEMAS ECS
+ * ============
+ *
+ * Cada sistema recorre los arrays empaquetados de World una vez por tick y
+ * actúa según los flags y capas de cada entidad, no según su clase. Un tipo
+ * de entidad nuevo (ovnis, power-ups) solo necesita elegir flags, capa y
+ * reglas de colisión; no hace falta otro bucle en GameState.update().
+ *
+ * ORDEN POR DEFECTO (GameState):
+ * 1. SpawnSystem     - repone asteroides cada SPAWN_INTERVAL_TICKS
+ * 2. MovementSystem  - integra velocidad, wrapping, salida de pantalla y lifetime
+ * 3. CollisionSystem - pares de capas registrados (círculos envolventes en
+ *                      Narrowphase, luego la forma exacta si hay filtro);
+ *                      la respuesta la decide GameState
+ * 4. SplitSystem     - divide en dos las entidades FLAG_SPLITS destruidas
+ *
+ * Al final del tick GameState llama a World.flushDead() para liberar los
+ * slots de las entidades destruidas.
+ */
+public final class Systems {
+    private Systems() {}
+
+    // One step of the pipeline
+    public interface EntitySystem {
+        void update(GameState state, World world);
+    }
+
+    // Reaction to a contact between entity a (first layer of the rule) and b
+    public interface ContactHandler {
+        void onContact(World world, int a, int b);
+    }
+
+    // Exact shape test for a pair whose bounding circles already overlap
+    public interface ContactFilter {
+        boolean touches(World world, int a, int b);
+    }
+
+    // Keeps the asteroid population topped up while the spawner is enabled
+    static final class SpawnSystem implements EntitySystem {
+        @Override
+        public void update(GameState state, World world) {
+            if (state.isSpawning()
+                    && state.clock.getTick() % GameState.Config.SPAWN_INTERVAL_TICKS == 0
+                    && world.countOf(World.KIND_ASTEROID) < GameState.Config.ASTEROID_COUNT) {
+                state.createAsteroid();
+            }
+        }
+    }
+
+    // Velocity integration, screen wrapping, off-screen expiry and lifetimes
+    static final class MovementSystem implements EntitySystem {
+        @Override
+        public void update(GameState state, World world) {
+            final int w = GameState.Config.WINDOW_WIDTH;
+            final int h = GameState.Config.WINDOW_HEIGHT;
+            int[] flags = world.flags;
+            int[] lifetime = world.lifetime;
+            double[] x = world.x, y = world.y, vx = world.vx, vy = world.vy;
+            for (int i = 0, n = world.count(); i < n; i++) {
+                int f = flags[i];
+                if ((f & World.FLAG_MOVES) == 0) continue;
+                x[i] += vx[i];
+                y[i] += vy[i];
+                if ((f & World.FLAG_WRAP) != 0) {
+                    if (x[i] < 0) x[i] += w;
+                    if (x[i] > w) x[i] -= w;
+                    if (y[i] < 0) y[i] += h;
+                    if (y[i] > h) y[i] -= h;
+                }
+                if ((f & World.FLAG_EXPIRE_OFFSCREEN) != 0
+                        && (x[i] < 0 || x[i] > w || y[i] < 0 || y[i] > h)) {
+                    world.kill(i);
+                }
+                if (lifetime[i] > 0 && --lifetime[i] == 0) {
+                    world.kill(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Circle overlap between layer pairs. For every live entity of the first
+     * layer, the first live entity of the second layer it touches is reported
+     * (at most one contact per entity and rule). Entities killed by the
+     * handler are skipped for the rest of the pass.
+     *
+     * The second layer is packed into contiguous x/y/radius arrays once per
+     * rule and tested in batches by the Narrowphase. Radii are bounding
+     * circles: with a filter, only pairs it accepts are contacts, and a
+     * rejected pair does not stop the search.
+     */
+    static final class CollisionSystem implements EntitySystem {
+        private final ContactHandler handler;
+        private final Narrowphase narrowphase;
+        private final ContactFilter filter;   // null = circles are exact
+        private int[] ruleA = new int[4], ruleB = new int[4];
+        private int ruleCount = 0;
+
+        // Scratch lists of dense indices and packed colliders, reused every tick
+        private int[] listA = new int[64], listB = new int[64];
+        private double[] packedX = new double[64], packedY = new double[64], packedR = new double[64];
+
+        CollisionSystem(ContactHandler handler, Narrowphase narrowphase, ContactFilter filter) {
+            this.handler = handler;
+            this.narrowphase = narrowphase;
+            this.filter = filter;
+        }
+
+        // Rules run in registration order
+        void addRule(int layerA, int layerB) {
+            if (ruleCount == ruleA.length) {
+                ruleA = java.util.Arrays.copyOf(ruleA, ruleCount * 2);
+                ruleB = java.util.Arrays.copyOf(ruleB, ruleCount * 2);
+            }
+            ruleA[ruleCount] = layerA;
+            ruleB[ruleCount] = layerB;
+            ruleCount++;
+        }
+
+        @Override
+        public void update(GameState state, World world) {
+            for (int r = 0; r < ruleCount; r++) {
+                int na = gather(world, ruleA[r], true);
+                int nb = gather(world, ruleB[r], false);
+                if (na == 0 || nb == 0) continue;
+                pack(world, nb);
+                for (int p = 0; p < na; p++) {
+                    int a = listA[p];
+                    if (world.isDying(a)) continue;
+                    double ax = world.x[a], ay = world.y[a], ar = world.radius[a];
+                    int q = 0;
+                    while ((q = narrowphase.firstHit(ax, ay, ar, packedX, packedY, packedR, q, nb)) >= 0) {
+                        int b = listB[q];
+                        if (!world.isDying(b)) {
+                            // Bounding circles overlap but the shapes do not
+                            if (filter != null && !filter.touches(world, a, b)) {
+                                q++;
+                                continue;
+                            }
+                            handler.onContact(world, a, b);
+                            if (world.isDying(b)) packedR[q] = Double.NaN;
+                            break;
+                        }
+                        // Killed earlier in this pass: disable and keep looking
+                        packedR[q++] = Double.NaN;
+                    }
+                }
+            }
+        }
+
+        // Copy the colliders of listB into the packed arrays
+        private void pack(World world, int nb) {
+            if (packedX.length < nb) {
+                int cap = Math.max(nb, packedX.length * 2);
+                packedX = new double[cap];
+                packedY = new double[cap];
+                packedR = new double[cap];
+            }
+            for (int q = 0; q < nb; q++) {
+                int b = listB[q];
+                packedX[q] = world.x[b];
+                packedY[q] = world.y[b];
+                packedR[q] = world.radius[b];
+            }
+        }
+
+        // Collect live entities of a layer into listA or listB
+        private int gather(World world, int layerMask, boolean intoA) {
+            int n = world.count();
+            int[] list = intoA ? listA : listB;
+            if (list.length < n) {
+                list = new int[Math.max(n, list.length * 2)];
+                if (intoA) listA = list; else listB = list;
+            }
+            int[] layer = world.layer;
+            int found = 0;
+            for (int i = 0; i < n; i++) {
+                if ((layer[i] & layerMask) != 0 && !world.isDying(i)) list[found++] = i;
+            }
+            return found;
+        }
+    }
+
+    // Breaks destroyed FLAG_SPLITS entities into two halves
+    static final class SplitSystem implements EntitySystem {
+        @Override
+        public void update(GameState state, World world) {
+            // Children are appended past n, and may reallocate the arrays
+            for (int i = 0, n = world.count(); i < n; i++) {
+                int f = world.flags[i];
+                if ((f & World.FLAG_DYING) != 0 && (f & World.FLAG_SPLITS) != 0
+                        && world.radius[i] > GameState.Config.ASTEROID_SPLIT_THRESHOLD) {
+                    state.splitAsteroid(i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package Model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GRABADOR DE TELEMETRÍA POR TICK
+ * ===============================
+ *
+ * Un registro binario de ancho fijo por cada tick de GameState.update(),
+ * escrito directamente en ficheros mapeados en memoria.
+ *
+ * FORMATO (little-endian):
+ * - Cabecera de segmento (HEADER_SIZE bytes): magic "ATLM", versión,
+ *   tamaño de registro, número de segmento, registros escritos, capacidad,
+ *   hora de creación (epoch ms)
+ * - Registro (RECORD_SIZE bytes): tick, duración del tick en ns, asteroides,
+ *   balas, partículas, colisiones del tick, puntuación, vidas, flags
+ *   (Snapshot.FLAG_*), posición x/y de la nave (float)
+ *
+ * ROTACIÓN:
+ * - Cada segmento (telemetry-NNNNNN.bin) guarda un número fijo de registros
+ * - Un hilo de fondo prepara (crea, mapea y toca cada página) el siguiente
+ *   segmento por adelantado y borra los más antiguos si hay un máximo de
+ *   segmentos; los llenos los vuelca a disco el sistema operativo (solo
+ *   close() hace force())
+ *
+ * HILO DE SIMULACIÓN:
+ * - record() solo escribe en memoria mapeada: ni syscalls ni reservas
+ * - El contador de registros de la cabecera se actualiza tras cada registro,
+ *   así un lector ve siempre registros completos aunque el juego se cierre
+ *   de golpe
+ * - Si el hilo de fondo no puede preparar un segmento (disco lleno, carpeta
+ *   borrada) se avisa una vez y se deja de grabar; el juego sigue
+ *
+ * Tools.TelemetryCsv convierte los segmentos a CSV.
+ */
+public final class TelemetryRecorder implements AutoCloseable {
+    public static final int MAGIC = 0x4D4C5441;   // "ATLM" little-endian
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 48;
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 16;   // ~18 min at 60 ticks/s
+    private static final int PAGE_SIZE = 4096;
+
+    // Header offsets
+    public static final int H_MAGIC = 0, H_VERSION = 4, H_RECORD_SIZE = 8, H_SEGMENT = 12,
+            H_COUNT = 16, H_CAPACITY = 20, H_CREATED = 24;
+
+    // Record offsets
+    public static final int R_TICK = 0, R_TICK_NANOS = 8, R_ASTEROIDS = 12, R_BULLETS = 16,
+            R_PARTICLES = 20, R_COLLISIONS = 24, R_SCORE = 28, R_LIVES = 32, R_FLAGS = 36,
+            R_SHIP_X = 40, R_SHIP_Y = 44;
+
+    private final Path dir;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+
+    // Owned by the simulation thread
+    private MappedByteBuffer current;
+    private int segment;
+    private int count = 0;
+    private int position = HEADER_SIZE;
+    private boolean closed = false;
+
+    // Background mapper: prepares the next segment and prunes old ones
+    private final BlockingQueue<MappedByteBuffer> ready = new LinkedBlockingQueue<>(1);
+    private final BlockingQueue<Object> jobs = new LinkedBlockingQueue<>();
+    private final Thread mapper;
+    private volatile IOException mapperError = null;
+
+    /**
+     * @param dir               directory for the segment files (created if missing)
+     * @param recordsPerSegment records before rotating to a new file
+     * @param maxSegments       segments kept on disk (oldest deleted), 0 = keep all
+     */
+    public TelemetryRecorder(Path dir, int recordsPerSegment, int maxSegments) throws IOException {
+        if (recordsPerSegment <= 0) throw new IllegalArgumentException("recordsPerSegment must be > 0");
+        this.dir = dir;
+        this.recordsPerSegment = recordsPerSegment;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(dir);
+        segment = nextFreeSegment(dir);
+        current = map(segment);
+        mapper = new Thread(this::mapperLoop, "telemetry-mapper");
+        mapper.setDaemon(true);
+        mapper.start();
+        jobs.add(segment + 1);          // map the next one ahead of time
+    }
+
+    public TelemetryRecorder(Path dir) throws IOException {
+        this(dir, DEFAULT_RECORDS_PER_SEGMENT, 0);
+    }
+
+    public static Path segmentPath(Path dir, int segment) {
+        return dir.resolve(String.format("telemetry-%06d.bin", segment));
+    }
+
+    /**
+     * Append one record. Called from GameState.update() on the simulation
+     * thread; only touches mapped memory.
+     */
+    public void record(long tick, long tickNanos, int asteroids, int bullets, int particles,
+                       int collisions, int score, int lives, int flags, double shipX, double shipY) {
+        if (closed) return;
+        if (count == recordsPerSegment && !rotate()) return;
+        final MappedByteBuffer b = current;
+        final int p = position;
+        // Pairs of 32-bit fields as one little-endian long: half the bounds-checked stores
+        b.putLong(p + R_TICK, tick);
+        b.putLong(p + R_TICK_NANOS, pack((int) Math.min(Integer.MAX_VALUE, tickNanos), asteroids));
+        b.putLong(p + R_BULLETS, pack(bullets, particles));
+        b.putLong(p + R_COLLISIONS, pack(collisions, score));
+        b.putLong(p + R_LIVES, pack(lives, flags));
+        b.putLong(p + R_SHIP_X, pack(Float.floatToRawIntBits((float) shipX), Float.floatToRawIntBits((float) shipY)));
+        position = p + RECORD_SIZE;
+        b.putInt(H_COUNT, ++count);
+    }
+
+    // lo at the lower address, hi at the next int (buffer is little-endian)
+    private static long pack(int lo, int hi) {
+        return (lo & 0xFFFFFFFFL) | ((long) hi << 32);
+    }
+
+    // Segment currently being written
+    public int currentSegment() {
+        return segment;
+    }
+
+    // Flush the current segment, stop the background thread and drop the unused pre-mapped segment
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        current.force();
+        mapper.interrupt();
+        try {
+            mapper.join(1000);
+            if (ready.poll() != null) Files.deleteIfExists(segmentPath(dir, segment + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // an empty segment left behind is harmless
+        }
+    }
+
+    // Switch to the pre-mapped next segment and hand the full one to the mapper; false if recording stopped
+    private boolean rotate() {
+        MappedByteBuffer next = ready.poll();
+        // Only if the mapper is a whole segment behind: wait rather than lose records
+        while (next == null) {
+            IOException error = mapperError;
+            if (error != null) {
+                stop("Telemetry recording stopped: " + error);
+                return false;
+            }
+            try {
+                next = ready.poll(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop("Telemetry recording stopped: interrupted during rotation");
+                return false;
+            }
+        }
+        jobs.add(current);
+        segment++;
+        current = next;
+        count = 0;
+        position = HEADER_SIZE;
+        jobs.add(segment + 1);
+        return true;
+    }
+
+    // Give up on recording after an error; the game goes on without telemetry
+    private void stop(String reason) {
+        closed = true;
+        mapper.interrupt();
+        System.err.println(reason);
+    }
+
+    private void mapperLoop() {
+        try {
+            while (true) {
+                Object job = jobs.take();
+                try {
+                    if (job instanceof Integer) {
+                        ready.put(map((Integer) job));
+                    } else {
+                        // A full segment: the OS writes its pages back; just drop the oldest beyond maxSegments
+                        MappedByteBuffer full = (MappedByteBuffer) job;
+                        if (maxSegments > 0) {
+                            Files.deleteIfExists(segmentPath(dir, full.getInt(H_SEGMENT) + 1 - maxSegments));
+                        }
+                    }
+                } catch (IOException e) {
+                    mapperError = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    // Create a segment file of full size, map it and write its header
+    private MappedByteBuffer map(int s) throws IOException {
+        long size = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+        try (FileChannel ch = FileChannel.open(segmentPath(dir, s), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            b.order(ByteOrder.LITTLE_ENDIAN);
+            b.putInt(H_MAGIC, MAGIC);
+            b.putInt(H_VERSION, VERSION);
+            b.putInt(H_RECORD_SIZE, RECORD_SIZE);
+            b.putInt(H_SEGMENT, s);
+            b.putInt(H_COUNT, 0);
+            b.putInt(H_CAPACITY, recordsPerSegment);
+            b.putLong(H_CREATED, System.currentTimeMillis());
+            // Touch every page now so record() never takes the page fault
+            for (int page = PAGE_SIZE; page < size; page += PAGE_SIZE) b.put(page, (byte) 0);
+            return b;
+        }
+    }
+
+    // First segment number after the ones already in the directory
+    private static int nextFreeSegment(Path dir) throws IOException {
+        int next = 0;
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                String name = p.getFileName().toString();
+                if (name.startsWith("telemetry-") && name.endsWith(".bin")) {
+                    try {
+                        next = Math.max(next, Integer.parseInt(name.substring(10, name.length() - 4)) + 1);
+                    } catch (NumberFormatException e) {
+                        // not ours
+                    }
+                }
+            }
+        }
+        return next;
+    }
+}
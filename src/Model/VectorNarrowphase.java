@@ -0,0 +1,41 @@
+package Model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Narrowphase over SIMD lanes: one circle against SPECIES.length() entries per
+ * iteration, with a mask reduction to find the first hit. Only loaded through
+ * Narrowphase.create(), so the rest of the game does not depend on the module.
+ */
+final class VectorNarrowphase implements Narrowphase {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int firstHit(double px, double py, double pr,
+                        double[] xs, double[] ys, double[] rs, int from, int n) {
+        int j = from;
+        int bound = from + SPECIES.loopBound(n - from);
+        for (; j < bound; j += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, j).sub(px);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, j).sub(py);
+            DoubleVector r = DoubleVector.fromArray(SPECIES, rs, j).add(pr);
+            VectorMask<Double> hit = dx.mul(dx).add(dy.mul(dy)).lt(r.mul(r));
+            if (hit.anyTrue()) return j + hit.firstTrue();
+        }
+        // Tail shorter than a vector
+        for (; j < n; j++) {
+            double dx = xs[j] - px;
+            double dy = ys[j] - py;
+            double r = rs[j] + pr;
+            if (dx * dx + dy * dy < r * r) return j;
+        }
+        return -1;
+    }
+
+    @Override
+    public String name() {
+        return "vector x" + SPECIES.length();
+    }
+}
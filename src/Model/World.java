@@ -0,0 +1,292 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * MUNDO ECS - ALMACÉN DE ENTIDADES
+ * ================================
+ *
+ * Todas las entidades del juego (nave, asteroides, balas y las que vengan)
+ * viven aquí como filas de arrays paralelos (structure of arrays).
+ *
+ * IDENTIDAD:
+ * - Un handle es un int: (generación << 22) | slot
+ * - Los slots se reciclan con una lista libre; al liberar uno su generación
+ *   aumenta, así los handles viejos dejan de ser válidos (isAlive = false)
+ *
+ * EMPAQUETADO:
+ * - Los componentes se guardan de forma contigua en [0, count): los sistemas
+ *   recorren arrays sin huecos
+ * - sparse[slot] da la posición densa y denseSlot[pos] el slot
+ * - Al eliminar, la última fila ocupa el hueco (swap-remove)
+ *
+ * COMPONENTES:
+ * - kind, flags                tipo de entidad y comportamientos
+ * - x, y                       transform
+ * - vx, vy                     velocidad
+ * - radius, layer              collider circular y capa de colisión
+ * - lifetime                   ticks restantes (0 = sin límite)
+ *
+ * Crear y destruir es O(1) y no reserva memoria mientras no se supere la
+ * capacidad (que se duplica si hace falta).
+ */
+public final class World {
+    // Entity kinds
+    public static final int KIND_SHIP = 1;
+    public static final int KIND_ASTEROID = 2;
+    public static final int KIND_BULLET = 3;
+    public static final int KIND_COUNT = 4;
+
+    // Behaviour flags
+    public static final int FLAG_MOVES = 1;             // integrates velocity every tick
+    public static final int FLAG_WRAP = 2;              // wraps around screen edges
+    public static final int FLAG_EXPIRE_OFFSCREEN = 4;  // destroyed when leaving the screen
+    public static final int FLAG_SPLITS = 8;            // splits in two when destroyed
+    public static final int FLAG_DYING = 1 << 30;       // destroyed this tick, freed by flushDead()
+
+    // Collision layers
+    public static final int LAYER_SHIP = 1;
+    public static final int LAYER_ASTEROID = 2;
+    public static final int LAYER_BULLET = 4;
+
+    private static final int INDEX_BITS = 22;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (32 - INDEX_BITS)) - 1;
+
+    // Packed components, valid in [0, count)
+    public int[] kind, flags, layer, lifetime;
+    public double[] x, y, vx, vy, radius;
+    private int count = 0;
+
+    // Slot bookkeeping
+    private int[] denseSlot;     // dense position -> slot
+    private int[] sparse;        // slot -> dense position (-1 when free)
+    private int[] generation;    // slot -> current generation
+    private int[] freeSlots;
+    private int freeCount = 0;
+    private int slotCount = 0;   // slots ever handed out
+
+    private final int[] kindCount = new int[KIND_COUNT];
+
+    public World(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    /**
+     * Create an entity and return its handle. All components start at zero
+     * except kind and flags.
+     */
+    public int create(int kind, int flags) {
+        if (count == this.kind.length) allocate(count * 2);
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        int i = count++;
+        sparse[slot] = i;
+        denseSlot[i] = slot;
+        this.kind[i] = kind;
+        this.flags[i] = flags;
+        layer[i] = 0;
+        lifetime[i] = 0;
+        x[i] = y[i] = vx[i] = vy[i] = radius[i] = 0;
+        kindCount[kind]++;
+        return (generation[slot] << INDEX_BITS) | slot;
+    }
+
+    // Convenience: moving entity with a circular collider
+    public int spawn(int kind, int flags, double x, double y, double vx, double vy,
+                     double radius, int layer) {
+        int handle = create(kind, flags);
+        int i = count - 1;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.radius[i] = radius;
+        this.layer[i] = layer;
+        return handle;
+    }
+
+    // Dense position of a live entity, or -1 if the handle is stale
+    public int indexOf(int handle) {
+        int slot = handle & INDEX_MASK;
+        if (slot >= slotCount || generation[slot] != (handle >>> INDEX_BITS)) return -1;
+        return sparse[slot];
+    }
+
+    public boolean isAlive(int handle) {
+        int i = indexOf(handle);
+        return i >= 0 && (flags[i] & FLAG_DYING) == 0;
+    }
+
+    // Handle of the entity at a dense position
+    public int handleAt(int i) {
+        int slot = denseSlot[i];
+        return (generation[slot] << INDEX_BITS) | slot;
+    }
+
+    // Mark for destruction; the row stays readable until flushDead()
+    public void kill(int i) {
+        flags[i] |= FLAG_DYING;
+    }
+
+    public boolean isDying(int i) {
+        return (flags[i] & FLAG_DYING) != 0;
+    }
+
+    // Free every entity marked with kill() (order of survivors may change)
+    public void flushDead() {
+        for (int i = count - 1; i >= 0; i--) {
+            if ((flags[i] & FLAG_DYING) != 0) remove(i);
+        }
+    }
+
+    // Destroy every entity of a kind immediately
+    public void removeKind(int kind) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (this.kind[i] == kind) remove(i);
+        }
+    }
+
+    // Number of entities (all kinds, including ones dying this tick)
+    public int count() {
+        return count;
+    }
+
+    // Number of entities of one kind (including ones dying this tick)
+    public int countOf(int kind) {
+        return kindCount[kind];
+    }
+
+    /**
+     * Make this world an exact copy of other: same rows, same handles. Only
+     * the used part of each array is copied, and nothing is allocated when
+     * this world is already big enough (reusing a fork).
+     */
+    public void copyFrom(World other) {
+        if (kind.length < other.kind.length) allocate(other.kind.length);
+        int n = other.count;
+        System.arraycopy(other.kind, 0, kind, 0, n);
+        System.arraycopy(other.flags, 0, flags, 0, n);
+        System.arraycopy(other.layer, 0, layer, 0, n);
+        System.arraycopy(other.lifetime, 0, lifetime, 0, n);
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.vx, 0, vx, 0, n);
+        System.arraycopy(other.vy, 0, vy, 0, n);
+        System.arraycopy(other.radius, 0, radius, 0, n);
+        System.arraycopy(other.denseSlot, 0, denseSlot, 0, n);
+        // Slots this world handed out beyond other's must read as free
+        int slots = other.slotCount;
+        System.arraycopy(other.sparse, 0, sparse, 0, slots);
+        if (slotCount > slots) {
+            Arrays.fill(sparse, slots, slotCount, -1);
+            Arrays.fill(generation, slots, slotCount, 0);
+        }
+        System.arraycopy(other.generation, 0, generation, 0, slots);
+        System.arraycopy(other.freeSlots, 0, freeSlots, 0, other.freeCount);
+        System.arraycopy(other.kindCount, 0, kindCount, 0, KIND_COUNT);
+        count = n;
+        slotCount = slots;
+        freeCount = other.freeCount;
+    }
+
+    // Upper bound of the bytes writeTo() needs right now
+    public int serializedSizeBound() {
+        return 12 + count * 60 + slotCount * 8 + freeCount * 4;
+    }
+
+    // Write every row and the slot bookkeeping (handles survive a round trip)
+    public void writeTo(java.nio.ByteBuffer b) {
+        b.putInt(count).putInt(slotCount).putInt(freeCount);
+        for (int i = 0; i < count; i++) {
+            b.putInt(kind[i]).putInt(flags[i]).putInt(layer[i]).putInt(lifetime[i]).putInt(denseSlot[i]);
+            b.putDouble(x[i]).putDouble(y[i]).putDouble(vx[i]).putDouble(vy[i]).putDouble(radius[i]);
+        }
+        for (int s = 0; s < slotCount; s++) b.putInt(sparse[s]).putInt(generation[s]);
+        for (int f = 0; f < freeCount; f++) b.putInt(freeSlots[f]);
+    }
+
+    // Replace this world with one written by writeTo()
+    public void readFrom(java.nio.ByteBuffer b) {
+        int n = b.getInt(), slots = b.getInt(), free = b.getInt();
+        if (n < 0 || slots < n || free < 0 || free > slots) throw new IllegalArgumentException("Corrupt world data");
+        if (kind.length < slots) allocate(Integer.highestOneBit(slots) << 1);
+        Arrays.fill(kindCount, 0);
+        for (int i = 0; i < n; i++) {
+            kind[i] = b.getInt();
+            flags[i] = b.getInt();
+            layer[i] = b.getInt();
+            lifetime[i] = b.getInt();
+            denseSlot[i] = b.getInt();
+            x[i] = b.getDouble();
+            y[i] = b.getDouble();
+            vx[i] = b.getDouble();
+            vy[i] = b.getDouble();
+            radius[i] = b.getDouble();
+            if (kind[i] < 0 || kind[i] >= KIND_COUNT) throw new IllegalArgumentException("Corrupt world data");
+            kindCount[kind[i]]++;
+        }
+        if (slotCount > slots) {
+            Arrays.fill(sparse, slots, slotCount, -1);
+            Arrays.fill(generation, slots, slotCount, 0);
+        }
+        for (int s = 0; s < slots; s++) {
+            sparse[s] = b.getInt();
+            generation[s] = b.getInt();
+        }
+        for (int f = 0; f < free; f++) freeSlots[f] = b.getInt();
+        count = n;
+        slotCount = slots;
+        freeCount = free;
+    }
+
+    // Swap-remove the row at dense position i and recycle its slot
+    private void remove(int i) {
+        int slot = denseSlot[i];
+        kindCount[kind[i]]--;
+        int last = --count;
+        if (i != last) {
+            int lastSlot = denseSlot[last];
+            kind[i] = kind[last];
+            flags[i] = flags[last];
+            layer[i] = layer[last];
+            lifetime[i] = lifetime[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            radius[i] = radius[last];
+            denseSlot[i] = lastSlot;
+            sparse[lastSlot] = i;
+        }
+        sparse[slot] = -1;
+        generation[slot] = (generation[slot] + 1) & GENERATION_MASK;
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Grow every array to the new capacity
+    private void allocate(int capacity) {
+        kind = grow(kind, capacity);
+        flags = grow(flags, capacity);
+        layer = grow(layer, capacity);
+        lifetime = grow(lifetime, capacity);
+        x = grow(x, capacity);
+        y = grow(y, capacity);
+        vx = grow(vx, capacity);
+        vy = grow(vy, capacity);
+        radius = grow(radius, capacity);
+        denseSlot = grow(denseSlot, capacity);
+        int oldSlots = sparse == null ? 0 : sparse.length;
+        sparse = grow(sparse, capacity);
+        Arrays.fill(sparse, oldSlots, capacity, -1);
+        generation = grow(generation, capacity);
+        freeSlots = grow(freeSlots, capacity);
+    }
+
+    private static int[] grow(int[] a, int n) {
+        return a == null ? new int[n] : Arrays.copyOf(a, n);
+    }
+
+    private static double[] grow(double[] a, int n) {
+        return a == null ? new double[n] : Arrays.copyOf(a, n);
+    }
+}
@@ -0,0 +1,82 @@
+package Tools;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+/**
+ * EMPAQUETADOR DEL ATLAS DE SPRITES
+ * =================================
+ *
+ * Junta todos los PNG de un directorio en una sola imagen (atlas.png) y
+ * escribe su índice (atlas.properties: nombre=x,y,ancho,alto). El juego
+ * carga solo esos dos ficheros desde el classpath (View.Assets).
+ *
+ * EMPAQUETADO:
+ * - Estanterías de izquierda a derecha, ordenadas por alto y nombre
+ * - 1 px de separación para que el filtrado no mezcle sprites vecinos
+ *
+ * Uso: java -cp bin Tools.AtlasPacker [dirIconos=resources/icons] [anchoMax=256]
+ * Volver a ejecutarlo al añadir o cambiar un icono.
+ */
+public class AtlasPacker {
+    private static final int PADDING = 1;
+
+    public static void main(String[] args) throws IOException {
+        File dir = new File(args.length > 0 ? args[0] : "resources/icons");
+        int maxWidth = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".png") && !name.equals("atlas.png"));
+        if (files == null || files.length == 0) throw new IOException("No icons in " + dir);
+        String[] names = new String[files.length];
+        BufferedImage[] images = new BufferedImage[files.length];
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            names[i] = files[i].getName().substring(0, files[i].getName().length() - 4);
+            images[i] = ImageIO.read(files[i]);
+            if (images[i] == null) throw new IOException("Not an image: " + files[i]);
+            order[i] = i;
+        }
+        // Tallest first keeps the shelves tight; names break ties so output is stable
+        Arrays.sort(order, (a, b) -> images[a].getHeight() != images[b].getHeight()
+                ? images[b].getHeight() - images[a].getHeight()
+                : names[a].compareTo(names[b]));
+
+        int[] px = new int[files.length], py = new int[files.length];
+        int x = 0, y = 0, shelfHeight = 0, width = 0;
+        for (int i : order) {
+            int w = images[i].getWidth(), h = images[i].getHeight();
+            if (x > 0 && x + w > maxWidth) {
+                x = 0;
+                y += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            px[i] = x;
+            py[i] = y;
+            x += w + PADDING;
+            shelfHeight = Math.max(shelfHeight, h);
+            width = Math.max(width, px[i] + w);
+        }
+        int height = y + shelfHeight;
+
+        BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        for (int i : order) g.drawImage(images[i], px[i], py[i], null);
+        g.dispose();
+        ImageIO.write(atlas, "png", new File(dir, "atlas.png"));
+
+        try (Writer out = Files.newBufferedWriter(new File(dir, "atlas.properties").toPath())) {
+            out.write("# Generated by Tools.AtlasPacker: name=x,y,width,height\n");
+            for (int i : order) {
+                out.write(names[i] + "=" + px[i] + "," + py[i] + ","
+                        + images[i].getWidth() + "," + images[i].getHeight() + "\n");
+            }
+        }
+        System.out.printf("packed %d icons into %dx%d atlas%n", files.length, width, height);
+    }
+}
@@ -0,0 +1,46 @@
+package Tools;
+
+import Controller.BatchEnv;
+import Model.GameState;
+
+/**
+ * BENCHMARK DEL ENTORNO POR LOTES
+ * ===============================
+ *
+ * Mide pasos de entorno por segundo con acciones aleatorias.
+ *
+ * Uso: java -cp bin Tools.BatchEnvBench [entornos=4096] [pasos=2000] [k=4] [hilos=núcleos]
+ */
+public class BatchEnvBench {
+    public static void main(String[] args) {
+        int envs = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        try (BatchEnv env = new BatchEnv(envs, k, 1234, threads)) {
+            int[] actions = new int[envs];
+            java.util.Random random = new java.util.Random(42);
+            int allControls = GameState.Controls.LEFT | GameState.Controls.RIGHT | GameState.Controls.THRUST
+                    | GameState.Controls.DECELERATE | GameState.Controls.SHOOT;
+
+            // Warm-up
+            for (int s = 0; s < steps / 10; s++) env.step(actions);
+
+            long t0 = System.nanoTime();
+            double reward = 0;
+            int episodes = 0;
+            for (int s = 0; s < steps; s++) {
+                for (int i = 0; i < envs; i++) actions[i] = random.nextInt(allControls + 1);
+                env.step(actions);
+                for (int i = 0; i < envs; i++) {
+                    reward += env.rewards[i];
+                    if (env.dones[i] != 0f) episodes++;
+                }
+            }
+            double seconds = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("%d envs x %d steps on %d threads: %.2fs, %.2fM env-steps/s (obs=%d floats, reward=%.0f, episodes=%d)%n",
+                    envs, steps, threads, seconds, (double) envs * steps / seconds / 1e6, env.obsSize, reward, episodes);
+        }
+    }
+}
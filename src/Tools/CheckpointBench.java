@@ -0,0 +1,101 @@
+package Tools;
+
+import Controller.BotPolicy;
+import Model.Checkpoint;
+import Model.GameState;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * BENCHMARK DE CHECKPOINTS
+ * ========================
+ *
+ * Sin fichero: crea partidas de 1k, 10k y 100k entidades (asteroides y un
+ * 10% de balas), mide cuánto tarda Model.Checkpoint en guardarlas y en
+ * cargarlas (mediana de LOADS cargas en una partida headless) y comprueba
+ * que el estado cargado es idéntico al guardado (hash de GoldenRuns).
+ *
+ * Con fichero: carga ese checkpoint (por ejemplo el que el juego deja en
+ * resources/checkpoint.bin al salir) en una partida headless y la juega
+ * con un bot durante unos ticks, midiendo el tick: benchmarks sobre estados
+ * reales en vez de sintéticos.
+ *
+ * Uso: java -cp bin Tools.CheckpointBench [checkpoint [bot=aim-and-shoot] [ticks=3000]]
+ */
+public class CheckpointBench {
+    private static final int LOADS = 15;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0) {
+            BotPolicy bot = args.length > 1 ? BotPolicy.parse(args[1]) : BotPolicy.AIM_AND_SHOOT;
+            int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 3_000;
+            playFrom(Paths.get(args[0]), bot, ticks);
+            return;
+        }
+
+        Path file = Files.createTempFile("asteroids", ".ckpt");
+        try {
+            for (int n : new int[] {1_000, 10_000, 100_000}) {
+                GameState game = new GameState(n);
+                game.addAsteroids(n * 9 / 10 - game.asteroidCount());
+                for (int i = 0; i < n / 10; i++) {
+                    game.ship.angle = i * 0.01;
+                    game.shoot();
+                }
+                game.update();
+
+                long t0 = System.nanoTime();
+                long bytes = Checkpoint.save(game, file);
+                double saveMs = (System.nanoTime() - t0) / 1e6;
+
+                long[] loads = new long[LOADS];
+                GameState loaded = new GameState(0);
+                for (int i = 0; i < LOADS; i++) {
+                    loaded = new GameState(0);
+                    long t1 = System.nanoTime();
+                    Checkpoint.load(file, loaded);
+                    loads[i] = System.nanoTime() - t1;
+                }
+                Arrays.sort(loads);
+                boolean same = GoldenRuns.stateHash(game) == GoldenRuns.stateHash(loaded);
+                System.out.printf("%7d entities: %8.2f MB  save %7.2f ms  load p50 %6.2f ms (min %6.2f)  %s%n",
+                        game.world.count(), bytes / 1e6, saveMs, loads[LOADS / 2] / 1e6, loads[0] / 1e6,
+                        same ? "identical" : "MISMATCH");
+                if (!same) System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Load a saved game into a headless state and time a bot playing on from it
+    private static void playFrom(Path file, BotPolicy bot, int ticks) throws IOException {
+        GameState game = new GameState(0);
+        long t0 = System.nanoTime();
+        long tick = Checkpoint.load(file, game);
+        System.out.printf("Loaded %s: tick %d, %d asteroids, %d bullets, score %d, lives %d (%.2f ms)%n", file, tick,
+                game.asteroidCount(), game.bulletCount(), game.score, game.lives, (System.nanoTime() - t0) / 1e6);
+
+        long[] tickNanos = new long[ticks];
+        int played = 0;
+        for (int t = 0; t < ticks && !game.gameOver; t++) {
+            bot.act(game);
+            long t1 = System.nanoTime();
+            game.update();
+            tickNanos[played++] = System.nanoTime() - t1;
+        }
+        if (played == 0) {
+            System.out.println("The saved game is over; nothing to play");
+            return;
+        }
+        long total = 0;
+        for (int t = 0; t < played; t++) total += tickNanos[t];
+        Arrays.sort(tickNanos, 0, played);
+        System.out.printf("%s for %d ticks: mean %.2f us, p50 %.2f us, p99 %.2f us; now %d asteroids, score %d%n",
+                bot.name().toLowerCase().replace('_', '-'), played, total / 1e3 / played, tickNanos[played / 2] / 1e3,
+                tickNanos[(int) Math.ceil(played * 0.99) - 1] / 1e3, game.asteroidCount(), game.score);
+    }
+}
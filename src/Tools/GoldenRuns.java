@@ -0,0 +1,337 @@
+package Tools;
+
+import Controller.BotPolicy;
+import Model.GameState;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * PARTIDAS DORADAS (REGRESIÓN DE COMPORTAMIENTO Y RENDIMIENTO)
+ * ============================================================
+ *
+ * Juega sesiones headless con semilla fija y un bot con guion
+ * (Controller.BotPolicy) durante un número fijo de ticks y compara el
+ * resultado con el guardado en un fichero de referencia.
+ *
+ * COMPORTAMIENTO (exacto, sin umbral):
+ * - Hash FNV-1a de 64 bits de GameState.writeSimulation() al final: todas
+ *   las entidades (posición, velocidad, radio, flags), nave, reloj, estado
+ *   del generador aleatorio, vidas y puntuación
+ * - Además tick, puntuación, vidas, asteroides y balas por separado, para
+ *   que el fallo diga qué ha cambiado
+ * - Cada escenario se juega varias veces en el mismo proceso: primero
+ *   calienta el JIT (al menos WARMUP_RUNS pasadas y hasta que una pasada
+ *   no compile nada, como mucho MAX_WARMUP_RUNS; con un solo núcleo el
+ *   compilador puede ir con retraso y medir código interpretado, lento y
+ *   sin escape analysis) y luego MEASURED_RUNS pasadas medidas: si algún
+ *   hash no coincide, la simulación no es determinista y también falla
+ *
+ * RENDIMIENTO (lo mejor de las pasadas medidas, para no medir al JIT):
+ * - Tiempo por tick: mediana de bloques de BLOCK_TICKS ticks (un bloque
+ *   con una pausa de GC o del sistema no la mueve, y la granularidad del
+ *   reloj se promedia); también se informan la media y el p99
+ * - Bytes reservados por tick en el hilo de la simulación (ThreadMXBean)
+ * - Cada uno es el mínimo de las pasadas; la referencia de tiempo guarda
+ *   la mediana (una pasada típica). Falla si supera la referencia en más
+ *   del umbral relativo (--threshold, por defecto DEFAULT_THRESHOLD); los
+ *   bytes tienen además ALLOC_SLACK_BYTES de margen. Un escenario fuera de
+ *   presupuesto se vuelve a medir RETRY_RUNS veces antes de fallar: el
+ *   ruido (o un JIT que esta vez no eliminó una reserva) no se repite, una
+ *   regresión sí
+ * - Los tiempos dependen de los flags: con y sin --add-modules
+ *   jdk.incubator.vector el Narrowphase es otro, así que se compara con los
+ *   mismos flags con los que se generó la referencia
+ *
+ * ESCENARIOS: cubren spawn (IDLE con el spawner), colisiones y división
+ * (SPIN_AND_SPRAY, BULLET_SPAM), movimiento y partículas (THRUST_PATTERN)
+ * y el índice espacial (AIM_AND_SHOOT). Todos reponen vidas, como
+ * Tools.LoadGenerator, así que juegan todos sus ticks; los que tienen
+ * población la reponen antes de cada tick, para que el tick cueste
+ * microsegundos y su tiempo signifique algo. spawn-idle (el spawner nunca
+ * pasa de 5 asteroides, ticks de décimas de microsegundo) solo comprueba
+ * comportamiento y bytes: su tiempo es ruido del reloj y no tiene
+ * presupuesto.
+ *
+ * Las claves llevan ".circle" con -Dasteroids.asteroidShape=circle: cada
+ * modo de colisión tiene sus propios valores.
+ *
+ * --update-golden reescribe la referencia; hacerlo solo cuando el cambio
+ * de comportamiento es intencionado (y en la máquina de referencia, por los
+ * tiempos).
+ *
+ * Uso: java -cp bin Tools.GoldenRuns [--golden fichero] [--threshold 0.3]
+ *      [--update-golden] [escenario...]
+ */
+public class GoldenRuns {
+    public static final String DEFAULT_GOLDEN = "bench/golden-runs.properties";
+    public static final double DEFAULT_THRESHOLD = 0.30;
+    static final long ALLOC_SLACK_BYTES = 64;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MAX_WARMUP_RUNS = 20;
+    private static final int BLOCK_TICKS = 100;
+    private static final int MEASURED_RUNS = 5;
+    private static final int RETRY_RUNS = 5;
+
+    // One seeded, scripted session
+    private static final class Scenario {
+        final String name;
+        final long seed;
+        final BotPolicy bot;
+        final int asteroids;     // population topped up before every tick (0 = the game's own spawner)
+        final int ticks;
+        final boolean timed;     // has a time budget
+
+        Scenario(String name, long seed, BotPolicy bot, int asteroids, int ticks, boolean timed) {
+            this.name = name;
+            this.seed = seed;
+            this.bot = bot;
+            this.asteroids = asteroids;
+            this.ticks = ticks;
+            this.timed = timed;
+        }
+    }
+
+    private static final Scenario[] SCENARIOS = {
+        new Scenario("spawn-idle", 1, BotPolicy.IDLE, 0, 6_000, false),
+        new Scenario("spin-and-spray-300", 2, BotPolicy.SPIN_AND_SPRAY, 300, 6_000, true),
+        new Scenario("thrust-pattern-300", 3, BotPolicy.THRUST_PATTERN, 300, 6_000, true),
+        new Scenario("bullet-spam-500", 4, BotPolicy.BULLET_SPAM, 500, 3_000, true),
+        new Scenario("aim-and-shoot-2000", 5, BotPolicy.AIM_AND_SHOOT, 2_000, 3_000, true),
+    };
+
+    private static final class Result {
+        long hash, tick;
+        int score, lives, asteroids, bullets;
+        double meanMicros, blockMicros, p99Micros;
+        long bytesPerTick;
+        double[] runBlockMicros = new double[0];   // blockMicros of every measured run
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path goldenFile = Paths.get(DEFAULT_GOLDEN);
+        double threshold = DEFAULT_THRESHOLD;
+        boolean update = false;
+        List<String> only = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--golden") && i + 1 < args.length) {
+                goldenFile = Paths.get(args[++i]);
+            } else if (args[i].equals("--threshold") && i + 1 < args.length) {
+                threshold = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--update-golden")) {
+                update = true;
+            } else {
+                only.add(args[i]);
+            }
+        }
+
+        Properties golden = new Properties();
+        if (Files.exists(goldenFile)) {
+            try (Reader in = Files.newBufferedReader(goldenFile)) {
+                golden.load(in);
+            }
+        } else if (!update) {
+            System.out.println("No golden file at " + goldenFile + "; run with --update-golden to create it");
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String suffix = GameState.POLYGON_ASTEROIDS ? "" : ".circle";
+        List<String> failures = new ArrayList<>();
+        System.out.printf("%-26s %7s %7s %5s %9s %7s %20s %8s %8s %8s %10s%n", "scenario", "ticks", "score", "lives",
+                "asteroids", "bullets", "hash", "mean us", "block us", "p99 us", "bytes/tick");
+        for (Scenario s : SCENARIOS) {
+            if (!only.isEmpty() && !only.contains(s.name)) continue;
+            String key = s.name + suffix;
+            Result r = play(s, threads);
+            r.blockMicros = -1;   // warm-up timings do not count
+            warmUp(s, threads);
+            measure(s, threads, MEASURED_RUNS, r, key, failures);
+            if (!update && overBudget(golden, key, r, threshold)) measure(s, threads, RETRY_RUNS, r, key, failures);
+            System.out.printf("%-26s %7d %7d %5d %9d %7d %20s %8.2f %8.2f %8.2f %10d%n", key, r.tick, r.score, r.lives,
+                    r.asteroids, r.bullets, Long.toHexString(r.hash), r.meanMicros, r.blockMicros, r.p99Micros,
+                    r.bytesPerTick);
+            if (update) {
+                golden.setProperty(key + ".hash", Long.toHexString(r.hash));
+                golden.setProperty(key + ".tick", Long.toString(r.tick));
+                golden.setProperty(key + ".score", Integer.toString(r.score));
+                golden.setProperty(key + ".lives", Integer.toString(r.lives));
+                golden.setProperty(key + ".asteroids", Integer.toString(r.asteroids));
+                golden.setProperty(key + ".bullets", Integer.toString(r.bullets));
+                // The reference is a typical run (median), a check keeps its best run: a lucky fast
+                // run while updating would otherwise leave a budget that normal runs miss
+                double[] runs = r.runBlockMicros.clone();
+                Arrays.sort(runs);
+                if (s.timed) golden.setProperty(key + ".tick_block_us", String.format("%.3f", runs[runs.length / 2]));
+                else golden.remove(key + ".tick_block_us");
+                golden.setProperty(key + ".alloc_bytes_per_tick", Long.toString(r.bytesPerTick));
+            } else if (golden.getProperty(key + ".hash") != null) {
+                check(failures, golden, key, r, threshold);
+            } else {
+                System.out.println("  (no golden values for " + key + ")");
+            }
+        }
+
+        if (update) {
+            if (goldenFile.getParent() != null) Files.createDirectories(goldenFile.getParent());
+            try (Writer out = Files.newBufferedWriter(goldenFile)) {
+                golden.store(out, "Tools.GoldenRuns golden values (" + System.getProperty("os.name") + ", "
+                        + Runtime.getRuntime().availableProcessors() + " cores, Java "
+                        + System.getProperty("java.version") + ")");
+            }
+            System.out.println("Golden values written to " + goldenFile);
+        }
+        if (!failures.isEmpty()) {
+            System.out.printf("FAILED (time/alloc threshold %.0f%%):%n", threshold * 100);
+            for (String f : failures) System.out.println("  " + f);
+            System.exit(1);
+        }
+        if (!update) System.out.println("OK: all golden runs match");
+    }
+
+    // Play s until the JIT has nothing left to compile for it (or MAX_WARMUP_RUNS)
+    private static void warmUp(Scenario s, com.sun.management.ThreadMXBean threads) {
+        java.lang.management.CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean timed = jit != null && jit.isCompilationTimeMonitoringSupported();
+        for (int run = 1; run < MAX_WARMUP_RUNS; run++) {
+            long compiled = timed ? jit.getTotalCompilationTime() : 0;
+            play(s, threads);
+            if (run >= WARMUP_RUNS - 1 && (!timed || jit.getTotalCompilationTime() == compiled)) return;
+        }
+    }
+
+    // Play s runs more times into best (the warm-up result): same hash every time, best time and bytes kept
+    private static void measure(Scenario s, com.sun.management.ThreadMXBean threads, int runs, Result best,
+                                String key, List<String> failures) {
+        for (int run = 0; run < runs; run++) {
+            Result next = play(s, threads);
+            best.runBlockMicros = Arrays.copyOf(best.runBlockMicros, best.runBlockMicros.length + 1);
+            best.runBlockMicros[best.runBlockMicros.length - 1] = next.blockMicros;
+            if (next.hash != best.hash) {
+                failures.add(String.format("%s: two runs in one process differ (%x vs %x): not deterministic",
+                        key, best.hash, next.hash));
+            }
+            boolean first = best.blockMicros < 0;
+            if (first || next.blockMicros < best.blockMicros) {
+                best.meanMicros = next.meanMicros;
+                best.blockMicros = next.blockMicros;
+                best.p99Micros = next.p99Micros;
+            }
+            best.bytesPerTick = first ? next.bytesPerTick : Math.min(best.bytesPerTick, next.bytesPerTick);
+        }
+    }
+
+    // Time or allocation over the golden budget (worth measuring again before failing)
+    private static boolean overBudget(Properties golden, String key, Result r, double threshold) {
+        String block = golden.getProperty(key + ".tick_block_us");
+        String bytes = golden.getProperty(key + ".alloc_bytes_per_tick");
+        return (block != null && r.blockMicros > Double.parseDouble(block) * (1 + threshold))
+                || (bytes != null && r.bytesPerTick > (long) (Long.parseLong(bytes) * (1 + threshold)) + ALLOC_SLACK_BYTES);
+    }
+
+    // Behaviour must match exactly; time and allocation within the threshold
+    private static void check(List<String> failures, Properties golden, String key, Result r, double threshold) {
+        long hash = Long.parseUnsignedLong(golden.getProperty(key + ".hash"), 16);
+        if (hash != r.hash) {
+            StringBuilder diff = new StringBuilder();
+            compare(diff, golden, key, "tick", r.tick);
+            compare(diff, golden, key, "score", r.score);
+            compare(diff, golden, key, "lives", r.lives);
+            compare(diff, golden, key, "asteroids", r.asteroids);
+            compare(diff, golden, key, "bullets", r.bullets);
+            failures.add(String.format("%s: final state hash %x, golden %x%s", key, r.hash, hash,
+                    diff.length() == 0 ? " (same counts: positions or random state changed)" : diff));
+        }
+        String block = golden.getProperty(key + ".tick_block_us");
+        if (block != null) {
+            double budget = Double.parseDouble(block) * (1 + threshold);
+            if (r.blockMicros > budget) {
+                failures.add(String.format("%s: %.2f us/tick (median block), budget %.2f us (golden %s us)",
+                        key, r.blockMicros, budget, block));
+            }
+        }
+        String bytes = golden.getProperty(key + ".alloc_bytes_per_tick");
+        if (bytes != null) {
+            long budget = (long) (Long.parseLong(bytes) * (1 + threshold)) + ALLOC_SLACK_BYTES;
+            if (r.bytesPerTick > budget) {
+                failures.add(String.format("%s: %d bytes/tick allocated, budget %d (golden %s)",
+                        key, r.bytesPerTick, budget, bytes));
+            }
+        }
+    }
+
+    private static void compare(StringBuilder diff, Properties golden, String key, String field, long value) {
+        String expected = golden.getProperty(key + "." + field);
+        if (expected != null && Long.parseLong(expected) != value) {
+            diff.append("; ").append(field).append(' ').append(value).append(" (golden ").append(expected).append(')');
+        }
+    }
+
+    // Play one scenario from scratch, timing every tick
+    private static Result play(Scenario s, com.sun.management.ThreadMXBean threads) {
+        GameState state = new GameState(s.seed);
+        if (s.asteroids == 0) state.startAsteroidSpawner();
+        long[] tickNanos = new long[s.ticks];
+        int played = 0;
+        long alloc0 = threads.getCurrentThreadAllocatedBytes();
+        for (int t = 0; t < s.ticks && !state.gameOver; t++) {
+            if (s.asteroids > 0) {
+                int missing = s.asteroids - state.asteroidCount();
+                if (missing > 0) state.addAsteroids(missing);
+            }
+            // Every scenario plays all its ticks, so each mean covers the same amount of work
+            state.lives = GameState.Config.INITIAL_LIVES;
+            s.bot.act(state);
+            long t0 = System.nanoTime();
+            state.update();
+            tickNanos[played++] = System.nanoTime() - t0;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - alloc0;
+
+        Result r = new Result();
+        r.hash = stateHash(state);
+        r.tick = state.clock.getTick();
+        r.score = state.score;
+        r.lives = state.lives;
+        r.asteroids = state.asteroidCount();
+        r.bullets = state.bulletCount();
+        r.bytesPerTick = allocated / Math.max(1, played);
+        long total = 0;
+        for (int t = 0; t < played; t++) total += tickNanos[t];
+        r.meanMicros = total / 1e3 / Math.max(1, played);
+        // Median over blocks of BLOCK_TICKS ticks: averages out timer granularity on tiny ticks,
+        // and a preempted or GC-hit block does not move it the way it moves the mean
+        int blocks = played / BLOCK_TICKS;
+        long[] blockNanos = new long[Math.max(1, blocks)];
+        for (int b = 0; b < blocks; b++) {
+            for (int t = b * BLOCK_TICKS; t < (b + 1) * BLOCK_TICKS; t++) blockNanos[b] += tickNanos[t];
+        }
+        Arrays.sort(blockNanos, 0, blocks);
+        r.blockMicros = blocks == 0 ? r.meanMicros : blockNanos[blocks / 2] / 1e3 / BLOCK_TICKS;
+        Arrays.sort(tickNanos, 0, played);
+        r.p99Micros = played == 0 ? 0 : tickNanos[(int) Math.ceil(played * 0.99) - 1] / 1e3;
+        return r;
+    }
+
+    // FNV-1a over the serialized simulation (fixed byte order, so the hash is portable)
+    static long stateHash(GameState state) {
+        ByteBuffer b = ByteBuffer.allocate(state.simulationSizeBound()).order(ByteOrder.LITTLE_ENDIAN);
+        state.writeSimulation(b);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = b.position(); i < n; i++) {
+            h ^= b.get(i) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,91 @@
+package Tools;
+
+import Controller.GameController;
+import Controller.InputLatencyProbe;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+
+/**
+ * MEDICIÓN DE LATENCIA ENTRADA -> PANTALLA CON java.awt.Robot
+ * ===========================================================
+ *
+ * Abre el juego real, pulsa START con el ratón y después inyecta pulsaciones
+ * de teclado sintéticas con Robot. Para cada configuración de bucle y
+ * renderizado imprime los histogramas de InputLatencyProbe.
+ *
+ * Necesita pantalla (no funciona con java.awt.headless=true) y que la
+ * ventana del juego mantenga el foco durante la prueba.
+ *
+ * Uso: java -cp bin Tools.LatencyHarness [pulsaciones por configuración=200]
+ */
+public class LatencyHarness {
+
+    // One loop/rendering combination to measure
+    private static class LoopConfig {
+        final String name;
+        final int timerDelayMs;
+        final boolean doubleBuffered, syncAfterPaint;
+        LoopConfig(String name, int timerDelayMs, boolean doubleBuffered, boolean syncAfterPaint) {
+            this.name = name; this.timerDelayMs = timerDelayMs;
+            this.doubleBuffered = doubleBuffered; this.syncAfterPaint = syncAfterPaint;
+        }
+    }
+
+    private static final LoopConfig[] CONFIGS = {
+        new LoopConfig("timer 16ms, double buffered", 16, true, false),
+        new LoopConfig("timer 16ms, double buffered + sync", 16, true, true),
+        new LoopConfig("timer 16ms, single buffered", 16, false, false),
+        new LoopConfig("timer 8ms, double buffered", 8, true, false),
+        new LoopConfig("timer 4ms, double buffered + sync", 4, true, true),
+    };
+
+    public static void main(String[] args) throws Exception {
+        int presses = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        System.setProperty("asteroids.latency", "true");
+
+        GameController[] holder = new GameController[1];
+        SwingUtilities.invokeAndWait(() -> holder[0] = new GameController());
+        GameController controller = holder[0];
+        InputLatencyProbe probe = controller.getLatencyProbe();
+
+        Robot robot = new Robot();
+        robot.setAutoWaitForIdle(false);
+        robot.delay(1000);
+
+        // Click the START button (centre of the panel, 30px above the button baseline)
+        Point origin = controller.getPanel().getLocationOnScreen();
+        Dimension size = controller.getPanel().getSize();
+        robot.mouseMove(origin.x + size.width / 2, origin.y + size.height / 2 + 30);
+        robot.mousePress(InputEvent.BUTTON1_DOWN_MASK);
+        robot.mouseRelease(InputEvent.BUTTON1_DOWN_MASK);
+        robot.delay(500);
+
+        java.util.Random random = new java.util.Random(7);
+        for (LoopConfig config : CONFIGS) {
+            SwingUtilities.invokeAndWait(() ->
+                    controller.configureLoop(config.timerDelayMs, config.doubleBuffered, config.syncAfterPaint));
+            robot.delay(300);
+            probe.reset();
+
+            for (int i = 0; i < presses; i++) {
+                if (controller.isGameOver()) SwingUtilities.invokeAndWait(controller::onRestart);
+                // Alternate turning directions so the ship stays roughly in place
+                int key = (i % 2 == 0) ? KeyEvent.VK_A : KeyEvent.VK_D;
+                probe.markStimulus(System.nanoTime());
+                robot.keyPress(key);
+                robot.delay(20 + random.nextInt(20));
+                robot.keyRelease(key);
+                robot.delay(40 + random.nextInt(40));
+            }
+
+            System.out.println("== " + config.name);
+            System.out.println(probe.report());
+        }
+
+        controller.cleanupOnExit();
+        System.exit(0);
+    }
+}
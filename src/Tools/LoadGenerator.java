@@ -0,0 +1,212 @@
+package Tools;
+
+import Controller.BotPolicy;
+import Controller.LatencyHistogram;
+import Model.GameState;
+import Model.ParticleSystem;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * GENERADOR DE CARGA
+ * ==================
+ *
+ * Pone una o varias partidas headless bajo carga repetible: un bot con guion
+ * (Controller.BotPolicy) las controla mientras la población de asteroides
+ * sube por pasos (5, 10, 20, 50, 100, ... hasta el máximo).
+ *
+ * EN CADA PASO:
+ * - Antes de cada tick se repone la población objetivo (las balas la bajan)
+ *   y las vidas, para que la partida no termine
+ * - Se descartan los primeros ticks (calentamiento) y se miden el resto;
+ *   antes del primer paso se calienta el JIT con WARMUP_FRAMES frames
+ * - Frame = un tick de todas las partidas; se mide su tiempo (media, p50,
+ *   p99, máximo), el tiempo de cada sistema (GameState.setSystemProfile), los
+ *   bytes reservados por frame y las pausas de GC (notificaciones JMX)
+ *
+ * SALIDA:
+ * - Una fila CSV por paso (curvas de escalado)
+ * - Al final, la población en la que el frame (p99) y cada sistema (media)
+ *   superan el presupuesto de 16 ms
+ * - Si la media del frame pasa de 4x el presupuesto se para ahí
+ *
+ * Uso: java -cp bin Tools.LoadGenerator [bot=spin-and-spray] [partidas=1]
+ *      [maxAsteroides=20000] [ticksPorPaso=600] [salida=load.csv]
+ * Bots: idle, spin-and-spray, thrust-pattern, bullet-spam, aim-and-shoot
+ */
+public class LoadGenerator {
+    private static final long BUDGET_NANOS = 16_666_667;
+    private static final int WARMUP_FRAMES = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        BotPolicy bot = args.length > 0 ? BotPolicy.parse(args[0]) : BotPolicy.SPIN_AND_SPRAY;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int maxAsteroids = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+        int ticksPerStep = args.length > 3 ? Integer.parseInt(args[3]) : 600;
+        Path out = Paths.get(args.length > 4 ? args[4] : "load.csv");
+
+        GameState[] states = new GameState[games];
+        long[][] profiles = new long[games][];
+        for (int g = 0; g < games; g++) {
+            states[g] = new GameState(g + 1, ParticleSystem.configuredCapacity());
+            profiles[g] = new long[states[g].systemNames().length];
+            states[g].setSystemProfile(profiles[g]);
+        }
+        String[] systems = states[0].systemNames();
+        int[] crossed = new int[systems.length + 1];   // first target over budget, per system + frame
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        GcWatcher gc = new GcWatcher();
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out))) {
+            StringBuilder header = new StringBuilder("bot,games,asteroids_target,asteroids,bullets,particles,frames,"
+                    + "frame_mean_ms,frame_p50_ms,frame_p99_ms,frame_max_ms");
+            for (String name : systems) header.append(',').append(name).append("_ms");
+            header.append(",alloc_bytes_per_frame,gc_count,gc_pause_total_ms,gc_pause_max_ms,over_budget");
+            csv.println(header);
+
+            // JIT warm-up at the first population, so early rows are not interpreter numbers
+            List<Integer> steps = ramp(maxAsteroids);
+            for (int t = 0; t < WARMUP_FRAMES; t++) frame(states, bot, steps.get(0));
+
+            LatencyHistogram frames = new LatencyHistogram();
+            for (int target : steps) {
+                // Warm-up at the new population, unmeasured
+                for (int t = 0; t < ticksPerStep / 5; t++) frame(states, bot, target);
+
+                frames.reset();
+                for (long[] p : profiles) java.util.Arrays.fill(p, 0);
+                gc.reset();
+                long population = 0, bullets = 0, particles = 0;
+                long alloc0 = threads.getCurrentThreadAllocatedBytes();
+                for (int t = 0; t < ticksPerStep; t++) {
+                    frames.record(frame(states, bot, target));
+                    for (GameState s : states) {
+                        population += s.asteroidCount();
+                        bullets += s.bulletCount();
+                        particles += s.particles.count();
+                    }
+                }
+                long allocated = threads.getCurrentThreadAllocatedBytes() - alloc0;
+
+                double[] systemMs = new double[systems.length];
+                for (long[] p : profiles) {
+                    for (int i = 0; i < systems.length; i++) systemMs[i] += p[i] / 1e6 / ticksPerStep;
+                }
+                boolean over = frames.percentile(99) > BUDGET_NANOS;
+                if (over && crossed[systems.length] == 0) crossed[systems.length] = target;
+                for (int i = 0; i < systems.length; i++) {
+                    if (systemMs[i] * 1e6 > BUDGET_NANOS && crossed[i] == 0) crossed[i] = target;
+                }
+
+                StringBuilder row = new StringBuilder();
+                row.append(bot.name().toLowerCase()).append(',').append(games).append(',').append(target)
+                   .append(',').append(population / ticksPerStep)
+                   .append(',').append(bullets / ticksPerStep)
+                   .append(',').append(particles / ticksPerStep)
+                   .append(',').append(frames.count())
+                   .append(',').append(ms(frames.mean()))
+                   .append(',').append(ms(frames.percentile(50)))
+                   .append(',').append(ms(frames.percentile(99)))
+                   .append(',').append(ms(frames.max()));
+                for (double v : systemMs) row.append(',').append(String.format("%.4f", v));
+                row.append(',').append(allocated / ticksPerStep)
+                   .append(',').append(gc.count.get())
+                   .append(',').append(gc.totalMillis.get())
+                   .append(',').append(gc.maxMillis.get())
+                   .append(',').append(over ? 1 : 0);
+                csv.println(row);
+                csv.flush();
+                System.out.printf("asteroids=%-6d bullets=%-6d particles=%-7d frame %s  alloc=%dB/frame gc=%d (%dms)%n",
+                        target, bullets / ticksPerStep, particles / ticksPerStep, frames.summary(),
+                        allocated / ticksPerStep, gc.count.get(), gc.totalMillis.get());
+
+                if (frames.mean() > 4 * BUDGET_NANOS) {
+                    System.out.println("frame mean above 4x budget, stopping the ramp");
+                    break;
+                }
+            }
+        }
+
+        System.out.println("16 ms budget exceeded at (asteroids per game):");
+        System.out.printf("  %-16s %s%n", "frame p99", crossed[systems.length] == 0 ? "never" : crossed[systems.length]);
+        for (int i = 0; i < systems.length; i++) {
+            System.out.printf("  %-16s %s%n", systems[i], crossed[i] == 0 ? "never" : crossed[i]);
+        }
+        System.out.println("CSV written to " + out);
+    }
+
+    // One tick of every game; returns the time spent inside update()
+    private static long frame(GameState[] states, BotPolicy bot, int target) {
+        long nanos = 0;
+        for (GameState s : states) {
+            int missing = target - s.asteroidCount();
+            if (missing > 0) s.addAsteroids(missing);
+            s.lives = GameState.Config.INITIAL_LIVES;
+            bot.act(s);
+            long t0 = System.nanoTime();
+            s.markTickStart(t0);
+            s.update();
+            nanos += System.nanoTime() - t0;
+        }
+        return nanos;
+    }
+
+    // 5, 10, 20, 50, 100, 200, 500, ... up to max (max always included)
+    private static List<Integer> ramp(int max) {
+        List<Integer> steps = new ArrayList<>();
+        for (int scale = 1; scale <= max; scale *= 10) {
+            for (int m : new int[] {5, 10, 20}) {
+                if (m * scale <= max && (steps.isEmpty() || steps.get(steps.size() - 1) < m * scale)) steps.add(m * scale);
+            }
+        }
+        if (steps.isEmpty() || steps.get(steps.size() - 1) != max) steps.add(max);
+        return steps;
+    }
+
+    private static String ms(double nanos) {
+        return String.format("%.4f", nanos / 1e6);
+    }
+
+    /**
+     * Stop-the-world collections seen through the GC beans' notifications
+     * (concurrent cycles are not pauses and are skipped).
+     */
+    private static final class GcWatcher {
+        final AtomicLong count = new AtomicLong(), totalMillis = new AtomicLong(), maxMillis = new AtomicLong();
+
+        GcWatcher() {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (!(bean instanceof NotificationEmitter)) continue;
+                ((NotificationEmitter) bean).addNotificationListener((notification, handback) -> {
+                    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    if (info.getGcAction().contains("concurrent")) return;
+                    long ms = info.getGcInfo().getDuration();
+                    count.incrementAndGet();
+                    totalMillis.addAndGet(ms);
+                    maxMillis.accumulateAndGet(ms, Math::max);
+                }, null, null);
+            }
+        }
+
+        void reset() {
+            count.set(0);
+            totalMillis.set(0);
+            maxMillis.set(0);
+        }
+    }
+}
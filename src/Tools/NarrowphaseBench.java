@@ -0,0 +1,82 @@
+package Tools;
+
+import Model.Narrowphase;
+import java.util.Random;
+
+/**
+ * BENCHMARK DEL NARROWPHASE
+ * =========================
+ *
+ * Mide el tiempo por consulta (un círculo contra un lote de N colliders) de la
+ * implementación escalar y de la que elige Narrowphase.create(). Las consultas
+ * caen sobre todo fuera de los colliders, el caso que recorre el lote entero.
+ *
+ * Uso: java --add-modules jdk.incubator.vector -cp bin Tools.NarrowphaseBench [N...]
+ * (sin --add-modules ambas columnas son la versión escalar)
+ */
+public class NarrowphaseBench {
+    private static final int QUERIES = 1024;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {8, 32, 128, 512, 2048};
+        Narrowphase scalar = new Narrowphase.Scalar();
+        Narrowphase best = Narrowphase.create();
+        System.out.printf("%6s %14s %14s %8s   (%s)%n", "N", "scalar ns/q", best.name() + " ns/q", "speedup", best.name());
+
+        for (int n : sizes) {
+            Random random = new Random(n);
+            double[] xs = new double[n], ys = new double[n], rs = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = random.nextDouble() * 800;
+                ys[i] = random.nextDouble() * 600;
+                rs[i] = 1 + random.nextDouble() * 4;
+            }
+            double[] qx = new double[QUERIES], qy = new double[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                qx[i] = random.nextDouble() * 800;
+                qy[i] = random.nextDouble() * 600;
+            }
+
+            // Same answers from both paths, or the comparison is meaningless
+            for (int i = 0; i < QUERIES; i++) {
+                if (scalar.firstHit(qx[i], qy[i], 0, xs, ys, rs, 0, n)
+                        != best.firstHit(qx[i], qy[i], 0, xs, ys, rs, 0, n)) {
+                    throw new IllegalStateException("implementations disagree at N=" + n);
+                }
+            }
+
+            double s = measure(scalar, qx, qy, xs, ys, rs, n);
+            double v = measure(best, qx, qy, xs, ys, rs, n);
+            System.out.printf("%6d %14.1f %14.1f %7.2fx%n", n, s, v, s / v);
+        }
+    }
+
+    // Best of ROUNDS, after a warm-up long enough for C2 to compile the loop
+    private static double measure(Narrowphase np, double[] qx, double[] qy,
+                                  double[] xs, double[] ys, double[] rs, int n) {
+        long sink = 0;
+        // Roughly 20M pair tests per round
+        int reps = Math.max(4, 20_000_000 / (n * QUERIES));
+        for (int w = 0; w < 3; w++) sink += run(np, qx, qy, xs, ys, rs, n, reps);
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            sink += run(np, qx, qy, xs, ys, rs, n, reps);
+            best = Math.min(best, (System.nanoTime() - t0) / (double) (reps * (long) QUERIES));
+        }
+        if (sink == 42) System.out.print("");
+        return best;
+    }
+
+    private static long run(Narrowphase np, double[] qx, double[] qy,
+                            double[] xs, double[] ys, double[] rs, int n, int reps) {
+        long sum = 0;
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < QUERIES; i++) sum += np.firstHit(qx[i], qy[i], 0, xs, ys, rs, 0, n);
+        }
+        return sum;
+    }
+}
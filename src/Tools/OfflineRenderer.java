@@ -0,0 +1,319 @@
+package Tools;
+
+import Model.AsteroidShapes;
+import Model.GameState;
+import Model.ParticleSystem;
+import Model.Replay;
+import Model.World;
+import View.Assets;
+import View.GamePanel;
+import View.QualityGovernor;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.imageio.ImageIO;
+
+/**
+ * RENDER OFFLINE DE REPETICIONES
+ * ==============================
+ *
+ * Convierte una repetición (-Dasteroids.replay, Model.Replay) en una
+ * secuencia de PNG (frame_000000.png, ...) para hacer vídeos o revisar una
+ * partida frame a frame, más rápido que en tiempo real.
+ *
+ * TUBERÍA:
+ * - Simulación (hilo principal): vuelve a jugar la repetición en una partida
+ *   headless con partículas; es secuencial (cada tick depende del anterior)
+ *   pero cuesta microsegundos por tick
+ * - Por cada frame pedido copia la partida (forkInto + partículas) en un
+ *   hueco libre de un pool fijo y lo encola
+ * - Workers: cada uno con su GamePanel (nivel de calidad FULL fijo, sin
+ *   pantalla de inicio) dibuja el hueco en su BufferedImage y lo codifica a
+ *   PNG en memoria; dibujar y codificar es lo caro y se reparte entre hilos
+ * - Escritor: guarda los PNG estrictamente en orden (los que llegan antes de
+ *   tiempo esperan) y devuelve los huecos al pool
+ *
+ * MEMORIA: el pool (2 huecos por worker + 2) limita los frames en vuelo; si
+ * el disco o los workers van lentos, la simulación espera.
+ *
+ * ERRORES: si un frame no se puede dibujar o escribir, la simulación para en
+ * cuanto el escritor lo detecta y render() lanza la IOException con la causa.
+ *
+ * Los paneles nunca se muestran: cada worker pinta el suyo fuera del EDT.
+ * Las partículas arrancan vacías en el tick inicial (no son parte de la
+ * repetición). Los frames siguen la partida tal como se jugó: si se rebobinó
+ * dentro del rango, esos ticks se dibujan otra vez desde el punto restaurado.
+ *
+ * Uso: java -cp bin Tools.OfflineRenderer <repetición> <dirSalida>
+ *      [hilos=núcleos] [desdeTick=inicio] [hastaTick=fin] [cadaNTicks=1]
+ */
+public class OfflineRenderer {
+    static final int OFFLINE_PARTICLES = 20_000;
+
+    // A copy of the game at one frame, on its way from the simulation to disk
+    static final class Frame {
+        final GameState state = new GameState(0, OFFLINE_PARTICLES);
+        int index;
+        byte[] png;
+        Exception error;   // why png is null
+    }
+
+    private static final Frame END = new Frame();
+    private static final GamePanel.ShapeData ASTEROID_SHAPES = GameState.POLYGON_ASTEROIDS
+            ? new GamePanel.ShapeData(AsteroidShapes.VERTEX_X, AsteroidShapes.VERTEX_Y, AsteroidShapes.VERTICES)
+            : null;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: OfflineRenderer <replay> <out dir> [threads] [from tick] [to tick] [every n ticks]");
+            System.exit(2);
+        }
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        Replay.Reader replay = new Replay.Reader(Paths.get(args[0]));
+        Path out = Paths.get(args[1]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long from = args.length > 3 ? Long.parseLong(args[3]) : replay.firstTick();
+        long to = args.length > 4 ? Long.parseLong(args[4]) : replay.lastTick();
+        int every = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        Files.createDirectories(out);
+
+        int frames = render(replay, out, threads, from, to, every);
+        System.out.println();
+        System.out.println("Frames written to " + out + ": " + frames);
+    }
+
+    /**
+     * Render every n-th tick of [from, to] to out with the given number of
+     * worker threads. Returns the number of frames written.
+     */
+    public static int render(Replay.Reader replay, Path out, int threads, long from, long to, int every)
+            throws IOException, InterruptedException {
+        threads = Math.max(1, threads);
+        every = Math.max(1, every);
+        int poolSize = threads * 2 + 2;
+        BlockingQueue<Frame> free = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) free.add(new Frame());
+        BlockingQueue<Frame> todo = new ArrayBlockingQueue<>(poolSize + threads);
+        BlockingQueue<Frame> done = new LinkedBlockingQueue<>();
+        Assets.await();
+
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(new Painter(todo, done), "offline-render-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        Writer writer = new Writer(done, free, out, threads);
+        Thread writerThread = new Thread(writer, "offline-render-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        long start = System.nanoTime();
+        GameState sim = new GameState(0, OFFLINE_PARTICLES);
+        Replay.Reader.Playback playback = replay.seek(sim, from);
+        int index = 0;
+        long first = sim.clock.getTick();
+        do {
+            // After a failure nothing more will be written: stop replaying
+            if (writer.failure != null) break;
+            long tick = sim.clock.getTick();
+            // Past the range only a rewind later in the replay brings it back
+            if (tick > to) {
+                if (!playback.returnsTo(to)) break;
+                continue;
+            }
+            if (tick >= from && (tick - first) % every == 0) {
+                Frame frame = free.take();
+                sim.forkInto(frame.state);
+                frame.state.particles.copyFrom(sim.particles);
+                frame.index = index++;
+                todo.put(frame);
+            }
+        } while (playback.step(sim));
+        for (int i = 0; i < threads; i++) todo.put(END);
+        writerThread.join();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double gameSeconds = (double) index * every / Model.SimClock.TICKS_PER_SECOND;
+        System.out.printf("%d frames in %.2f s with %d threads: %.1f frames/s, %.1fx real time%n",
+                index, seconds, threads, index / seconds, gameSeconds / seconds);
+        if (writer.failure != null) throw new IOException("Rendering failed", writer.failure);
+        return index;
+    }
+
+    // Worker: draws frames with its own panel and encodes them
+    private static final class Painter implements Runnable, GamePanel.GameDataProvider {
+        private final BlockingQueue<Frame> todo, done;
+        private final GamePanel panel = new GamePanel();
+        private final int width = GameState.Config.WINDOW_WIDTH, height = GameState.Config.WINDOW_HEIGHT;
+        private final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        private final ByteArrayOutputStream png = new ByteArrayOutputStream(256 * 1024);
+        private GameState state;
+
+        Painter(BlockingQueue<Frame> todo, BlockingQueue<Frame> done) {
+            this.todo = todo;
+            this.done = done;
+            panel.setGameDataProvider(this);
+            panel.setStartOverlay(false);
+            panel.setQualityGovernor(new QualityGovernor(QualityGovernor.DEFAULT_BUDGET_NANOS, QualityGovernor.Tier.FULL));
+            panel.initialize(width, height);
+            panel.setSize(width, height);
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Frame frame = todo.take(); frame != END; frame = todo.take()) {
+                    state = frame.state;
+                    try {
+                        Graphics2D g = image.createGraphics();
+                        // print() paints straight into g, without Swing's shared back buffer
+                        panel.print(g);
+                        g.dispose();
+                        png.reset();
+                        ImageIO.write(image, "png", png);
+                        frame.png = png.toByteArray();
+                    } catch (IOException | RuntimeException e) {
+                        frame.png = null;
+                        frame.error = e;
+                    }
+                    done.put(frame);
+                }
+                done.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int getScore() { return state.score; }
+
+        @Override
+        public int getLives() { return state.lives; }
+
+        @Override
+        public boolean isGameOver() { return state.gameOver; }
+
+        @Override
+        public boolean isPaused() { return false; }
+
+        @Override
+        public boolean isInvincible() { return state.invincible; }
+
+        @Override
+        public int getHighScore() { return state.getHighScore(); }
+
+        @Override
+        public long getTick() { return state.clock.getTick(); }
+
+        @Override
+        public GamePanel.ShipData getShipData() {
+            return new GamePanel.ShipData(state.ship.x, state.ship.y, state.ship.angle);
+        }
+
+        @Override
+        public List<GamePanel.AsteroidData> getAsteroidData() {
+            World w = state.world;
+            List<GamePanel.AsteroidData> list = new ArrayList<>(state.asteroidCount());
+            for (int i = 0, n = w.count(); i < n; i++) {
+                if (w.kind[i] != World.KIND_ASTEROID) continue;
+                list.add(new GamePanel.AsteroidData(w.x[i], w.y[i], w.vx[i], w.vy[i], (int) w.radius[i],
+                    AsteroidShapes.shapeOf(w, i)));
+            }
+            return list;
+        }
+
+        @Override
+        public List<GamePanel.BulletData> getBulletData() {
+            World w = state.world;
+            List<GamePanel.BulletData> list = new ArrayList<>(state.bulletCount());
+            for (int i = 0, n = w.count(); i < n; i++) {
+                if (w.kind[i] == World.KIND_BULLET) list.add(new GamePanel.BulletData(w.x[i], w.y[i]));
+            }
+            return list;
+        }
+
+        @Override
+        public GamePanel.ShapeData getAsteroidShapes() { return ASTEROID_SHAPES; }
+
+        @Override
+        public GamePanel.ParticleData getParticleData() {
+            ParticleSystem p = state.particles;
+            return new GamePanel.ParticleData(p.x, p.y, p.life, p.maxLife, p.color, p.count());
+        }
+
+        @Override
+        public int getWindowWidth() { return width; }
+
+        @Override
+        public int getWindowHeight() { return height; }
+
+        @Override
+        public int getInitialLives() { return GameState.Config.INITIAL_LIVES; }
+    }
+
+    // Writes frames in index order and hands their slots back to the simulation
+    private static final class Writer implements Runnable {
+        private final BlockingQueue<Frame> done, free;
+        private final Path out;
+        private final int workers;
+        private final PriorityQueue<Frame> early = new PriorityQueue<>((a, b) -> Integer.compare(a.index, b.index));
+        volatile Exception failure;
+
+        Writer(BlockingQueue<Frame> done, BlockingQueue<Frame> free, Path out, int workers) {
+            this.done = done;
+            this.free = free;
+            this.out = out;
+            this.workers = workers;
+        }
+
+        @Override
+        public void run() {
+            int next = 0, finished = 0;
+            try {
+                while (finished < workers) {
+                    Frame frame = done.take();
+                    if (frame == END) {
+                        finished++;
+                        continue;
+                    }
+                    early.add(frame);
+                    while (!early.isEmpty() && early.peek().index == next) {
+                        Frame f = early.poll();
+                        if (f.png == null) {
+                            if (failure == null) failure = new IOException("frame " + f.index + " could not be drawn", f.error);
+                        } else if (failure == null) {
+                            write(f);
+                        }
+                        // After a failure the simulation stops; frames still in flight are
+                        // dropped but their slots go back so it is never left waiting
+                        f.png = null;
+                        f.error = null;
+                        free.put(f);
+                        next++;
+                        if (next % 60 == 0) System.out.print(".");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void write(Frame f) {
+            try {
+                Files.write(out.resolve(String.format("frame_%06d.png", f.index)), f.png);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+}
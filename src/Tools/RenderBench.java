@@ -0,0 +1,257 @@
+package Tools;
+
+import Model.AsteroidShapes;
+import Model.GameState;
+import View.Assets;
+import View.GamePanel;
+import View.QualityGovernor;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * BENCHMARK DE RENDERIZADO CON BASELINE
+ * =====================================
+ *
+ * Pinta GamePanel en una BufferedImage (sin ventana, java.awt.headless) con
+ * escenas sintéticas de N asteroides y N balas, con y sin overlays (inicio,
+ * pausa y game over a la vez), y compara cada escena con un baseline
+ * guardado.
+ *
+ * MEDIDAS POR ESCENA:
+ * - Tiempo de paint por frame: mediana y p95 (muestras ordenadas, sin
+ *   buckets, para que un 10-20% se note)
+ * - Bytes reservados por frame en el hilo que pinta
+ *   (ThreadMXBean.getCurrentThreadAllocatedBytes); los datos de la escena se
+ *   crean antes, así que se mide solo lo que reserva el panel
+ * - Asteroides como polígonos del banco de AsteroidShapes (sprites con
+ *   -Dasteroids.asteroidShape=circle, igual que el juego)
+ * - Calidad fija en FULL: el gobernador adaptativo cambiaría de nivel según
+ *   la propia máquina
+ * - Frames hasta sumar MEASURE_NANOS (mínimo MIN_FRAMES) tras un
+ *   calentamiento similar, así las escenas grandes no tardan minutos
+ *
+ * REGRESIÓN:
+ * - Falla (código de salida 1) si la mediana supera la del baseline en más
+ *   del umbral (--threshold, por defecto DEFAULT_THRESHOLD) o si los bytes
+ *   por frame lo superan en más del umbral más ALLOC_SLACK_BYTES
+ * - --update-baseline reescribe el baseline con esta ejecución; los tiempos
+ *   dependen de la máquina, así que se regenera en la máquina que hace de
+ *   referencia
+ * - Escenas sin entrada en el baseline solo se informan
+ *
+ * Uso: java -Djava.awt.headless=true -cp bin:resources Tools.RenderBench
+ *      [--baseline fichero] [--threshold 0.2] [--update-baseline] [N...]
+ */
+public class RenderBench {
+    public static final String DEFAULT_BASELINE = "bench/render-baseline.properties";
+    public static final double DEFAULT_THRESHOLD = 0.20;
+    static final long ALLOC_SLACK_BYTES = 1024;
+    private static final int WIDTH = 800, HEIGHT = 600;
+    private static final int MIN_FRAMES = 5, MAX_FRAMES = 300;
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+        Path baselineFile = Paths.get(DEFAULT_BASELINE);
+        double threshold = DEFAULT_THRESHOLD;
+        boolean update = false;
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--baseline") && i + 1 < args.length) {
+                baselineFile = Paths.get(args[++i]);
+            } else if (args[i].equals("--threshold") && i + 1 < args.length) {
+                threshold = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--update-baseline")) {
+                update = true;
+            } else {
+                sizes.add(Integer.parseInt(args[i]));
+            }
+        }
+        if (sizes.isEmpty()) sizes = List.of(10, 1_000, 10_000, 100_000);
+
+        Properties baseline = new Properties();
+        if (Files.exists(baselineFile)) {
+            try (Reader in = Files.newBufferedReader(baselineFile)) {
+                baseline.load(in);
+            }
+        } else if (!update) {
+            System.out.println("No baseline at " + baselineFile + "; run with --update-baseline to create it");
+        }
+
+        Assets.await();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Properties results = new Properties();
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-24s %10s %10s %12s   %s%n", "scene", "p50 ms", "p95 ms", "bytes/frame", "baseline p50 / bytes");
+        for (int n : sizes) {
+            Scene scene = new Scene(n, new Random(n));
+            for (boolean overlays : new boolean[] {false, true}) {
+                String key = "n" + n + (overlays ? ".overlays" : ".plain");
+                Result r = measure(scene, overlays, threads);
+                results.setProperty(key + ".paint_p50_ms", String.format("%.4f", r.p50Ms));
+                results.setProperty(key + ".paint_p95_ms", String.format("%.4f", r.p95Ms));
+                results.setProperty(key + ".alloc_bytes", Long.toString(r.bytesPerFrame));
+
+                String base = "-";
+                String p50 = baseline.getProperty(key + ".paint_p50_ms");
+                String bytes = baseline.getProperty(key + ".alloc_bytes");
+                if (p50 != null && bytes != null) {
+                    double baseMs = Double.parseDouble(p50);
+                    long baseBytes = Long.parseLong(bytes);
+                    base = String.format("%.3f / %d", baseMs, baseBytes);
+                    if (r.p50Ms > baseMs * (1 + threshold)) {
+                        regressions.add(String.format("%s: paint p50 %.3f ms vs %.3f ms (+%.0f%%)",
+                                key, r.p50Ms, baseMs, (r.p50Ms / baseMs - 1) * 100));
+                    }
+                    if (r.bytesPerFrame > baseBytes * (1 + threshold) + ALLOC_SLACK_BYTES) {
+                        regressions.add(String.format("%s: %d bytes/frame vs %d", key, r.bytesPerFrame, baseBytes));
+                    }
+                }
+                System.out.printf("%-24s %10.3f %10.3f %12d   %s%n", key, r.p50Ms, r.p95Ms, r.bytesPerFrame, base);
+            }
+        }
+
+        if (update) {
+            if (baselineFile.getParent() != null) Files.createDirectories(baselineFile.getParent());
+            try (Writer out = Files.newBufferedWriter(baselineFile)) {
+                results.store(out, "Tools.RenderBench baseline (" + System.getProperty("os.name") + ", "
+                        + Runtime.getRuntime().availableProcessors() + " cores, Java "
+                        + System.getProperty("java.version") + ")");
+            }
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            System.out.printf("REGRESSION (threshold %.0f%%):%n", threshold * 100);
+            for (String r : regressions) System.out.println("  " + r);
+            System.exit(1);
+        }
+        System.out.println("OK: no regression over " + Math.round(threshold * 100) + "%");
+    }
+
+    private static final class Result {
+        final double p50Ms, p95Ms;
+        final long bytesPerFrame;
+
+        Result(double p50Ms, double p95Ms, long bytesPerFrame) {
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.bytesPerFrame = bytesPerFrame;
+        }
+    }
+
+    private static Result measure(Scene scene, boolean overlays, com.sun.management.ThreadMXBean threads) {
+        scene.overlays = overlays;
+        GamePanel panel = new GamePanel();
+        panel.setGameDataProvider(scene);
+        panel.setStartOverlay(overlays);
+        panel.setQualityGovernor(new QualityGovernor(QualityGovernor.DEFAULT_BUDGET_NANOS, QualityGovernor.Tier.FULL));
+        panel.initialize(WIDTH, HEIGHT);
+        panel.setSize(WIDTH, HEIGHT);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        // Warm-up, as long as the measurement (bounded)
+        long warmEnd = System.nanoTime() + MEASURE_NANOS;
+        for (int f = 0; f < MAX_FRAMES && (f < MIN_FRAMES || System.nanoTime() < warmEnd); f++) paint(panel, target);
+
+        long[] samples = new long[MAX_FRAMES];
+        int frames = 0;
+        long spent = 0;
+        long alloc0 = threads.getCurrentThreadAllocatedBytes();
+        while (frames < MAX_FRAMES && (frames < MIN_FRAMES || spent < MEASURE_NANOS)) {
+            long t0 = System.nanoTime();
+            paint(panel, target);
+            long t = System.nanoTime() - t0;
+            samples[frames++] = t;
+            spent += t;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - alloc0;
+        Arrays.sort(samples, 0, frames);
+        return new Result(samples[(frames - 1) / 2] / 1e6, samples[(int) Math.ceil(frames * 0.95) - 1] / 1e6,
+                allocated / frames);
+    }
+
+    private static void paint(GamePanel panel, BufferedImage target) {
+        Graphics2D g = target.createGraphics();
+        panel.paint(g);
+        g.dispose();
+    }
+
+    // Static scene of n asteroids and n bullets, built once outside the measurement
+    private static final class Scene implements GamePanel.GameDataProvider {
+        final List<GamePanel.AsteroidData> asteroids = new ArrayList<>();
+        final List<GamePanel.BulletData> bullets = new ArrayList<>();
+        final GamePanel.ShipData ship = new GamePanel.ShipData(WIDTH / 2.0, HEIGHT / 2.0, -Math.PI / 2);
+        final GamePanel.ShapeData shapes = GameState.POLYGON_ASTEROIDS
+                ? new GamePanel.ShapeData(AsteroidShapes.VERTEX_X, AsteroidShapes.VERTEX_Y, AsteroidShapes.VERTICES)
+                : null;
+        boolean overlays;
+
+        Scene(int n, Random random) {
+            for (int i = 0; i < n; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                asteroids.add(new GamePanel.AsteroidData(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT,
+                        Math.cos(angle), Math.sin(angle), 20 + random.nextInt(41), random.nextInt(AsteroidShapes.SHAPES)));
+                bullets.add(new GamePanel.BulletData(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT));
+            }
+        }
+
+        @Override
+        public int getScore() { return 12_345; }
+
+        @Override
+        public int getLives() { return 2; }
+
+        @Override
+        public boolean isGameOver() { return overlays; }
+
+        @Override
+        public boolean isPaused() { return overlays; }
+
+        @Override
+        public boolean isInvincible() { return false; }
+
+        @Override
+        public int getHighScore() { return 54_321; }
+
+        @Override
+        public long getTick() { return 0; }
+
+        @Override
+        public GamePanel.ShipData getShipData() { return ship; }
+
+        @Override
+        public List<GamePanel.AsteroidData> getAsteroidData() { return asteroids; }
+
+        @Override
+        public List<GamePanel.BulletData> getBulletData() { return bullets; }
+
+        @Override
+        public GamePanel.ParticleData getParticleData() { return null; }
+
+        @Override
+        public GamePanel.ShapeData getAsteroidShapes() { return shapes; }
+
+        @Override
+        public int getWindowWidth() { return WIDTH; }
+
+        @Override
+        public int getWindowHeight() { return HEIGHT; }
+
+        @Override
+        public int getInitialLives() { return 3; }
+    }
+}
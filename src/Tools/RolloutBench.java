@@ -0,0 +1,65 @@
+package Tools;
+
+import Controller.RolloutPlanner;
+import Model.GameState;
+
+/**
+ * BENCHMARK DE BIFURCACIÓN Y ROLLOUTS
+ * ===================================
+ *
+ * - Coste de GameState.fork() (copia nueva) y de forkInto() (reutilizando
+ *   la misma partida destino) con la población de asteroides indicada
+ * - Rollouts por segundo del RolloutPlanner jugando una partida headless
+ *
+ * Uso: java -cp bin Tools.RolloutBench [asteroides=50] [rolloutsPorAcción=32]
+ *      [profundidad=60] [hilos=núcleos] [decisiones=200]
+ */
+public class RolloutBench {
+    public static void main(String[] args) {
+        int asteroids = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int rollouts = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int decisions = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+
+        GameState game = new GameState(1);
+        game.addAsteroids(asteroids - game.asteroidCount());
+        game.startAsteroidSpawner();
+
+        // Fork cost
+        GameState target = game.fork();
+        int reps = 200_000;
+        for (int i = 0; i < reps; i++) game.forkInto(target);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < reps; i++) game.forkInto(target);
+        double intoMicros = (System.nanoTime() - t0) / 1e3 / reps;
+        int forkReps = reps / 10;
+        GameState copy = null;
+        t0 = System.nanoTime();
+        for (int i = 0; i < forkReps; i++) copy = game.fork();
+        double forkMicros = (System.nanoTime() - t0) / 1e3 / forkReps;
+        System.out.printf("%d entities: forkInto %.2f us, fork %.2f us%n",
+                copy.world.count(), intoMicros, forkMicros);
+
+        // Planner throughput while playing
+        try (RolloutPlanner planner = new RolloutPlanner(rollouts, depth, 7, threads)) {
+            for (int i = 0; i < decisions / 10; i++) planner.plan(game);   // warm-up
+            long rolloutCount = 0, ticks = 0, nanos = 0;
+            for (int d = 0; d < decisions && !game.gameOver; d++) {
+                for (int t = 0; t < RolloutPlanner.ACTION_TICKS && !game.gameOver; t++) {
+                    planner.act(game);
+                    game.update();
+                }
+                rolloutCount += planner.lastRollouts();
+                ticks += planner.lastTicks();
+                nanos += planner.lastPlanNanos();
+            }
+            double seconds = nanos / 1e9;
+            System.out.printf("%d threads, %d rollouts x %d ticks per decision: %.0f rollouts/s, %.2fM ticks/s, %.2f ms/decision%n",
+                    threads, planner.lastRollouts(), depth, rolloutCount / seconds, ticks / seconds / 1e6,
+                    nanos / 1e6 / Math.max(1, decisions));
+            System.out.printf("planner game: tick %d, score %d, lives %d%s%n",
+                    game.clock.getTick(), game.score, game.lives, game.gameOver ? " (game over)" : "");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package Tools;
+
+import Controller.SessionHost;
+
+/**
+ * BENCHMARK DEL HOST DE SESIONES
+ * ==============================
+ *
+ * Crea N partidas headless con un bot sencillo, las hace avanzar T ticks a la
+ * vez y muestra sesiones/segundo, ticks/segundo y latencia por tick.
+ *
+ * Uso: java -cp bin Tools.SessionHostBench [sesiones=10000] [ticks=3600] [budget=8]
+ */
+public class SessionHostBench {
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long ticks = args.length > 1 ? Long.parseLong(args[1]) : 3600;
+        int budget = args.length > 2 ? Integer.parseInt(args[2]) : SessionHost.DEFAULT_TICK_BUDGET;
+
+        SessionHost host = new SessionHost(budget);
+
+        long t0 = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            host.create(i, state -> {
+                // Spin and fire: turn constantly, thrust in bursts, shoot every 10 ticks
+                state.right = true;
+                state.up = (state.clock.getTick() / 30) % 2 == 0;
+                if (state.clock.getTick() % 10 == 0) state.shoot();
+            });
+        }
+        double createSeconds = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("created %d sessions in %.2fs (%.0f sessions/s)%n",
+                sessions, createSeconds, sessions / createSeconds);
+
+        t0 = System.nanoTime();
+        host.stepAll(ticks);
+        host.awaitIdle();
+        double runSeconds = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("stepped %d ticks per session in %.2fs%n", ticks, runSeconds);
+        System.out.println(host.report());
+
+        host.shutdown();
+    }
+}
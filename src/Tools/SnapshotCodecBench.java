@@ -0,0 +1,141 @@
+package Tools;
+
+import Controller.BotPolicy;
+import Model.GameState;
+import Model.Snapshot;
+import Model.SnapshotCodec;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+
+/**
+ * BENCHMARK DEL CODEC DE INSTANTÁNEAS
+ * ===================================
+ *
+ * Juega partidas headless con un bot y, en cada tick, captura un Snapshot,
+ * lo codifica con SnapshotCodec (delta contra el tick anterior, keyframe
+ * cada KEYFRAME_INTERVAL ticks) y lo decodifica en el lado "receptor".
+ *
+ * COMPRUEBA (código 1 si algo falla):
+ * - Que lo decodificado es idéntico a lo capturado
+ * - Que los frames delta ocupan menos de MAX_DELTA_RATIO del tamaño sin
+ *   comprimir (Snapshot.naiveSize())
+ * - Que capture + encode + decode no reservan ni un byte tras el
+ *   calentamiento (ThreadMXBean, solo alrededor de esas llamadas)
+ *
+ * Uso: java --add-modules jdk.incubator.vector -cp bin Tools.SnapshotCodecBench [ticks=3000]
+ */
+public class SnapshotCodecBench {
+    private static final int KEYFRAME_INTERVAL = 60;
+    private static final double MAX_DELTA_RATIO = 0.10;
+    private static final int WARMUP_TICKS = 600;
+
+    // Population (asteroids topped up every tick, 0 = natural spawning) and bot of each scenario
+    private static final int[] POPULATIONS = {0, 300, 2000};
+    private static final BotPolicy[] BOTS = {BotPolicy.SPIN_AND_SPRAY, BotPolicy.AIM_AND_SHOOT, BotPolicy.AIM_AND_SHOOT};
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 3_000;
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.out.printf("%-24s %9s %9s %9s %9s %9s %10s %10s%n", "scenario", "naive B", "key B", "key %",
+                "delta B", "delta %", "enc+dec us", "bytes/tick");
+
+        boolean ok = true;
+        for (int s = 0; s < POPULATIONS.length; s++) {
+            String name = BOTS[s].name().toLowerCase().replace('_', '-') + "-" + POPULATIONS[s];
+            ok &= run(name, s + 1, POPULATIONS[s], BOTS[s], ticks, threads);
+        }
+        if (!ok) System.exit(1);
+        System.out.printf("OK: delta frames under %.0f%% of naive size, no allocation%n", MAX_DELTA_RATIO * 100);
+    }
+
+    private static boolean run(String name, long seed, int population, BotPolicy bot, int ticks,
+                               com.sun.management.ThreadMXBean threads) {
+        GameState state = new GameState(seed);
+        if (population == 0) state.startAsteroidSpawner();
+        SnapshotCodec encoder = new SnapshotCodec(), decoder = new SnapshotCodec();
+        Snapshot current = new Snapshot(), baseline = new Snapshot();
+        Snapshot received = new Snapshot(), receivedBaseline = new Snapshot();
+        ByteBuffer packet = ByteBuffer.allocateDirect(1 << 20);
+
+        long naive = 0, keyBytes = 0, keyNaive = 0, deltaBytes = 0, deltaNaive = 0, codecNanos = 0, allocated = 0;
+        int measured = 0;
+        boolean haveBaseline = false;
+        for (int t = 0; t < WARMUP_TICKS + ticks; t++) {
+            if (population > 0) {
+                int missing = population - state.asteroidCount();
+                if (missing > 0) state.addAsteroids(missing);
+            }
+            state.lives = GameState.Config.INITIAL_LIVES;
+            bot.act(state);
+            state.update();
+
+            boolean key = !haveBaseline || t % KEYFRAME_INTERVAL == 0;
+            long alloc0 = threads.getCurrentThreadAllocatedBytes();
+            long t0 = System.nanoTime();
+            current.capture(state, t);
+            packet.clear();
+            int bytes = encoder.encode(current, key ? null : baseline, packet);
+            packet.flip();
+            decoder.decode(packet, key ? null : receivedBaseline, received);
+            long nanos = System.nanoTime() - t0;
+            long alloc = threads.getCurrentThreadAllocatedBytes() - alloc0;
+
+            if (!same(current, received)) {
+                System.out.printf("%s: decoded snapshot differs at tick %d%n", name, t);
+                return false;
+            }
+            // Both sides acknowledge this frame as the next baseline
+            baseline.copyFrom(current);
+            receivedBaseline.copyFrom(received);
+            haveBaseline = true;
+
+            if (t < WARMUP_TICKS) continue;
+            measured++;
+            naive += current.naiveSize();
+            codecNanos += nanos;
+            allocated += alloc;
+            if (key) {
+                keyBytes += bytes;
+                keyNaive += current.naiveSize();
+            } else {
+                deltaBytes += bytes;
+                deltaNaive += current.naiveSize();
+            }
+        }
+
+        double deltaRatio = deltaBytes / (double) deltaNaive;
+        System.out.printf("%-24s %9.0f %9.0f %8.1f%% %9.0f %8.1f%% %10.2f %10.1f%n", name,
+                naive / (double) measured, keyBytes / (double) (measured / KEYFRAME_INTERVAL),
+                100.0 * keyBytes / keyNaive, deltaBytes / (double) (measured - measured / KEYFRAME_INTERVAL),
+                100 * deltaRatio, codecNanos / 1e3 / measured, allocated / (double) measured);
+        boolean ok = true;
+        if (deltaRatio >= MAX_DELTA_RATIO) {
+            System.out.printf("%s: delta frames are %.1f%% of naive size (limit %.0f%%)%n", name,
+                    100 * deltaRatio, MAX_DELTA_RATIO * 100);
+            ok = false;
+        }
+        if (allocated > 0) {
+            System.out.printf("%s: capture/encode/decode allocated %d bytes%n", name, allocated);
+            ok = false;
+        }
+        return ok;
+    }
+
+    private static boolean same(Snapshot a, Snapshot b) {
+        if (a.sequence != b.sequence || a.score != b.score || a.lives != b.lives || a.flags != b.flags
+                || a.shipX != b.shipX || a.shipY != b.shipY || a.shipAngle != b.shipAngle
+                || a.shipVx != b.shipVx || a.shipVy != b.shipVy
+                || a.asteroidCount != b.asteroidCount || a.bulletCount != b.bulletCount) return false;
+        for (int i = 0; i < a.asteroidCount; i++) {
+            if (a.asteroidX[i] != b.asteroidX[i] || a.asteroidY[i] != b.asteroidY[i]
+                    || a.asteroidVx[i] != b.asteroidVx[i] || a.asteroidVy[i] != b.asteroidVy[i]
+                    || a.asteroidSize[i] != b.asteroidSize[i]) return false;
+        }
+        for (int i = 0; i < a.bulletCount; i++) {
+            if (a.bulletX[i] != b.bulletX[i] || a.bulletY[i] != b.bulletY[i]
+                    || a.bulletVx[i] != b.bulletVx[i] || a.bulletVy[i] != b.bulletVy[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package Tools;
+
+import Model.GameState;
+import Model.SpatialIndex;
+import Model.World;
+import java.util.Random;
+
+/**
+ * BENCHMARK DE CONSULTAS ESPACIALES
+ * =================================
+ *
+ * Para cada población de asteroides mide el coste de reconstruir el
+ * SpatialIndex y el de cada consulta (radio, 8 más cercanos, raycast),
+ * comparado con recorrer todos los asteroides como hacían los bots.
+ *
+ * Uso: java -cp bin Tools.SpatialQueryBench [asteroides...]
+ */
+public class SpatialQueryBench {
+    private static final int QUERIES = 20_000;
+    private static final double W = GameState.Config.WINDOW_WIDTH, H = GameState.Config.WINDOW_HEIGHT;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {50, 1_000, 10_000, 100_000};
+        for (int n : sizes) {
+            GameState game = new GameState(n);
+            game.addAsteroids(n - game.asteroidCount());
+            World world = game.world;
+            SpatialIndex index = new SpatialIndex();
+
+            int rebuilds = Math.max(10, 2_000_000 / Math.max(1, n));
+            for (int i = 0; i < rebuilds; i++) index.rebuild(world);
+            long t0 = System.nanoTime();
+            for (int i = 0; i < rebuilds; i++) index.rebuild(world);
+            double rebuildMicros = (System.nanoTime() - t0) / 1e3 / rebuilds;
+
+            int queries = (int) Math.max(200, Math.min(QUERIES, 200_000_000L / n));
+            int[] out = new int[256];
+            int[] nearIndex = new int[8];
+            double[] nearDistance = new double[8];
+            Random random = new Random(n);
+            double[] qx = new double[queries], qy = new double[queries], qa = new double[queries];
+            for (int q = 0; q < queries; q++) {
+                qx[q] = random.nextDouble() * W;
+                qy[q] = random.nextDouble() * H;
+                qa[q] = random.nextDouble() * 2 * Math.PI;
+            }
+
+            long sink = 0;
+            for (int rep = 0; rep < 2; rep++) {   // first pass warms up
+                long a = System.nanoTime();
+                for (int q = 0; q < queries; q++) sink += index.queryRadius(qx[q], qy[q], 50, out);
+                long b = System.nanoTime();
+                for (int q = 0; q < queries; q++) sink += index.nearest(qx[q], qy[q], nearIndex, nearDistance);
+                long c = System.nanoTime();
+                for (int q = 0; q < queries; q++) sink += index.raycast(qx[q], qy[q], qa[q], 400, null);
+                long d = System.nanoTime();
+                for (int q = 0; q < queries; q++) sink += linearNearest(world, qx[q], qy[q]);
+                long e = System.nanoTime();
+                if (rep == 1) {
+                    System.out.printf("%7d asteroids: rebuild %8.1f us | radius %7.3f us  nearest-8 %7.3f us  "
+                                    + "raycast %7.3f us | linear scan %8.3f us%n",
+                            n, rebuildMicros, (b - a) / 1e3 / queries, (c - b) / 1e3 / queries,
+                            (d - c) / 1e3 / queries, (e - d) / 1e3 / queries);
+                }
+            }
+            if (sink == 42) System.out.println();   // keep the results alive
+        }
+    }
+
+    // Nearest asteroid by scanning every entity (the cost the index replaces)
+    private static int linearNearest(World world, double x, double y) {
+        int best = -1;
+        double bestD = Double.POSITIVE_INFINITY;
+        for (int i = 0, n = world.count(); i < n; i++) {
+            if (world.kind[i] != World.KIND_ASTEROID) continue;
+            double dx = world.x[i] - x, dy = world.y[i] - y;
+            if (dx > W / 2) dx -= W; else if (dx < -W / 2) dx += W;
+            if (dy > H / 2) dy -= H; else if (dy < -H / 2) dy += H;
+            double d = dx * dx + dy * dy;
+            if (d < bestD) {
+                bestD = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,131 @@
+package Tools;
+
+import Model.AsteroidShapes;
+import Model.GameState;
+import Model.SharedFrame;
+import Model.Snapshot;
+import View.GamePanel;
+import java.awt.BorderLayout;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * ESPECTADOR EN OTRO PROCESO
+ * ==========================
+ *
+ * Abre en solo lectura el frame que publica un juego lanzado con
+ * -Dasteroids.share=<fichero> y lo dibuja con el mismo GamePanel, sin
+ * teclado ni controles. Se pueden abrir tantos espectadores como se quiera:
+ * el juego no sabe que existen.
+ *
+ * - Un Timer de ~60 Hz lee el último frame completo (Model.SharedFrame.Reader)
+ *   y redibuja solo si hay uno nuevo
+ * - No hay partículas: el frame compartido no las incluye
+ * - Las formas de los asteroides vienen como índice del banco de
+ *   AsteroidShapes, que es el mismo en los dos procesos (semilla fija)
+ *
+ * Uso: java -cp bin Tools.Spectator <fichero>
+ */
+public class Spectator implements GamePanel.GameDataProvider {
+    private final SharedFrame.Reader frame;
+    private final GamePanel.ShapeData shapes;
+
+    Spectator(SharedFrame.Reader frame) {
+        this.frame = frame;
+        shapes = frame.shapes > 0
+                ? new GamePanel.ShapeData(AsteroidShapes.VERTEX_X, AsteroidShapes.VERTEX_Y, AsteroidShapes.VERTICES)
+                : null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: Spectator <shared frame file>");
+            System.exit(2);
+        }
+        SharedFrame.Reader reader = new SharedFrame.Reader(Paths.get(args[0]));
+        reader.read();
+        Spectator spectator = new Spectator(reader);
+
+        SwingUtilities.invokeLater(() -> {
+            GamePanel panel = new GamePanel();
+            panel.setGameDataProvider(spectator);
+            panel.setStartOverlay(false);
+            panel.initialize(GameState.Config.WINDOW_WIDTH, GameState.Config.WINDOW_HEIGHT);
+
+            JFrame window = new JFrame("Asteroids - spectator");
+            window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            window.setLayout(new BorderLayout());
+            window.add(panel, BorderLayout.CENTER);
+            window.pack();
+            window.setResizable(false);
+            window.setVisible(true);
+
+            new Timer(16, e -> {
+                if (reader.read()) panel.repaint();
+            }).start();
+        });
+    }
+
+    @Override
+    public int getScore() { return frame.score; }
+
+    @Override
+    public int getLives() { return frame.lives; }
+
+    @Override
+    public boolean isGameOver() { return (frame.flags & Snapshot.FLAG_GAME_OVER) != 0; }
+
+    @Override
+    public boolean isPaused() { return (frame.flags & Snapshot.FLAG_PAUSED) != 0; }
+
+    @Override
+    public boolean isInvincible() { return (frame.flags & Snapshot.FLAG_INVINCIBLE) != 0; }
+
+    @Override
+    public int getHighScore() { return frame.highScore; }
+
+    @Override
+    public long getTick() { return frame.tick; }
+
+    @Override
+    public GamePanel.ShipData getShipData() {
+        return new GamePanel.ShipData(frame.shipX, frame.shipY, frame.shipAngle);
+    }
+
+    @Override
+    public List<GamePanel.AsteroidData> getAsteroidData() {
+        List<GamePanel.AsteroidData> list = new ArrayList<>(frame.asteroidCount);
+        for (int i = 0; i < frame.asteroidCount; i++) {
+            list.add(new GamePanel.AsteroidData(frame.asteroidX[i], frame.asteroidY[i],
+                    frame.asteroidVx[i], frame.asteroidVy[i], frame.asteroidSize[i], frame.asteroidShape[i]));
+        }
+        return list;
+    }
+
+    @Override
+    public List<GamePanel.BulletData> getBulletData() {
+        List<GamePanel.BulletData> list = new ArrayList<>(frame.bulletCount);
+        for (int i = 0; i < frame.bulletCount; i++) list.add(new GamePanel.BulletData(frame.bulletX[i], frame.bulletY[i]));
+        return list;
+    }
+
+    @Override
+    public GamePanel.ParticleData getParticleData() { return null; }
+
+    @Override
+    public GamePanel.ShapeData getAsteroidShapes() { return shapes; }
+
+    @Override
+    public int getWindowWidth() { return GameState.Config.WINDOW_WIDTH; }
+
+    @Override
+    public int getWindowHeight() { return GameState.Config.WINDOW_HEIGHT; }
+
+    @Override
+    public int getInitialLives() { return GameState.Config.INITIAL_LIVES; }
+}
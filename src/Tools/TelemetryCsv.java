@@ -0,0 +1,114 @@
+package Tools;
+
+import Model.TelemetryRecorder;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * TELEMETRÍA A CSV
+ * ================
+ *
+ * Lee los segmentos binarios de Model.TelemetryRecorder y escribe una fila
+ * CSV por tick, en orden de segmento.
+ *
+ * - Solo se leen los registros que indica la cabecera de cada segmento, así
+ *   que un segmento a medias (juego en marcha o cerrado de golpe) es válido
+ * - Ficheros con otro magic, versión o tamaño de registro se rechazan
+ *
+ * Uso: java -cp bin Tools.TelemetryCsv <dir|segmento.bin>... [-o salida.csv]
+ * (sin -o escribe en la salida estándar)
+ */
+public class TelemetryCsv {
+    public static final String HEADER =
+            "segment,tick,tick_nanos,asteroids,bullets,particles,collisions,score,lives,flags,ship_x,ship_y";
+
+    public static void main(String[] args) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        Path out = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-o") && i + 1 < args.length) {
+                out = Paths.get(args[++i]);
+            } else {
+                Path p = Paths.get(args[i]);
+                if (Files.isDirectory(p)) {
+                    try (Stream<Path> files = Files.list(p)) {
+                        files.filter(f -> f.getFileName().toString().matches("telemetry-\\d+\\.bin"))
+                             .sorted()
+                             .forEach(segments::add);
+                    }
+                } else {
+                    segments.add(p);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            System.err.println("Usage: TelemetryCsv <dir|segment.bin>... [-o out.csv]");
+            System.exit(2);
+        }
+
+        Writer w = out != null ? Files.newBufferedWriter(out, StandardCharsets.UTF_8)
+                               : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try {
+            w.write(HEADER);
+            w.write('\n');
+            for (Path segment : segments) rows += convert(segment, w);
+        } finally {
+            w.flush();
+            if (out != null) w.close();
+        }
+        System.err.println(rows + " records from " + segments.size() + " segment(s)");
+    }
+
+    // Write the committed records of one segment; returns how many
+    public static int convert(Path file, Writer w) throws IOException {
+        ByteBuffer b;
+        try (FileChannel ch = FileChannel.open(file)) {
+            b = ByteBuffer.allocate((int) ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (b.hasRemaining() && ch.read(b) >= 0) { }
+        }
+        if (b.position() < TelemetryRecorder.HEADER_SIZE
+                || b.getInt(TelemetryRecorder.H_MAGIC) != TelemetryRecorder.MAGIC) {
+            throw new IOException(file + " is not a telemetry segment");
+        }
+        if (b.getInt(TelemetryRecorder.H_VERSION) != TelemetryRecorder.VERSION
+                || b.getInt(TelemetryRecorder.H_RECORD_SIZE) != TelemetryRecorder.RECORD_SIZE) {
+            throw new IOException(file + ": unsupported version or record size");
+        }
+        int segment = b.getInt(TelemetryRecorder.H_SEGMENT);
+        int count = b.getInt(TelemetryRecorder.H_COUNT);
+        count = Math.min(count, (b.position() - TelemetryRecorder.HEADER_SIZE) / TelemetryRecorder.RECORD_SIZE);
+
+        StringBuilder line = new StringBuilder(128);
+        for (int r = 0; r < count; r++) {
+            int p = TelemetryRecorder.HEADER_SIZE + r * TelemetryRecorder.RECORD_SIZE;
+            line.setLength(0);
+            line.append(segment).append(',')
+                .append(b.getLong(p + TelemetryRecorder.R_TICK)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_TICK_NANOS)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_ASTEROIDS)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_BULLETS)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_PARTICLES)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_COLLISIONS)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_SCORE)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_LIVES)).append(',')
+                .append(b.getInt(p + TelemetryRecorder.R_FLAGS)).append(',')
+                .append(b.getFloat(p + TelemetryRecorder.R_SHIP_X)).append(',')
+                .append(b.getFloat(p + TelemetryRecorder.R_SHIP_Y)).append('\n');
+            w.append(line);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package Tools;
+
+import Model.AsteroidShapes;
+import Model.GameState;
+import View.GamePanel;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BENCHMARK DEL RENDERIZADO POR TILES
+ * ===================================
+ *
+ * Pinta escenas de estrés sintéticas (1% asteroides, 30% balas, resto
+ * partículas) con GamePanel fuera de pantalla y compara el camino serie
+ * (EDT) con el TileRenderer a 1, 2, 4... hilos hasta el número de núcleos.
+ *
+ * Uso: java -Djava.awt.headless=true -cp bin Tools.TileRenderBench [entidades...]
+ */
+public class TileRenderBench {
+    private static final int WIDTH = 800, HEIGHT = 600;
+    private static final int WARMUP = 60, FRAMES = 200;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10_000, 100_000};
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("cores=" + cores);
+
+        for (int n : sizes) {
+            Scene scene = new Scene(n, new Random(n));
+            double serial = measure(scene, 0);
+            System.out.printf("%7d entities  serial %7.2f ms/frame%n", n, serial);
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                double t = measure(scene, threads);
+                System.out.printf("%7d entities  tiles x%-2d %6.2f ms/frame  (%.2fx)%n", n, threads, t, serial / t);
+            }
+        }
+    }
+
+    // threads: 0 = serial path, otherwise tile renderer threads
+    private static double measure(Scene scene, int threads) {
+        GamePanel panel = new GamePanel();
+        panel.setGameDataProvider(scene);
+        panel.initialize(WIDTH, HEIGHT);
+        panel.setSize(WIDTH, HEIGHT);
+        panel.setRenderThreads(threads);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        long total = 0;
+        for (int f = 0; f < WARMUP + FRAMES; f++) {
+            long t0 = System.nanoTime();
+            Graphics2D g = target.createGraphics();
+            panel.paint(g);
+            g.dispose();
+            if (f >= WARMUP) total += System.nanoTime() - t0;
+        }
+        panel.setRenderThreads(0);
+        return total / 1e6 / FRAMES;
+    }
+
+    // Static stress scene served through the normal provider interface
+    private static final class Scene implements GamePanel.GameDataProvider {
+        final List<GamePanel.AsteroidData> asteroids = new ArrayList<>();
+        final List<GamePanel.BulletData> bullets = new ArrayList<>();
+        final GamePanel.ParticleData particles;
+        final GamePanel.ShapeData shapes = GameState.POLYGON_ASTEROIDS
+                ? new GamePanel.ShapeData(AsteroidShapes.VERTEX_X, AsteroidShapes.VERTEX_Y, AsteroidShapes.VERTICES)
+                : null;
+
+        Scene(int n, Random random) {
+            for (int i = 0; i < n / 100; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                asteroids.add(new GamePanel.AsteroidData(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT,
+                        Math.cos(angle), Math.sin(angle), 20 + random.nextInt(41), random.nextInt(AsteroidShapes.SHAPES)));
+            }
+            for (int i = 0; i < n * 3 / 10; i++) {
+                bullets.add(new GamePanel.BulletData(random.nextDouble() * WIDTH, random.nextDouble() * HEIGHT));
+            }
+            int np = n - asteroids.size() - bullets.size();
+            float[] x = new float[np], y = new float[np];
+            int[] life = new int[np], maxLife = new int[np], color = new int[np];
+            for (int i = 0; i < np; i++) {
+                x[i] = random.nextFloat() * WIDTH;
+                y[i] = random.nextFloat() * HEIGHT;
+                maxLife[i] = 60;
+                life[i] = 1 + random.nextInt(60);
+                color[i] = 0xFFAA33;
+            }
+            particles = new GamePanel.ParticleData(x, y, life, maxLife, color, np);
+        }
+
+        @Override public int getScore() { return 0; }
+        @Override public int getLives() { return 3; }
+        @Override public boolean isGameOver() { return false; }
+        @Override public boolean isPaused() { return false; }
+        @Override public boolean isInvincible() { return false; }
+        @Override public int getHighScore() { return 0; }
+        @Override public long getTick() { return 0; }
+        @Override public GamePanel.ShipData getShipData() { return new GamePanel.ShipData(WIDTH / 2.0, HEIGHT / 2.0, 0); }
+        @Override public List<GamePanel.AsteroidData> getAsteroidData() { return asteroids; }
+        @Override public List<GamePanel.BulletData> getBulletData() { return bullets; }
+        @Override public GamePanel.ParticleData getParticleData() { return particles; }
+        @Override public GamePanel.ShapeData getAsteroidShapes() { return shapes; }
+        @Override public int getWindowWidth() { return WIDTH; }
+        @Override public int getWindowHeight() { return HEIGHT; }
+        @Override public int getInitialLives() { return 3; }
+    }
+}
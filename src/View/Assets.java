@@ -0,0 +1,183 @@
+package View;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import javax.imageio.ImageIO;
+
+/**
+ * RECURSOS GRÁFICOS - ATLAS DE SPRITES
+ * ====================================
+ *
+ * Carga los iconos del juego (nave, asteroide, corazón) desde un único atlas
+ * en el classpath (/icons/atlas.png + /icons/atlas.properties, generados por
+ * Tools.AtlasPacker).
+ *
+ * CARGA ASÍNCRONA:
+ * - loadAsync() decodifica el atlas con ImageIO en un hilo aparte; App la
+ *   lanza antes de crear la ventana, así que se solapa con el arranque de Swing
+ * - GamePanel pinta la pantalla de inicio sin esperar y usa getNow() en cada
+ *   frame hasta que los iconos están listos
+ * - Después el mismo hilo carga las fuentes del overlay de inicio, que si no
+ *   se cargarían en el EDT durante el primer paint
+ *
+ * IMÁGENES COMPATIBLES:
+ * - Cada sprite se copia a una imagen creada por la GraphicsConfiguration de
+ *   la pantalla, que Java2D puede acelerar; en headless se usa ARGB
+ *   premultiplicado
+ * - El corazón gris (vida perdida) se genera una vez aquí, no en cada frame
+ *
+ * Si el atlas no está en el classpath se busca en resources/icons/ y, como
+ * último recurso, se leen los PNG sueltos.
+ */
+public final class Assets {
+    public static final String ATLAS_IMAGE = "/icons/atlas.png";
+    public static final String ATLAS_INDEX = "/icons/atlas.properties";
+    private static final Path RESOURCES_DIR = Paths.get("resources");
+
+    public final BufferedImage ship, asteroid, heart, heartDisabled;
+
+    private static CompletableFuture<Assets> loading;
+
+    private Assets(BufferedImage ship, BufferedImage asteroid, BufferedImage heart) {
+        this.ship = ship;
+        this.asteroid = asteroid;
+        this.heart = heart;
+        this.heartDisabled = compatible(disabled(heart));
+    }
+
+    // Start loading on a background thread (only the first call does anything)
+    public static synchronized CompletableFuture<Assets> loadAsync() {
+        if (loading == null) {
+            loading = new CompletableFuture<>();
+            Thread loader = new Thread(() -> {
+                try {
+                    loading.complete(load());
+                } catch (Throwable e) {
+                    loading.completeExceptionally(e);
+                }
+                warmUpText();
+            }, "asset-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+        return loading;
+    }
+
+    // Load the fonts and glyph rasterizer the start overlay needs, off the EDT
+    private static void warmUpText() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        g.setFont(new java.awt.Font("Arial", java.awt.Font.BOLD, 56));
+        g.drawString("ASTEROIDS START", 0, 0);
+        g.dispose();
+    }
+
+    // Loaded assets, or null while loading (or if loading failed)
+    public static Assets getNow() {
+        CompletableFuture<Assets> f = loadAsync();
+        return f.isDone() && !f.isCompletedExceptionally() ? f.getNow(null) : null;
+    }
+
+    // Block until loaded (tools and benchmarks)
+    public static Assets await() {
+        try {
+            return loadAsync().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading assets", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load assets", e.getCause());
+        }
+    }
+
+    // Synchronous load: atlas from the classpath, then from resources/, then loose PNGs
+    public static Assets load() throws IOException {
+        URL image = Assets.class.getResource(ATLAS_IMAGE);
+        URL index = Assets.class.getResource(ATLAS_INDEX);
+        if (image == null || index == null) {
+            Path dirImage = RESOURCES_DIR.resolve(ATLAS_IMAGE.substring(1));
+            Path dirIndex = RESOURCES_DIR.resolve(ATLAS_INDEX.substring(1));
+            if (Files.exists(dirImage) && Files.exists(dirIndex)) {
+                image = dirImage.toUri().toURL();
+                index = dirIndex.toUri().toURL();
+            }
+        }
+        if (image == null || index == null) {
+            Path icons = RESOURCES_DIR.resolve("icons");
+            return new Assets(read(icons.resolve("ship.png").toUri().toURL()),
+                    read(icons.resolve("asteroid.png").toUri().toURL()),
+                    read(icons.resolve("heart.png").toUri().toURL()));
+        }
+
+        Properties regions = new Properties();
+        try (InputStream in = index.openStream()) {
+            regions.load(in);
+        }
+        BufferedImage atlas = read(image);
+        return new Assets(region(atlas, regions, "ship"),
+                region(atlas, regions, "asteroid"),
+                region(atlas, regions, "heart"));
+    }
+
+    private static BufferedImage read(URL url) throws IOException {
+        BufferedImage image = ImageIO.read(url);
+        if (image == null) throw new IOException("Unreadable image " + url);
+        return image;
+    }
+
+    // Cut one named sprite out of the atlas into its own compatible image
+    private static BufferedImage region(BufferedImage atlas, Properties regions, String name) throws IOException {
+        String value = regions.getProperty(name);
+        if (value == null) throw new IOException("Sprite '" + name + "' missing from atlas index");
+        String[] p = value.split(",");
+        if (p.length != 4) throw new IOException("Bad atlas entry " + name + "=" + value);
+        int x = Integer.parseInt(p[0].trim()), y = Integer.parseInt(p[1].trim());
+        int w = Integer.parseInt(p[2].trim()), h = Integer.parseInt(p[3].trim());
+        return compatible(atlas.getSubimage(x, y, w, h));
+    }
+
+    // Copy into the screen's preferred translucent format
+    private static BufferedImage compatible(BufferedImage src) {
+        int w = src.getWidth(), h = src.getHeight();
+        BufferedImage dst;
+        if (GraphicsEnvironment.isHeadless()) {
+            dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            dst = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = dst.createGraphics();
+        g.drawImage(src, 0, 0, null);
+        g.dispose();
+        return dst;
+    }
+
+    // Same look as GrayFilter.createDisabledImage (brighter gray, 50%)
+    private static BufferedImage disabled(BufferedImage src) {
+        int w = src.getWidth(), h = src.getHeight();
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int argb = src.getRGB(x, y);
+                int r = (argb >> 16) & 0xFF, g = (argb >> 8) & 0xFF, b = argb & 0xFF;
+                int gray = (int) ((0.30 * r + 0.59 * g + 0.11 * b) / 3);
+                gray = 255 - ((255 - gray) * 50 / 100);
+                dst.setRGB(x, y, (argb & 0xFF000000) | (gray << 16) | (gray << 8) | gray);
+            }
+        }
+        return dst;
+    }
+}
@@ -5,7 +5,7 @@ import java.awt.*;
 
 // Panel for adjusting asteroid size and speed settings
 public class ControlPanel extends JPanel {
-    public JSpinner minSizeSpinner, maxSizeSpinner, minSpeedSpinner, maxSpeedSpinner;
+    public JSpinner minSizeSpinner, maxSizeSpinner, minSpeedSpinner, maxSpeedSpinner, timeScaleSpinner;
     public JButton applyButton;
 
     public ControlPanel(int minSize, int maxSize, double minSpeed, double maxSpeed) {
@@ -24,6 +24,10 @@ public class ControlPanel extends JPanel {
         add(new JLabel("Max Speed:"));
         maxSpeedSpinner = new JSpinner(new SpinnerNumberModel(maxSpeed, 0.1, 10.0, 0.1));
         add(maxSpeedSpinner);
+        // Game speed (simulation time scale)
+        add(new JLabel("Time Scale:"));
+        timeScaleSpinner = new JSpinner(new SpinnerNumberModel(1.0, 0.25, 100.0, 0.25));
+        add(timeScaleSpinner);
         // Apply button
         applyButton = new JButton("Apply");
         add(applyButton);
@@ -34,4 +38,5 @@ public class ControlPanel extends JPanel {
     public int getMaxSize() { return (int) maxSizeSpinner.getValue(); }
     public double getMinSpeed() { return (double) minSpeedSpinner.getValue(); }
     public double getMaxSpeed() { return (double) maxSpeedSpinner.getValue(); }
+    public double getTimeScale() { return (double) timeScaleSpinner.getValue(); }
 }
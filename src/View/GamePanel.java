@@ -24,9 +24,12 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         boolean isPaused();                // Pause state
         boolean isInvincible();            // Ship invincibility state
         int getHighScore();                // Highest score achieved
+        long getTick();                    // Simulation tick (drives flicker phase)
         ShipData getShipData();            // Ship position and angle data
         List<AsteroidData> getAsteroidData(); // All asteroid data for rendering
         List<BulletData> getBulletData();      // All active bullet data
+        ParticleData getParticleData();        // Live particles (shared arrays), or null
+        ShapeData getAsteroidShapes();         // Polygon bank for asteroids, or null for the sprite
         int getWindowWidth();              // Game window width
         int getWindowHeight();             // Game window height
         int getInitialLives();             // Starting number of lives
@@ -42,6 +45,7 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         void onThrust(boolean pressed);       // Forward thrust control
         void onDecelerate(boolean pressed);   // Deceleration control
         void onShoot(boolean pressed);        // Shooting control
+        void onRewind(boolean pressed);       // Hold to rewind, release to play on
         void onRestart();                     // Restart game command
         void onStartGame();                   // Start new game command
         void onResume();                      // Resume from pause command
@@ -49,6 +53,14 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         void onExit();                        // Exit game command
     }
     
+    /**
+     * Observador de frames: se llama al terminar cada paintComponent
+     * (instrumentación de latencia)
+     */
+    public interface FrameListener {
+        void onFramePresented(long nanoTime);
+    }
+    
     // DTOs inmutables para transferir datos entre capas MVC
     
     // Datos de nave para renderizado
@@ -59,12 +71,26 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         }
     }
     
-    // Datos de asteroide: posición, velocidad y tamaño
+    // Datos de asteroide: posición, velocidad, tamaño y forma (índice en ShapeData)
     public static class AsteroidData {
         public final double x, y, velocityX, velocityY;
-        public final int size;
+        public final int size, shape;
+        public AsteroidData(double x, double y, double velocityX, double velocityY, int size, int shape) {
+            this.x = x; this.y = y; this.velocityX = velocityX; this.velocityY = velocityY;
+            this.size = size; this.shape = shape;
+        }
         public AsteroidData(double x, double y, double velocityX, double velocityY, int size) {
-            this.x = x; this.y = y; this.velocityX = velocityX; this.velocityY = velocityY; this.size = size;
+            this(x, y, velocityX, velocityY, size, 0);
+        }
+    }
+
+    // Banco de polígonos compartido: forma s = vértices [s * vertices, (s + 1) * vertices), radio 1
+    public static class ShapeData {
+        public final float[] vertexX, vertexY;
+        public final int vertices, count;
+        public ShapeData(float[] vertexX, float[] vertexY, int vertices) {
+            this.vertexX = vertexX; this.vertexY = vertexY; this.vertices = vertices;
+            this.count = vertexX.length / vertices;
         }
     }
     
@@ -76,9 +102,21 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         }
     }
     
+    // Datos de partículas: referencias a los arrays del pool, válidas durante el paint
+    public static class ParticleData {
+        public final float[] x, y;
+        public final int[] life, maxLife, color;
+        public final int count;
+        public ParticleData(float[] x, float[] y, int[] life, int[] maxLife, int[] color, int count) {
+            this.x = x; this.y = y; this.life = life; this.maxLife = maxLife; this.color = color; this.count = count;
+        }
+    }
+    
     // Variables de comunicación MVC
     private GameDataProvider gameDataProvider;
     private GameInputListener gameInputListener;
+    private FrameListener frameListener;
+    private boolean syncAfterPaint = false;
     
     // Sistema de estrellas de fondo
     private static final int STAR_COUNT = 120;
@@ -99,6 +137,15 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         }
     }
     
+    // Framebuffer del juego: estrellas, balas y partículas se escriben en sus píxeles
+    private final Raster raster = new Raster(1, 1);
+    private static final int BULLET_RGB = 0x00FFFF;
+    private TileRenderer tileRenderer = null;   // null = serial path on the EDT
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 180);
+
+    // Drops drawing detail when paint + tick time leave no headroom
+    private QualityGovernor quality = QualityGovernor.fromSystemProperty();
+    
     // UI state management
     private boolean showStartOverlay = true;  // Controls start screen visibility
     
@@ -113,8 +160,9 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         if (gameDataProvider == null) return;
         Graphics2D g2 = (Graphics2D) g;
         
-        // Enable anti-aliasing for smoother text
-        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        // Anti-aliased text unless the quality governor has dropped it
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, quality.textAntialiasing()
+                ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
         
         g2.setColor(Color.WHITE);
         g2.setFont(SCORE_FONT);
@@ -127,25 +175,17 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         int heartY = 50;
         int heartX = 10;
         int heartSize = 24;
+        if (assets == null) return;
         int totalHearts = gameDataProvider.getInitialLives();
         int currentLives = gameDataProvider.getLives();
         for (int i = 0; i < totalHearts; i++) {
-            Image heartImg = (i < currentLives)
-                    ? HEART_ICON
-                    : GrayFilter.createDisabledImage(HEART_ICON);
+            Image heartImg = (i < currentLives) ? assets.heart : assets.heartDisabled;
             g.drawImage(heartImg, heartX + i * (heartSize + 6), heartY, heartSize, heartSize, null);
         }
     }
 
-    // Icon images
-    private static final Image HEART_ICON;
-    private static final Image SHIP_ICON;
-    private static final Image ASTEROID_ICON;
-    static {
-        HEART_ICON = new ImageIcon("resources/icons/heart.png").getImage();
-        SHIP_ICON = new ImageIcon("resources/icons/ship.png").getImage();
-        ASTEROID_ICON = new ImageIcon("resources/icons/asteroid.png").getImage();
-    }
+    // Icon images, loaded in the background (null until ready)
+    private Assets assets = null;
     // Control de entrada - evita repetición de teclas
     private final Set<Integer> pressedKeys = new HashSet<>();
 
@@ -182,6 +222,9 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
                 case java.awt.event.KeyEvent.VK_SPACE:
                     gameInputListener.onShoot(true);
                     break;
+                case java.awt.event.KeyEvent.VK_Q:
+                    gameInputListener.onRewind(true);
+                    break;
             }
         }
     }
@@ -214,6 +257,9 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
                 case java.awt.event.KeyEvent.VK_SPACE:
                     gameInputListener.onShoot(false);
                     break;
+                case java.awt.event.KeyEvent.VK_Q:
+                    gameInputListener.onRewind(false);
+                    break;
             }
         }
     }
@@ -231,9 +277,45 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
     public void setGameInputListener(GameInputListener listener) {
         this.gameInputListener = listener;
     }
+    
+    public void setFrameListener(FrameListener listener) {
+        this.frameListener = listener;
+    }
+    
+    // Rasterize the game layer in tiles on this many threads (EDT included); 0 = serial path
+    public void setRenderThreads(int threads) {
+        if (tileRenderer != null) tileRenderer.close();
+        tileRenderer = threads > 0 ? new TileRenderer(threads) : null;
+        if (tileRenderer != null && assets != null) setTileSprites();
+    }
+    
+    // Quality tiers for this panel (the controller reports tick time to it)
+    public QualityGovernor getQualityGovernor() {
+        return quality;
+    }
+
+    // Replace the governor (offline rendering wants a fixed tier, not one chosen by paint time)
+    public void setQualityGovernor(QualityGovernor governor) {
+        this.quality = governor;
+    }
+
+    // Show or hide the start screen (spectators never start a game)
+    public void setStartOverlay(boolean visible) {
+        this.showStartOverlay = visible;
+    }
+
+    // Flush the Java2D pipeline after each paint (trades throughput for latency)
+    public void setSyncAfterPaint(boolean sync) {
+        this.syncAfterPaint = sync;
+    }
+
+    private void setTileSprites() {
+        tileRenderer.setSprites(TileRenderer.Sprite.from(assets.ship), TileRenderer.Sprite.from(assets.asteroid));
+    }
 
     // Constructor: configura panel, input y eventos
     public GamePanel() {
+        Assets.loadAsync();          // no-op if App already started it
         setBackground(Color.BLACK);  // Space-like black background
         setFocusable(true);          // Required for keyboard input
         addKeyListener(this);        // Register for key events
@@ -276,25 +358,48 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
     // Método principal de renderizado - dibuja todo el juego
     @Override
     protected void paintComponent(Graphics g) {
+        long paintStart = System.nanoTime();
         super.paintComponent(g);
         if (gameDataProvider == null) return;
+        if (assets == null && (assets = Assets.getNow()) != null && tileRenderer != null) setTileSprites();
+        int stars = quality.starCount(STAR_COUNT);
         
-        // Draw starfield background
-        g.setColor(Color.WHITE);
-        for (int i = 0; i < STAR_COUNT; i++) {
-            g.fillRect(starX[i], starY[i], starSize[i], starSize[i]);
+        // Game layer: composed in the raster, then blitted once
+        raster.ensureSize(getWidth(), getHeight());
+        // Flicker effect for invincibility (6 ticks = 100ms of game time)
+        boolean shipVisible = !gameDataProvider.isInvincible() || ((gameDataProvider.getTick() / 6) % 2 == 0);
+        boolean tiled = false;
+        if (tileRenderer != null) {
+            tileRenderer.setQuality(quality.rotateAsteroids(), quality.cheapBullets());
+            try {
+                tileRenderer.render(raster, starX, starY, starSize, stars,
+                        shipVisible ? gameDataProvider.getShipData() : null,
+                        gameDataProvider.getAsteroidData(), gameDataProvider.getBulletData(),
+                        gameDataProvider.getParticleData(), gameDataProvider.getAsteroidShapes());
+                tiled = true;
+            } catch (IllegalStateException e) {
+                // Keep the game running on the serial path
+                System.err.println("Tiled rendering disabled: " + e.getCause());
+                tileRenderer.close();
+                tileRenderer = null;
+            }
         }
+        if (!tiled) {
+            raster.clear(0x000000);
+            drawStars(stars);
+            Graphics2D rg = raster.createGraphics();
+            if (shipVisible) drawShip(rg, gameDataProvider.getShipData());
+            drawAsteroids(rg, gameDataProvider.getAsteroidData(), gameDataProvider.getAsteroidShapes());
+            rg.dispose();
+            drawBullets(gameDataProvider.getBulletData());
+            drawParticles(gameDataProvider.getParticleData());
+        }
+        raster.blit(g);
         
-        // Draw HUD first (less prone to flickering)
+        // HUD on top of the game layer
         drawScore(g);
         drawHearts(g);
         
-        // Flicker effect for invincibility
-        if (!gameDataProvider.isInvincible() || ((System.currentTimeMillis() / 100) % 2 == 0)) {
-            drawShip(g, gameDataProvider.getShipData());
-        }
-        drawAsteroids(g, gameDataProvider.getAsteroidData());
-        drawBullets(g, gameDataProvider.getBulletData());
         if (gameDataProvider.isGameOver()) drawGameOverOverlay(g);
         if (showStartOverlay) drawStartOverlay(g);
         
@@ -302,13 +407,18 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         if (gameDataProvider.isPaused()) {
             drawPauseMenu(g);
         }
+        
+        if (syncAfterPaint) Toolkit.getDefaultToolkit().sync();
+        long paintEnd = System.nanoTime();
+        quality.recordPaint(paintEnd - paintStart);
+        if (frameListener != null) frameListener.onFramePresented(paintEnd);
     }
 
     // Draw a blurry/translucent overlay for GAME OVER
     private void drawGameOverOverlay(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         // Blurry/translucent overlay
-        g2.setColor(new Color(0, 0, 0, 180));
+        g2.setColor(overlayColor());
         g2.fillRect(0, 0, getWidth(), getHeight());
         drawGameOver(g);
     }
@@ -317,7 +427,7 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
     private void drawStartOverlay(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         // Blurry/translucent overlay
-        g2.setColor(new Color(0, 0, 0, 180));
+        g2.setColor(overlayColor());
         g2.fillRect(0, 0, getWidth(), getHeight());
         // Title
         g2.setColor(Color.WHITE);
@@ -342,6 +452,11 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         g2.drawString(instr, (getWidth() - instrWidth) / 2, buttonY + 60);
     }
 
+    // Translucent black over the game, opaque when the governor is saving blending work
+    private Color overlayColor() {
+        return quality.translucentOverlays() ? OVERLAY_COLOR : Color.BLACK;
+    }
+
     // Game over and restart message Y positions
     private static final int GAME_OVER_Y = 220;
     private static final int RESTART_Y = 270;
@@ -361,41 +476,134 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
 
     // Dibuja nave con rotación (puede parpadear si es invencible)
     private void drawShip(Graphics g, ShipData ship) {
-        if (ship == null) return;
+        if (ship == null || assets == null) return;
         Graphics2D g2 = (Graphics2D) g;
         int iconW = 32, iconH = 32;
         g2.translate(ship.x, ship.y);
         g2.rotate(ship.angle);
-        g2.drawImage(SHIP_ICON, -iconW/2, -iconH/2, iconW, iconH, null);
+        g2.drawImage(assets.ship, -iconW/2, -iconH/2, iconW, iconH, null);
         g2.rotate(-ship.angle);
         g2.translate(-ship.x, -ship.y);
     }
 
-    // Dibuja asteroides con rotación según dirección de movimiento
-    private void drawAsteroids(Graphics g, List<AsteroidData> asteroids) {
+    // Asteroid polygon colours (TileRenderer uses the same)
+    static final int ASTEROID_FILL = 0x4A4642, ASTEROID_EDGE = 0xB8B0A6;
+    private static final Color ASTEROID_FILL_COLOR = new Color(ASTEROID_FILL);
+    private static final Color ASTEROID_EDGE_COLOR = new Color(ASTEROID_EDGE);
+    private int[] polygonX = new int[16], polygonY = new int[16];
+
+    // Dibuja asteroides con rotación según dirección de movimiento (según el nivel de calidad)
+    private void drawAsteroids(Graphics g, List<AsteroidData> asteroids, ShapeData shapes) {
         if (asteroids == null) return;
+        if (shapes != null) {
+            drawAsteroidPolygons((Graphics2D) g, asteroids, shapes);
+            return;
+        }
+        if (assets == null) return;
         Graphics2D g2 = (Graphics2D) g;
+        boolean rotate = quality.rotateAsteroids(), cull = quality.cullOffscreen();
+        int w = getWidth(), h = getHeight();
         for (AsteroidData a : asteroids) {
             int iconW = a.size * 2;
             int iconH = a.size * 2;
+            // A rotated icon stays inside a circle of radius size*sqrt(2)
+            double reach = a.size * 1.415;
+            if (cull && (a.x + reach < 0 || a.y + reach < 0 || a.x - reach > w || a.y - reach > h)) continue;
+            if (!rotate) {
+                g2.drawImage(scaledAsteroid(iconW), (int) a.x - iconW/2, (int) a.y - iconH/2, null);
+                continue;
+            }
             double angle = Math.atan2(a.velocityY, a.velocityX);
             g2.translate(a.x, a.y);
             g2.rotate(angle);
-            g2.drawImage(ASTEROID_ICON, -iconW/2, -iconH/2, iconW, iconH, null);
+            g2.drawImage(assets.asteroid, -iconW/2, -iconH/2, iconW, iconH, null);
             g2.rotate(-angle);
             g2.translate(-a.x, -a.y);
         }
     }
 
-    // Dibuja balas como círculos cian
-    private void drawBullets(Graphics g, List<BulletData> bullets) {
+    /**
+     * Asteroids as filled, outlined polygons from the shared bank: vertices
+     * are rotated to face the velocity (unless the quality tier says not to)
+     * and scaled by size, straight into int arrays for fillPolygon.
+     */
+    private void drawAsteroidPolygons(Graphics2D g2, List<AsteroidData> asteroids, ShapeData shapes) {
+        boolean rotate = quality.rotateAsteroids(), cull = quality.cullOffscreen();
+        int w = getWidth(), h = getHeight();
+        int n = shapes.vertices;
+        if (polygonX.length < n) {
+            polygonX = new int[n];
+            polygonY = new int[n];
+        }
+        for (AsteroidData a : asteroids) {
+            // The polygon fits in the circle of radius size
+            if (cull && (a.x + a.size < 0 || a.y + a.size < 0 || a.x - a.size > w || a.y - a.size > h)) continue;
+            double speed = Math.sqrt(a.velocityX * a.velocityX + a.velocityY * a.velocityY);
+            double cos = 1, sin = 0;
+            if (rotate && speed > 0) {
+                cos = a.velocityX / speed;
+                sin = a.velocityY / speed;
+            }
+            int base = Math.floorMod(a.shape, shapes.count) * n;
+            for (int k = 0; k < n; k++) {
+                double vx = shapes.vertexX[base + k] * a.size, vy = shapes.vertexY[base + k] * a.size;
+                polygonX[k] = (int) Math.round(a.x + vx * cos - vy * sin);
+                polygonY[k] = (int) Math.round(a.y + vx * sin + vy * cos);
+            }
+            g2.setColor(ASTEROID_FILL_COLOR);
+            g2.fillPolygon(polygonX, polygonY, n);
+            g2.setColor(ASTEROID_EDGE_COLOR);
+            g2.drawPolygon(polygonX, polygonY, n);
+        }
+    }
+
+    // Asteroid icon pre-scaled to each size, so unrotated asteroids are plain blits
+    private final java.awt.image.BufferedImage[] scaledAsteroids = new java.awt.image.BufferedImage[256];
+
+    private Image scaledAsteroid(int size) {
+        if (size <= 0 || size >= scaledAsteroids.length) {
+            return assets.asteroid.getScaledInstance(Math.max(1, size), Math.max(1, size), Image.SCALE_FAST);
+        }
+        java.awt.image.BufferedImage img = scaledAsteroids[size];
+        if (img == null) {
+            img = new java.awt.image.BufferedImage(size, size, java.awt.image.BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = img.createGraphics();
+            g.drawImage(assets.asteroid, 0, 0, size, size, null);
+            g.dispose();
+            scaledAsteroids[size] = img;
+        }
+        return img;
+    }
+
+    // Dibuja las primeras count estrellas de fondo como cuadrados de 1-2 px en el raster
+    private void drawStars(int count) {
+        for (int i = 0; i < count; i++) {
+            raster.fillRect(starX[i], starY[i], starSize[i], starSize[i], 0xFFFFFF);
+        }
+    }
+
+    // Dibuja balas como círculos cian (mezcla aditiva en el raster), o cuadrados opacos en calidad mínima
+    private void drawBullets(List<BulletData> bullets) {
         if (bullets == null) return;
-        g.setColor(Color.CYAN);
+        if (quality.cheapBullets()) {
+            for (BulletData b : bullets) raster.fillRect((int) b.x - 1, (int) b.y - 1, 2, 2, BULLET_RGB);
+            return;
+        }
         for (BulletData b : bullets) {
-            g.fillOval((int) b.x - 2, (int) b.y - 2, 4, 4);
+            raster.fillCircleAdd((int) b.x, (int) b.y, 2, BULLET_RGB);
         }
     }
     
+    // Dibuja partículas sumando su color, atenuado según la vida restante
+    private void drawParticles(ParticleData particles) {
+        if (particles == null) return;
+        final float[] px = particles.x, py = particles.y;
+        final int[] life = particles.life, maxLife = particles.maxLife, color = particles.color;
+        for (int i = 0, n = particles.count; i < n; i++) {
+            raster.plotAdd((int) px[i], (int) py[i], color[i], life[i] * 255 / maxLife[i]);
+        }
+    }
+
     // Maneja clics en menú de pausa
     private void handlePauseMenuClick(int x, int y) {
         if (gameInputListener == null) return;
@@ -439,7 +647,7 @@ public class GamePanel extends JPanel implements java.awt.event.KeyListener {
         Graphics2D g2 = (Graphics2D) g;
         
         // Draw translucent overlay
-        g2.setColor(new Color(0, 0, 0, 180));
+        g2.setColor(overlayColor());
         g2.fillRect(0, 0, getWidth(), getHeight());
         
         // Draw pause title
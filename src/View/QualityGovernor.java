@@ -0,0 +1,173 @@
+package View;
+
+/**
+ * GOBERNADOR DE CALIDAD
+ * =====================
+ *
+ * Baja la calidad del dibujo cuando el frame no cabe en el presupuesto y la
+ * recupera cuando vuelve a sobrar tiempo, para mantener 60 FPS en equipos
+ * lentos sin tocar la simulación.
+ *
+ * NIVELES (cada uno incluye los recortes del anterior):
+ * - FULL:    todo
+ * - LIGHT:   sin antialiasing de texto; asteroides fuera de pantalla no se dibujan
+ * - REDUCED: asteroides sin rotar (icono pre-escalado por tamaño, blit directo)
+ *            y la mitad de estrellas
+ * - MINIMAL: balas como cuadrados opacos de 2 px, sin estrellas y overlays
+ *            (inicio, pausa, game over) con fondo opaco en vez de translúcido
+ *
+ * MEDIDA:
+ * - Coste de un frame = tiempo de paintComponent + ticks de simulación que
+ *   el controlador ejecutó desde el paint anterior (recordTick)
+ * - Se promedia sobre una ventana de WINDOW frames
+ *
+ * HISTÉRESIS:
+ * - Baja un nivel si la media supera HIGH del presupuesto con la ventana
+ *   llena desde el último cambio
+ * - Sube un nivel si la media se mantiene por debajo de LOW durante
+ *   upgradeFrames seguidos; si justo después hay que volver a bajar, la
+ *   espera para el siguiente intento se duplica (hasta MAX_UPGRADE_FRAMES,
+ *   ~1 minuto), así no oscila entre dos niveles; si la subida aguanta, la
+ *   espera vuelve al mínimo
+ *
+ * -Dasteroids.quality=auto (por defecto) o un nivel fijo (full, light,
+ * reduced, minimal); un valor desconocido avisa y usa auto.
+ */
+public final class QualityGovernor {
+    public enum Tier { FULL, LIGHT, REDUCED, MINIMAL }
+
+    public static final long DEFAULT_BUDGET_NANOS = 16_666_667;
+    static final int WINDOW = 30;
+    static final double HIGH = 0.80, LOW = 0.40;
+    static final int MIN_UPGRADE_FRAMES = 120, MAX_UPGRADE_FRAMES = 3840;
+
+    private final long budgetNanos;
+    private final boolean adaptive;
+    private Tier tier;
+
+    // Recent frame costs (ring buffer)
+    private final long[] costs = new long[WINDOW];
+    private int filled = 0, next = 0;
+    private long sum = 0;
+    private long pendingTickNanos = 0;
+
+    // Hysteresis state
+    private int framesSinceChange = 0;
+    private int headroomFrames = 0;
+    private int upgradeFrames = MIN_UPGRADE_FRAMES;
+    private boolean lastChangeWasUpgrade = false;
+
+    /**
+     * @param budgetNanos frame budget the paint and tick time must fit in
+     * @param fixed       tier to stay at, or null to adapt
+     */
+    public QualityGovernor(long budgetNanos, Tier fixed) {
+        this.budgetNanos = budgetNanos;
+        this.adaptive = fixed == null;
+        this.tier = fixed == null ? Tier.FULL : fixed;
+    }
+
+    // From -Dasteroids.quality (auto, or a tier name)
+    public static QualityGovernor fromSystemProperty() {
+        String value = System.getProperty("asteroids.quality", "auto").trim();
+        Tier fixed = null;
+        if (!value.equalsIgnoreCase("auto")) {
+            try {
+                fixed = Tier.valueOf(value.toUpperCase(java.util.Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // A typo must not keep the game from starting
+                System.err.println("Unknown asteroids.quality '" + value + "' (auto, full, light, reduced, minimal); using auto");
+            }
+        }
+        return new QualityGovernor(DEFAULT_BUDGET_NANOS, fixed);
+    }
+
+    public Tier getTier() {
+        return tier;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    // Simulation time spent since the last paint (called by the controller)
+    public void recordTick(long nanos) {
+        pendingTickNanos += nanos;
+    }
+
+    // Close one frame with its paint time and adjust the tier if needed
+    public void recordPaint(long paintNanos) {
+        long cost = paintNanos + pendingTickNanos;
+        pendingTickNanos = 0;
+        if (filled == WINDOW) sum -= costs[next]; else filled++;
+        costs[next] = cost;
+        sum += cost;
+        next = (next + 1) % WINDOW;
+        framesSinceChange++;
+        if (adaptive) adjust();
+    }
+
+    private void adjust() {
+        // An upgrade that held: forget the backoff
+        if (lastChangeWasUpgrade && framesSinceChange >= 2 * upgradeFrames) upgradeFrames = MIN_UPGRADE_FRAMES;
+        double mean = (double) sum / filled;
+        if (mean > budgetNanos * HIGH) {
+            headroomFrames = 0;
+            if (filled == WINDOW && framesSinceChange >= WINDOW && tier != Tier.MINIMAL) {
+                // Undoing a recent upgrade: wait longer before trying it again
+                if (lastChangeWasUpgrade && framesSinceChange < 2 * upgradeFrames) {
+                    upgradeFrames = Math.min(MAX_UPGRADE_FRAMES, upgradeFrames * 2);
+                }
+                change(Tier.values()[tier.ordinal() + 1], false);
+            }
+        } else if (mean < budgetNanos * LOW) {
+            if (++headroomFrames >= upgradeFrames && tier != Tier.FULL) {
+                change(Tier.values()[tier.ordinal() - 1], true);
+            }
+        } else {
+            headroomFrames = 0;
+        }
+    }
+
+    private void change(Tier to, boolean upgrade) {
+        tier = to;
+        lastChangeWasUpgrade = upgrade;
+        framesSinceChange = 0;
+        headroomFrames = 0;
+        // Costs measured at the old tier say nothing about the new one
+        filled = 0;
+        next = 0;
+        sum = 0;
+    }
+
+    // --- What each tier draws ---
+
+    public boolean textAntialiasing() {
+        return tier == Tier.FULL;
+    }
+
+    public boolean cullOffscreen() {
+        return tier != Tier.FULL;
+    }
+
+    public boolean rotateAsteroids() {
+        return tier.ordinal() < Tier.REDUCED.ordinal();
+    }
+
+    // Stars to draw out of total
+    public int starCount(int total) {
+        switch (tier) {
+            case REDUCED: return total / 2;
+            case MINIMAL: return 0;
+            default:      return total;
+        }
+    }
+
+    public boolean cheapBullets() {
+        return tier == Tier.MINIMAL;
+    }
+
+    public boolean translucentOverlays() {
+        return tier != Tier.MINIMAL;
+    }
+}
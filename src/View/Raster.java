@@ -0,0 +1,143 @@
+package View;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * RASTER - DIBUJO DIRECTO SOBRE PÍXELES
+ * =====================================
+ *
+ * Framebuffer opaco (TYPE_INT_RGB) en el que las primitivas pequeñas
+ * (estrellas, balas, partículas) se escriben directamente en el int[] del
+ * DataBufferInt, sin pasar por el pipeline de Java2D.
+ *
+ * USO POR FRAME (GamePanel):
+ * 1. clear() y primitivas de fondo (estrellas)
+ * 2. createGraphics() para lo que sigue usando Java2D (nave, asteroides)
+ * 3. Primitivas con mezcla aditiva (balas, partículas)
+ * 4. blit(): un único drawImage a pantalla
+ *
+ * DETALLES:
+ * - Todas las primitivas recortan contra los bordes (clipping)
+ * - La mezcla aditiva satura cada canal en 255
+ * - Al tomar el int[] la imagen deja de ser "managed" (Java2D no la cachea
+ *   en la GPU); como su contenido cambia cada frame esa caché no serviría,
+ *   y al ser opaca y del formato de la pantalla el blit es una copia directa
+ */
+public final class Raster {
+    private BufferedImage image;
+    private int[] pixels;
+    private int width, height;
+
+    public Raster(int width, int height) {
+        ensureSize(width, height);
+    }
+
+    // Reallocate when the panel size changes (contents are lost)
+    public void ensureSize(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (image != null && width == this.width && height == this.height) return;
+        this.width = width;
+        this.height = height;
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    // Backing pixels, row-major, 0xRRGGBB
+    public int[] getPixels() {
+        return pixels;
+    }
+
+    public void clear(int rgb) {
+        java.util.Arrays.fill(pixels, rgb);
+    }
+
+    // Java2D access to the same pixels (caller disposes)
+    public Graphics2D createGraphics() {
+        return image.createGraphics();
+    }
+
+    // Copy the whole raster to the screen with one drawImage
+    public void blit(Graphics g) {
+        g.drawImage(image, 0, 0, null);
+    }
+
+    // --- Opaque primitives ---
+
+    public void plot(int x, int y, int rgb) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return;
+        pixels[y * width + x] = rgb;
+    }
+
+    public void fillRect(int x, int y, int w, int h, int rgb) {
+        int x0 = Math.max(0, x), y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + w), y1 = Math.min(height, y + h);
+        for (int row = y0; row < y1; row++) {
+            int base = row * width;
+            for (int col = x0; col < x1; col++) pixels[base + col] = rgb;
+        }
+    }
+
+    // --- Additive primitives ---
+
+    // Add rgb scaled by intensity (0-255) to one pixel
+    public void plotAdd(int x, int y, int rgb, int intensity) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return;
+        int i = y * width + x;
+        pixels[i] = add(pixels[i], scale(rgb, intensity));
+    }
+
+    // Filled disc of radius r centred on (cx, cy), added to what is below
+    public void fillCircleAdd(int cx, int cy, int r, int rgb) {
+        int[] span = spans(r);
+        int y0 = Math.max(0, cy - r), y1 = Math.min(height - 1, cy + r);
+        for (int y = y0; y <= y1; y++) {
+            int s = span[y - cy + r];
+            int x0 = Math.max(0, cx - s), x1 = Math.min(width - 1, cx + s);
+            int base = y * width;
+            for (int x = x0; x <= x1; x++) pixels[base + x] = add(pixels[base + x], rgb);
+        }
+    }
+
+    // Half-widths of each row of a disc, cached for the last radius used
+    private int[] spanCache = new int[0];
+    private int spanRadius = -1;
+
+    private int[] spans(int r) {
+        if (r != spanRadius) {
+            spanCache = new int[2 * r + 1];
+            for (int dy = -r; dy <= r; dy++) spanCache[dy + r] = (int) Math.sqrt(r * r - dy * dy);
+            spanRadius = r;
+        }
+        return spanCache;
+    }
+
+    // Per-channel add, saturating at 255
+    static int add(int a, int b) {
+        int sum = (a & 0xFEFEFE) + (b & 0xFEFEFE);
+        int carry = sum & 0x1010100;
+        carry -= carry >>> 8;
+        return (sum | carry) & 0xFFFFFF;
+    }
+
+    // rgb * intensity / 256 for each channel
+    static int scale(int rgb, int intensity) {
+        return ((((rgb & 0xFF00FF) * intensity) >>> 8) & 0xFF00FF)
+             | ((((rgb & 0x00FF00) * intensity) >>> 8) & 0x00FF00);
+    }
+}
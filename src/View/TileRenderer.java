@@ -0,0 +1,515 @@
+package View;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RENDERIZADOR POR TILES EN PARALELO
+ * ==================================
+ *
+ * Alternativa opcional al dibujo en el EDT: divide el frame en tiles de
+ * TILE x TILE píxeles y los rasteriza en paralelo sobre el Raster compartido.
+ * Cada tile solo escribe en sus propios píxeles, así que no hay bloqueos.
+ *
+ * POR FRAME:
+ * 1. Binning (EDT): cada entidad se añade a los tiles que toca su caja
+ *    envolvente (asteroides, balas, nave, partículas)
+ * 2. Rasterizado (EDT + workers): los hilos se reparten los tiles con un
+ *    contador atómico; cada tile se limpia y dibuja en el orden de GamePanel
+ *    (estrellas, nave, asteroides, balas, partículas)
+ * 3. GamePanel hace un único blit del Raster
+ *
+ * La nave y los asteroides se dibujan como sprites rotados por software
+ * (muestreo del píxel más cercano, mezcla alfa), sin Java2D, para que los
+ * hilos no compartan estado. Con banco de polígonos (ShapeData) los
+ * asteroides se rellenan por scanlines (par-impar) recortadas al tile y se
+ * perfilan con líneas DDA; los vértices en pantalla se calculan una vez en
+ * el binning. Los workers se sincronizan con dos
+ * CyclicBarrier por frame, como BatchEnv. Si un hilo lanza una excepción,
+ * todos llegan igualmente a la barrera final y render() la relanza como
+ * IllegalStateException (GamePanel vuelve entonces al camino serie).
+ *
+ * Se activa con -Dasteroids.renderThreads=N (N >= 1; 0 = camino serie).
+ */
+public final class TileRenderer implements AutoCloseable {
+    public static final int TILE = 64;
+
+    // Sprite pixels (ARGB, not premultiplied) sampled by the rasterizer
+    public static final class Sprite {
+        final int[] argb;
+        final int width, height;
+
+        public Sprite(int[] argb, int width, int height) {
+            this.argb = argb;
+            this.width = width;
+            this.height = height;
+        }
+
+        // Copy any AWT image into an ARGB sprite (waits for it to load)
+        public static Sprite from(Image image) {
+            int w = Math.max(1, image.getWidth(null)), h = Math.max(1, image.getHeight(null));
+            BufferedImage copy = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = copy.createGraphics();
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            return new Sprite(copy.getRGB(0, 0, w, h, null, 0, w), w, h);
+        }
+    }
+
+    // Entities binned per tile, one growable index list per tile
+    private static final class Bins {
+        int[][] items = new int[0][];
+        int[] counts = new int[0];
+
+        void reset(int tiles) {
+            if (items.length < tiles) {
+                items = new int[tiles][];
+                counts = new int[tiles];
+                for (int t = 0; t < tiles; t++) items[t] = new int[16];
+            }
+            java.util.Arrays.fill(counts, 0, tiles, 0);
+        }
+
+        void add(int tile, int index) {
+            int n = counts[tile];
+            if (n == items[tile].length) items[tile] = java.util.Arrays.copyOf(items[tile], n * 2);
+            items[tile][n] = index;
+            counts[tile] = n + 1;
+        }
+    }
+
+    private Sprite shipSprite, asteroidSprite;   // null until the assets are loaded
+    private boolean rotateAsteroids = true, cheapBullets = false;
+    private final int threads;
+
+    // Tile grid of the current frame
+    private int columns, rows, tileCount;
+    private final AtomicInteger nextTile = new AtomicInteger();
+
+    // Frame inputs, flattened to primitives during binning
+    private Raster raster;
+    private int[] starX, starY, starSize;
+    private int starCount;
+    private boolean hasShip;
+    private double shipX, shipY, shipAngle;
+    private double[] astX = new double[64], astY = new double[64], astAngle = new double[64];
+    private int[] astSize = new int[64];
+    private int astVertices;                         // 0 = sprites, else vertices per polygon
+    private float[] astPolygon = new float[64 * 2];  // screen vertices, x/y interleaved
+    private int[] bulletX = new int[64], bulletY = new int[64];
+    private GamePanel.ParticleData particles;
+    private final Bins starBins = new Bins(), asteroidBins = new Bins(),
+            bulletBins = new Bins(), particleBins = new Bins();
+
+    // Workers
+    private final Thread[] workers;
+    private final CyclicBarrier startBarrier, endBarrier;
+    private volatile boolean closed = false;
+    private volatile Throwable failure;   // first exception of any thread; the renderer is unusable after it
+
+    /**
+     * @param threads rasterizing threads including the caller (the EDT);
+     *                1 renders everything on the caller
+     */
+    public TileRenderer(int threads) {
+        this.threads = Math.max(1, threads);
+        startBarrier = new CyclicBarrier(this.threads);
+        endBarrier = new CyclicBarrier(this.threads);
+        workers = new Thread[this.threads - 1];
+        for (int t = 0; t < workers.length; t++) {
+            workers[t] = new Thread(this::workerLoop, "tile-render-" + (t + 1));
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+    }
+
+    // Quality switches from GamePanel's QualityGovernor (call between frames)
+    public void setQuality(boolean rotateAsteroids, boolean cheapBullets) {
+        this.rotateAsteroids = rotateAsteroids;
+        this.cheapBullets = cheapBullets;
+    }
+
+    // Sprites for the ship and asteroids (call between frames)
+    public void setSprites(Sprite shipSprite, Sprite asteroidSprite) {
+        this.shipSprite = shipSprite;
+        this.asteroidSprite = asteroidSprite;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Render one frame into the raster (same layers and order as the serial
+     * path in GamePanel). ship may be null (hidden while flickering).
+     */
+    public void render(Raster raster, int[] starX, int[] starY, int[] starSize, int starCount,
+                       GamePanel.ShipData ship, List<GamePanel.AsteroidData> asteroids,
+                       List<GamePanel.BulletData> bullets, GamePanel.ParticleData particles,
+                       GamePanel.ShapeData shapes) {
+        if (closed) throw new IllegalStateException("TileRenderer is closed");
+        if (failure != null) throw new IllegalStateException("TileRenderer failed in an earlier frame", failure);
+        this.raster = raster;
+        this.starX = starX;
+        this.starY = starY;
+        this.starSize = starSize;
+        this.starCount = starCount;
+        this.particles = particles;
+        columns = (raster.getWidth() + TILE - 1) / TILE;
+        rows = (raster.getHeight() + TILE - 1) / TILE;
+        tileCount = columns * rows;
+
+        bin(ship, asteroids, bullets, particles, shapes);
+
+        nextTile.set(0);
+        if (threads > 1) await(startBarrier);
+        runTiles();
+        if (threads > 1) await(endBarrier);
+        if (failure != null) throw new IllegalStateException("Tile rendering failed", failure);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread w : workers) w.interrupt();
+    }
+
+    // --- Binning ---
+
+    private void bin(GamePanel.ShipData ship, List<GamePanel.AsteroidData> asteroids,
+                     List<GamePanel.BulletData> bullets, GamePanel.ParticleData particles,
+                     GamePanel.ShapeData shapes) {
+        starBins.reset(tileCount);
+        asteroidBins.reset(tileCount);
+        bulletBins.reset(tileCount);
+        particleBins.reset(tileCount);
+
+        for (int i = 0; i < starCount; i++) {
+            binBox(starBins, i, starX[i], starY[i], starX[i] + starSize[i] - 1, starY[i] + starSize[i] - 1);
+        }
+
+        hasShip = ship != null;
+        if (hasShip) {
+            shipX = ship.x;
+            shipY = ship.y;
+            shipAngle = ship.angle;
+        }
+
+        int na = asteroids == null ? 0 : asteroids.size();
+        if (astX.length < na) {
+            int cap = Math.max(na, astX.length * 2);
+            astX = new double[cap];
+            astY = new double[cap];
+            astAngle = new double[cap];
+            astSize = new int[cap];
+        }
+        astVertices = shapes == null ? 0 : shapes.vertices;
+        if (astVertices > 0) {
+            binPolygons(asteroids, na, shapes);
+        } else {
+            for (int i = 0; i < na; i++) {
+                GamePanel.AsteroidData a = asteroids.get(i);
+                astX[i] = a.x;
+                astY[i] = a.y;
+                astAngle[i] = rotateAsteroids ? Math.atan2(a.velocityY, a.velocityX) : 0;
+                astSize[i] = a.size;
+                // A rotated square of side 2*size fits in a circle of radius size*sqrt(2)
+                int r = (int) Math.ceil(a.size * Math.sqrt(2));
+                binBox(asteroidBins, i, (int) a.x - r, (int) a.y - r, (int) a.x + r, (int) a.y + r);
+            }
+        }
+
+        int nb = bullets == null ? 0 : bullets.size();
+        if (bulletX.length < nb) {
+            int cap = Math.max(nb, bulletX.length * 2);
+            bulletX = new int[cap];
+            bulletY = new int[cap];
+        }
+        for (int i = 0; i < nb; i++) {
+            GamePanel.BulletData b = bullets.get(i);
+            int x = (int) b.x, y = (int) b.y;
+            bulletX[i] = x;
+            bulletY[i] = y;
+            binBox(bulletBins, i, x - BULLET_RADIUS, y - BULLET_RADIUS, x + BULLET_RADIUS, y + BULLET_RADIUS);
+        }
+
+        int np = particles == null ? 0 : particles.count;
+        int w = raster.getWidth(), h = raster.getHeight();
+        for (int i = 0; i < np; i++) {
+            int x = (int) particles.x[i], y = (int) particles.y[i];
+            if (x < 0 || y < 0 || x >= w || y >= h) continue;
+            particleBins.add((y / TILE) * columns + x / TILE, i);
+        }
+    }
+
+    // Screen vertices of every asteroid polygon, binned by their bounding box
+    private void binPolygons(List<GamePanel.AsteroidData> asteroids, int na, GamePanel.ShapeData shapes) {
+        int n = astVertices;
+        if (astPolygon.length < na * n * 2) astPolygon = new float[Math.max(na * n * 2, astPolygon.length * 2)];
+        for (int i = 0; i < na; i++) {
+            GamePanel.AsteroidData a = asteroids.get(i);
+            double speed = Math.sqrt(a.velocityX * a.velocityX + a.velocityY * a.velocityY);
+            double cos = 1, sin = 0;
+            if (rotateAsteroids && speed > 0) {
+                cos = a.velocityX / speed;
+                sin = a.velocityY / speed;
+            }
+            int base = Math.floorMod(a.shape, shapes.count) * n, out = i * n * 2;
+            float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE, maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (int k = 0; k < n; k++) {
+                double vx = shapes.vertexX[base + k] * a.size, vy = shapes.vertexY[base + k] * a.size;
+                float x = (float) (a.x + vx * cos - vy * sin), y = (float) (a.y + vx * sin + vy * cos);
+                astPolygon[out + 2 * k] = x;
+                astPolygon[out + 2 * k + 1] = y;
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+            binBox(asteroidBins, i, (int) Math.floor(minX), (int) Math.floor(minY),
+                    (int) Math.ceil(maxX), (int) Math.ceil(maxY));
+        }
+    }
+
+    // Add an entity to every tile overlapped by the box [x0, x1] x [y0, y1]
+    private void binBox(Bins bins, int index, int x0, int y0, int x1, int y1) {
+        int c0 = Math.max(0, floorDiv(x0)), c1 = Math.min(columns - 1, floorDiv(x1));
+        int r0 = Math.max(0, floorDiv(y0)), r1 = Math.min(rows - 1, floorDiv(y1));
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) bins.add(r * columns + c, index);
+        }
+    }
+
+    private static int floorDiv(int v) {
+        return Math.floorDiv(v, TILE);
+    }
+
+    // --- Rasterizing ---
+
+    private static final int BULLET_RADIUS = 2;
+    private static final int BULLET_RGB = 0x00FFFF;
+    private static final int SHIP_SIZE = 32;
+    private static final int ASTEROID_FILL = GamePanel.ASTEROID_FILL, ASTEROID_EDGE = GamePanel.ASTEROID_EDGE;
+
+    // Scanline crossings, one buffer per rasterizing thread
+    private static final ThreadLocal<float[]> CROSSINGS = ThreadLocal.withInitial(() -> new float[16]);
+
+    private void workerLoop() {
+        try {
+            while (!closed && failure == null) {
+                startBarrier.await();
+                runTiles();
+                endBarrier.await();
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            // closed
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Render worker failed", e);
+        }
+    }
+
+    // Rasterize this thread's share, keeping the first failure so every thread still reaches endBarrier
+    private void runTiles() {
+        try {
+            rasterizeTiles();
+        } catch (Throwable t) {
+            if (failure == null) failure = t;
+        }
+    }
+
+    // Claim tiles until none are left
+    private void rasterizeTiles() {
+        int t;
+        while ((t = nextTile.getAndIncrement()) < tileCount) rasterizeTile(t);
+    }
+
+    private void rasterizeTile(int tile) {
+        final int[] pixels = raster.getPixels();
+        final int width = raster.getWidth();
+        int x0 = (tile % columns) * TILE, y0 = (tile / columns) * TILE;
+        int x1 = Math.min(x0 + TILE, width), y1 = Math.min(y0 + TILE, raster.getHeight());
+
+        for (int y = y0; y < y1; y++) java.util.Arrays.fill(pixels, y * width + x0, y * width + x1, 0);
+
+        int[] items = starBins.items[tile];
+        for (int k = 0, n = starBins.counts[tile]; k < n; k++) {
+            int i = items[k];
+            fillRect(pixels, width, x0, y0, x1, y1, starX[i], starY[i], starSize[i], 0xFFFFFF);
+        }
+
+        if (hasShip) {
+            drawSprite(pixels, width, x0, y0, x1, y1, shipSprite, shipX, shipY, SHIP_SIZE, shipAngle);
+        }
+
+        items = asteroidBins.items[tile];
+        if (astVertices > 0) {
+            float[] crossings = CROSSINGS.get();
+            if (crossings.length < astVertices) CROSSINGS.set(crossings = new float[astVertices]);
+            for (int k = 0, n = asteroidBins.counts[tile]; k < n; k++) {
+                int offset = items[k] * astVertices * 2;
+                fillPolygon(pixels, width, x0, y0, x1, y1, astPolygon, offset, astVertices, crossings, ASTEROID_FILL);
+                strokePolygon(pixels, width, x0, y0, x1, y1, astPolygon, offset, astVertices, ASTEROID_EDGE);
+            }
+        } else {
+            for (int k = 0, n = asteroidBins.counts[tile]; k < n; k++) {
+                int i = items[k];
+                drawSprite(pixels, width, x0, y0, x1, y1, asteroidSprite, astX[i], astY[i], astSize[i] * 2, astAngle[i]);
+            }
+        }
+
+        items = bulletBins.items[tile];
+        for (int k = 0, n = bulletBins.counts[tile]; k < n; k++) {
+            int i = items[k];
+            if (cheapBullets) {
+                fillRect(pixels, width, x0, y0, x1, y1, bulletX[i] - 1, bulletY[i] - 1, 2, BULLET_RGB);
+            } else {
+                fillDiscAdd(pixels, width, x0, y0, x1, y1, bulletX[i], bulletY[i], BULLET_RADIUS, BULLET_RGB);
+            }
+        }
+
+        items = particleBins.items[tile];
+        if (particles != null) {
+            final float[] px = particles.x, py = particles.y;
+            final int[] life = particles.life, maxLife = particles.maxLife, color = particles.color;
+            for (int k = 0, n = particleBins.counts[tile]; k < n; k++) {
+                int i = items[k];
+                int idx = (int) py[i] * width + (int) px[i];
+                pixels[idx] = Raster.add(pixels[idx], Raster.scale(color[i], life[i] * 255 / maxLife[i]));
+            }
+        }
+    }
+
+    // Opaque rectangle clipped to the tile [x0, x1) x [y0, y1)
+    private static void fillRect(int[] pixels, int width, int x0, int y0, int x1, int y1,
+                                 int x, int y, int size, int rgb) {
+        int cx0 = Math.max(x0, x), cx1 = Math.min(x1, x + size);
+        int cy0 = Math.max(y0, y), cy1 = Math.min(y1, y + size);
+        for (int row = cy0; row < cy1; row++) {
+            for (int col = cx0; col < cx1; col++) pixels[row * width + col] = rgb;
+        }
+    }
+
+    // Additive disc clipped to the tile
+    private static void fillDiscAdd(int[] pixels, int width, int x0, int y0, int x1, int y1,
+                                    int cx, int cy, int r, int rgb) {
+        int ry0 = Math.max(y0, cy - r), ry1 = Math.min(y1 - 1, cy + r);
+        for (int y = ry0; y <= ry1; y++) {
+            int dy = y - cy;
+            int span = (int) Math.sqrt(r * r - dy * dy);
+            int rx0 = Math.max(x0, cx - span), rx1 = Math.min(x1 - 1, cx + span);
+            int base = y * width;
+            for (int x = rx0; x <= rx1; x++) pixels[base + x] = Raster.add(pixels[base + x], rgb);
+        }
+    }
+
+    /**
+     * Polygon (n vertices at offset, x/y interleaved) filled even-odd and
+     * clipped to the tile: each pixel row sampled at its centre collects the
+     * edge crossings, sorts them and fills between pairs.
+     */
+    private static void fillPolygon(int[] pixels, int width, int x0, int y0, int x1, int y1,
+                                    float[] polygon, int offset, int n, float[] crossings, int rgb) {
+        for (int y = y0; y < y1; y++) {
+            float sy = y + 0.5f;
+            int count = 0;
+            for (int k = 0; k < n; k++) {
+                int a = offset + 2 * k, b = offset + 2 * ((k + 1) % n);
+                float ay = polygon[a + 1], by = polygon[b + 1];
+                if ((ay <= sy) == (by <= sy)) continue;
+                float t = (sy - ay) / (by - ay);
+                float x = polygon[a] + t * (polygon[b] - polygon[a]);
+                // Insertion sort: at most n crossings
+                int j = count++;
+                while (j > 0 && crossings[j - 1] > x) {
+                    crossings[j] = crossings[j - 1];
+                    j--;
+                }
+                crossings[j] = x;
+            }
+            int base = y * width;
+            for (int c = 0; c + 1 < count; c += 2) {
+                // Pixels whose centre lies inside the span
+                int from = Math.max(x0, (int) Math.ceil(crossings[c] - 0.5f));
+                int to = Math.min(x1, (int) Math.ceil(crossings[c + 1] - 0.5f));
+                if (from < to) java.util.Arrays.fill(pixels, base + from, base + to, rgb);
+            }
+        }
+    }
+
+    // Polygon outline as DDA lines, keeping only the pixels inside the tile
+    private static void strokePolygon(int[] pixels, int width, int x0, int y0, int x1, int y1,
+                                      float[] polygon, int offset, int n, int rgb) {
+        for (int k = 0; k < n; k++) {
+            int a = offset + 2 * k, b = offset + 2 * ((k + 1) % n);
+            float ax = polygon[a], ay = polygon[a + 1], bx = polygon[b], by = polygon[b + 1];
+            if (Math.max(ax, bx) < x0 || Math.min(ax, bx) >= x1 || Math.max(ay, by) < y0 || Math.min(ay, by) >= y1) {
+                continue;
+            }
+            int steps = Math.max(1, (int) Math.ceil(Math.max(Math.abs(bx - ax), Math.abs(by - ay))));
+            float dx = (bx - ax) / steps, dy = (by - ay) / steps;
+            float x = ax, y = ay;
+            for (int s = 0; s <= steps; s++, x += dx, y += dy) {
+                int px = (int) Math.floor(x), py = (int) Math.floor(y);
+                if (px >= x0 && px < x1 && py >= y0 && py < y1) pixels[py * width + px] = rgb;
+            }
+        }
+    }
+
+    /**
+     * Sprite scaled to size x size, rotated by angle around (cx, cy), clipped
+     * to the tile. Each destination pixel is mapped back into the sprite
+     * (nearest sample) and blended by its alpha.
+     */
+    private static void drawSprite(int[] pixels, int width, int x0, int y0, int x1, int y1,
+                                   Sprite sprite, double cx, double cy, int size, double angle) {
+        if (sprite == null || size <= 0) return;
+        int r = (int) Math.ceil(size * 0.7072);
+        int bx0 = Math.max(x0, (int) cx - r), bx1 = Math.min(x1, (int) cx + r + 1);
+        int by0 = Math.max(y0, (int) cy - r), by1 = Math.min(y1, (int) cy + r + 1);
+        if (bx0 >= bx1 || by0 >= by1) return;
+
+        // Destination step -> sprite step (inverse rotation and scale)
+        double cos = Math.cos(angle), sin = Math.sin(angle);
+        double sx = sprite.width / (double) size, sy = sprite.height / (double) size;
+        double duX = cos * sx, dvX = -sin * sy;     // per +1 in x
+        double duY = sin * sx, dvY = cos * sy;      // per +1 in y
+        double halfW = sprite.width / 2.0, halfH = sprite.height / 2.0;
+        final int[] src = sprite.argb;
+        final int sw = sprite.width, sh = sprite.height;
+
+        for (int y = by0; y < by1; y++) {
+            double ox = bx0 + 0.5 - cx, oy = y + 0.5 - cy;
+            double u = ox * duX + oy * duY + halfW;
+            double v = ox * dvX + oy * dvY + halfH;
+            int base = y * width;
+            for (int x = bx0; x < bx1; x++, u += duX, v += dvX) {
+                if (u < 0 || v < 0 || u >= sw || v >= sh) continue;
+                int s = src[(int) v * sw + (int) u];
+                int a = s >>> 24;
+                if (a == 0) continue;
+                if (a == 255) {
+                    pixels[base + x] = s & 0xFFFFFF;
+                } else {
+                    int d = pixels[base + x];
+                    int rb = ((s & 0xFF00FF) * a + (d & 0xFF00FF) * (255 - a)) >>> 8;
+                    int g = ((s & 0x00FF00) * a + (d & 0x00FF00) * (255 - a)) >>> 8;
+                    pixels[base + x] = (rb & 0xFF00FF) | (g & 0x00FF00);
+                }
+            }
+        }
+    }
+}